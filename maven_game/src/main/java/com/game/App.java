@@ -1,6 +1,7 @@
 package com.game;
 
 import javax.swing.JFrame;
+import com.game.main.GameCanvas;
 import com.game.main.GamePanel;
 import com.game.main.GameConfig;
 
@@ -22,8 +23,13 @@ public class App {
         // Create a new GamePanel object
         GamePanel gamePanel = GamePanel.getInstance();
 
-        // Add the GamePanel to the window
-        window.add(gamePanel);
+        // Add the GamePanel to the window, or a canvas drawn by the game thread
+        GameCanvas canvas = isActiveRendering(args) ? new GameCanvas(gamePanel) : null;
+        if (canvas != null) {
+            window.add(canvas);
+        } else {
+            window.add(gamePanel);
+        }
 
         // Pack the window to fit the GamePanel
         window.pack();
@@ -37,10 +43,36 @@ public class App {
         // Make the window visible
         window.setVisible(true);
 
+        // The canvas can only be drawn to once the window is showing
+        if (canvas != null) {
+            gamePanel.setActiveCanvas(canvas);
+            canvas.requestFocus();
+        }
+
         // Call the setupGame method in the GamePanel
         gamePanel.setupGame();
 
         // Start the game thread
         gamePanel.startGameThread();
     }
+
+    /**
+     * Choose active or passive rendering: --active or --passive on the command
+     * line, then -Dgame.rendering=active|passive, then GameConfig
+     */
+    private static boolean isActiveRendering(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--active")) {
+                return true;
+            }
+            if (arg.equals("--passive")) {
+                return false;
+            }
+        }
+        String mode = System.getProperty("game.rendering");
+        if (mode != null) {
+            return mode.equalsIgnoreCase("active");
+        }
+        return GameConfig.ACTIVE_RENDERING;
+    }
 }
\ No newline at end of file
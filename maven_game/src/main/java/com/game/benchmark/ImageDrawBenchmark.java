@@ -0,0 +1,106 @@
+package com.game.benchmark;
+
+import com.game.main.GameConfig;
+import com.game.main.ResourceManager;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+/**
+ * Measures drawing a screen full of tiles and sprites into a back buffer,
+ * first with the images as ImageIO returns them scaled on every draw, then
+ * with the compatible pre-scaled images from ResourceManager drawn 1:1
+ *
+ * Usage: ImageDrawBenchmark [frames]
+ */
+public class ImageDrawBenchmark {
+    private static final String[] IMAGE_PATHS = {
+            ResourceManager.TILES_PATH + "floor1.png",
+            ResourceManager.TILES_PATH + "floor2.png",
+            ResourceManager.TILES_PATH + "floor3.png",
+            ResourceManager.TILES_PATH + "wallUp.png",
+            ResourceManager.TILES_PATH + "wallDown.png",
+            ResourceManager.TILES_PATH + "wallLeft.png",
+            ResourceManager.TILES_PATH + "wallRight.png",
+            ResourceManager.OBJECTS_PATH + "star1.png",
+            ResourceManager.ASSETS_PATH + "sprite_player_down1.png"
+    };
+
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+
+        BufferedImage[] raw = new BufferedImage[IMAGE_PATHS.length];
+        BufferedImage[] prepared = new BufferedImage[IMAGE_PATHS.length];
+        for (int i = 0; i < IMAGE_PATHS.length; i++) {
+            raw[i] = ImageIO.read(ImageDrawBenchmark.class.getResourceAsStream(IMAGE_PATHS[i]));
+            prepared[i] = ResourceManager.getInstance().loadScaledImage(IMAGE_PATHS[i]);
+        }
+
+        BufferedImage backBuffer = createBackBuffer();
+        int cols = GameConfig.SCREEN_WIDTH / GameConfig.TILE_SIZE + 1;
+        int rows = GameConfig.SCREEN_HEIGHT / GameConfig.TILE_SIZE + 1;
+        System.out.println("Image draw benchmark: " + cols * rows + " draws per frame, " + frames + " frames"
+                + (GraphicsEnvironment.isHeadless() ? " (headless)" : ""));
+        System.out.println("  source image type " + raw[0].getType() + ", prepared image type "
+                + prepared[0].getType());
+
+        report("ImageIO images, scaled per draw", backBuffer, raw, true, frames);
+        report("compatible images, pre-scaled  ", backBuffer, prepared, false, frames);
+    }
+
+    private static BufferedImage createBackBuffer() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+    }
+
+    private static void report(String label, BufferedImage backBuffer, BufferedImage[] images,
+            boolean scale, int frames) {
+        // Warm up
+        long[] frameTimes = new long[frames];
+        runFrames(backBuffer, images, scale, frameTimes);
+        runFrames(backBuffer, images, scale, frameTimes);
+
+        Arrays.sort(frameTimes);
+        long total = 0;
+        for (long time : frameTimes) {
+            total += time;
+        }
+        System.out.printf("  %s: mean %.3f ms, median %.3f ms, p99 %.3f ms%n", label,
+                total / (double) frames / 1_000_000.0,
+                frameTimes[frames / 2] / 1_000_000.0,
+                frameTimes[(int) (frames * 0.99)] / 1_000_000.0);
+    }
+
+    /**
+     * Fill the back buffer with a grid of images, as the tile and sprite
+     * draws do, recording the time of each frame
+     */
+    private static void runFrames(BufferedImage backBuffer, BufferedImage[] images, boolean scale,
+            long[] frameTimes) {
+        int size = GameConfig.TILE_SIZE;
+        for (int frame = 0; frame < frameTimes.length; frame++) {
+            long start = System.nanoTime();
+            Graphics2D g2 = backBuffer.createGraphics();
+            int index = frame;
+            for (int y = 0; y < GameConfig.SCREEN_HEIGHT; y += size) {
+                for (int x = 0; x < GameConfig.SCREEN_WIDTH; x += size) {
+                    BufferedImage image = images[index++ % images.length];
+                    if (scale) {
+                        g2.drawImage(image, x, y, size, size, null);
+                    } else {
+                        g2.drawImage(image, x, y, null);
+                    }
+                }
+            }
+            g2.dispose();
+            frameTimes[frame] = System.nanoTime() - start;
+        }
+    }
+}
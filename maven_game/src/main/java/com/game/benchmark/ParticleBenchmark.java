@@ -0,0 +1,77 @@
+package com.game.benchmark;
+
+import com.game.main.ParticleEmitter;
+import com.game.main.ParticleSystem;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Measures the ParticleSystem update loop with a steady population of
+ * particles, and the bytes allocated while doing so
+ *
+ * Usage: ParticleBenchmark [particles] [frames]
+ */
+public class ParticleBenchmark {
+    private static final float DELTA_TIME = 1f / 60f;
+
+    public static void main(String[] args) {
+        int particleCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        ParticleSystem particles = new ParticleSystem(particleCount);
+        particles.setForces(0f, -98f, 0.5f);
+        // Lifetimes of 1-3 s at 60 FPS: about 1% of the particles die and respawn each frame
+        ParticleEmitter emitter = new ParticleEmitter(42L)
+                .burstCount(particleCount)
+                .speed(10f, 200f)
+                .life(1f, 3f)
+                .radius(500f);
+
+        System.out.println("Particle update benchmark: " + particleCount + " particles, " + frames + " frames");
+
+        // Warm up
+        long[] frameTimes = new long[frames];
+        runFrames(particles, emitter, particleCount, frameTimes);
+
+        com.sun.management.ThreadMXBean threadBean = threadBean();
+        long allocatedBefore = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+        runFrames(particles, emitter, particleCount, frameTimes);
+        long allocated = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+
+        Arrays.sort(frameTimes);
+        long total = 0;
+        for (long time : frameTimes) {
+            total += time;
+        }
+        double meanMs = total / (double) frames / 1_000_000.0;
+        System.out.printf("  mean   %.3f ms/frame (%.2f ns/particle)%n", meanMs,
+                total / (double) frames / particleCount);
+        System.out.printf("  median %.3f ms/frame%n", frameTimes[frames / 2] / 1_000_000.0);
+        System.out.printf("  p99    %.3f ms/frame%n", frameTimes[(int) (frames * 0.99)] / 1_000_000.0);
+        System.out.println("  live particles at end: " + particles.getCount());
+        System.out.println("  allocated during measurement: "
+                + (allocated >= 0 ? allocated + " bytes" : "not supported"));
+    }
+
+    /**
+     * Update the particles for a number of frames, topping the population up
+     * before each frame, recording the time of each update
+     */
+    private static void runFrames(ParticleSystem particles, ParticleEmitter emitter, int target, long[] frameTimes) {
+        for (int frame = 0; frame < frameTimes.length; frame++) {
+            emitter.burstCount(target - particles.getCount()).burst(particles, 0f, 0f);
+            long start = System.nanoTime();
+            particles.update(DELTA_TIME);
+            frameTimes[frame] = System.nanoTime() - start;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,167 @@
+package com.game.benchmark;
+
+import com.game.main.GameConfig;
+import com.game.main.GamePanel;
+import com.game.main.RenderSnapshot;
+import com.game.main.ResourceManager;
+import com.game.main.SoftwareRasterizer;
+import com.game.tile.Tile;
+import com.game.tile.TileManager;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures drawing the world of a snapshot at several resolutions, first
+ * with a Graphics2D drawImage per tile and sprite, then with the software
+ * rasterizer on 1, 2, 4, ... threads, up to at least 4 or the number of cores
+ *
+ * The snapshot shows the generated map with fog on some tiles, the stars,
+ * the player and a cloud of particles.
+ *
+ * Usage: RasterizerBenchmark [frames]
+ */
+public class RasterizerBenchmark {
+    private static final int[][] RESOLUTIONS = {{768, 576}, {1920, 1080}, {2560, 1440}};
+    private static final int STARS = 10;
+    private static final int PARTICLES = 500;
+
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        TileManager tileManager = GamePanel.getInstance().getTileManager();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Rasterizer benchmark: " + frames + " frames, " + cores + " cores, stripes of "
+                + GameConfig.RASTER_STRIPE_HEIGHT + " rows");
+        for (int[] resolution : RESOLUTIONS) {
+            int width = resolution[0];
+            int height = resolution[1];
+            RenderSnapshot snapshot = createSnapshot(tileManager, width, height);
+            BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            System.out.println("  " + width + "x" + height + ":");
+
+            long[] frameTimes = new long[frames];
+            runGraphics2D(frame, snapshot, tileManager, frameTimes);
+            runGraphics2D(frame, snapshot, tileManager, frameTimes);
+            report("Graphics2D drawImage", frameTimes);
+
+            for (int threads = 1; threads <= Math.max(4, cores); threads *= 2) {
+                SoftwareRasterizer rasterizer = new SoftwareRasterizer(tileManager, threads,
+                        GameConfig.RASTER_STRIPE_HEIGHT);
+                runRasterizer(frame, snapshot, rasterizer, frameTimes);
+                runRasterizer(frame, snapshot, rasterizer, frameTimes);
+                rasterizer.shutdown();
+                report(String.format("rasterizer, %d thread%s", threads, threads == 1 ? " " : "s"), frameTimes);
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Build a snapshot of the map from its top-left corner, covering a whole
+     * frame of the given size
+     */
+    private static RenderSnapshot createSnapshot(TileManager tileManager, int width, int height)
+            throws IOException {
+        Random random = new Random(42);
+        int size = GameConfig.TILE_SIZE;
+        RenderSnapshot snapshot = new RenderSnapshot();
+        snapshot.setCamera(0, 0);
+        snapshot.setTiles(tileManager.getTileIndexes(), 0, 0f);
+
+        // Fog in bands, so the tiles are a mix of clear, dimmed and hidden
+        int cols = Math.min(GameConfig.MAP_WIDTH, width / size + 1);
+        int rows = Math.min(GameConfig.MAP_HEIGHT, height / size + 1);
+        snapshot.setMaskArea(0, 0, cols, rows);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int band = (col + row) % 8;
+                snapshot.setMaskState(col, row, band < 5 ? TileManager.MASK_CLEAR
+                        : band < 7 ? TileManager.MASK_DIMMED : TileManager.MASK_HIDDEN);
+            }
+        }
+
+        BufferedImage star = ResourceManager.getInstance().loadScaledImage(ResourceManager.OBJECTS_PATH + "star1.png");
+        for (int i = 0; i < STARS; i++) {
+            snapshot.addObject(random.nextInt(width - size), random.nextInt(height - size), star);
+        }
+        snapshot.setPlayer(width / 2, height / 2,
+                ResourceManager.getInstance().loadScaledImage(ResourceManager.ASSETS_PATH + "sprite_player_down1.png"));
+        for (int i = 0; i < PARTICLES; i++) {
+            int rgba = random.nextInt() | 0x80;
+            snapshot.addParticle(width / 2 + (int) (random.nextGaussian() * 80),
+                    height / 2 + (int) (random.nextGaussian() * 80), 2 + random.nextInt(4), rgba);
+        }
+        return snapshot;
+    }
+
+    private static void runRasterizer(BufferedImage frame, RenderSnapshot snapshot, SoftwareRasterizer rasterizer,
+            long[] frameTimes) {
+        for (int i = 0; i < frameTimes.length; i++) {
+            long start = System.nanoTime();
+            rasterizer.render(frame, snapshot, null);
+            frameTimes[i] = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Draw the snapshot with a drawImage call per tile and sprite and
+     * fillRects for the fog and particles, as the Graphics2D path does
+     * without chunk images
+     */
+    private static void runGraphics2D(BufferedImage frame, RenderSnapshot snapshot, TileManager tileManager,
+            long[] frameTimes) {
+        int size = GameConfig.TILE_SIZE;
+        int[][] indexes = snapshot.getTileIndexes();
+        for (int i = 0; i < frameTimes.length; i++) {
+            long start = System.nanoTime();
+            Graphics2D g2 = frame.createGraphics();
+            g2.setColor(GameConfig.BACKGROUND_COLOR);
+            g2.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+            for (int row = 0; row < snapshot.getMaskRows(); row++) {
+                for (int col = 0; col < snapshot.getMaskCols(); col++) {
+                    Tile tile = tileManager.getTile(indexes[col][row]);
+                    if (tile != null) {
+                        g2.drawImage(tile.getImage(snapshot.getAnimationTime()), col * size, row * size, null);
+                    }
+                    int state = snapshot.getMaskState(col, row);
+                    if (state != TileManager.MASK_CLEAR) {
+                        g2.setColor(state == TileManager.MASK_HIDDEN ? GameConfig.BACKGROUND_COLOR
+                                : TileManager.FOG_COLOR);
+                        g2.fillRect(col * size, row * size, size, size);
+                    }
+                }
+            }
+            for (int object = 0; object < snapshot.getObjectCount(); object++) {
+                g2.drawImage(snapshot.getObjectImage(object), snapshot.getObjectX(object),
+                        snapshot.getObjectY(object), null);
+            }
+            g2.drawImage(snapshot.getPlayerSprite(), snapshot.getPlayerX(), snapshot.getPlayerY(), null);
+            for (int particle = 0; particle < snapshot.getParticleCount(); particle++) {
+                int rgba = snapshot.getParticleColor(particle);
+                g2.setColor(new Color(rgba >>> 24, rgba >>> 16 & 0xFF, rgba >>> 8 & 0xFF, rgba & 0xFF));
+                int particleSize = snapshot.getParticleSize(particle);
+                g2.fillRect(snapshot.getParticleX(particle), snapshot.getParticleY(particle),
+                        particleSize, particleSize);
+            }
+            g2.dispose();
+            frameTimes[i] = System.nanoTime() - start;
+        }
+    }
+
+    private static void report(String label, long[] frameTimes) {
+        long[] sorted = frameTimes.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long time : sorted) {
+            total += time;
+        }
+        System.out.printf("    %-22s mean %.3f ms, median %.3f ms, p99 %.3f ms%n", label,
+                total / (double) sorted.length / 1_000_000.0,
+                sorted[sorted.length / 2] / 1_000_000.0,
+                sorted[(int) (sorted.length * 0.99)] / 1_000_000.0);
+    }
+}
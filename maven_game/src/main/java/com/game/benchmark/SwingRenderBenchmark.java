@@ -0,0 +1,162 @@
+package com.game.benchmark;
+
+import com.game.main.GameConfig;
+import com.game.main.GamePanel;
+import com.game.main.GameState;
+import com.game.main.KeyHandler;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Runs the Swing game headless and unthrottled, drawing every frame into an
+ * offscreen image, and reports frame time percentiles
+ *
+ * Each frame is one update() followed by the same snapshot and render path
+ * the window uses. The map comes from a fixed seed and the player wanders
+ * with scripted key presses, so runs are comparable; no display is needed.
+ *
+ * Usage: SwingRenderBenchmark [frames] [--seed N] [--dump directory] [--dump-every N]
+ */
+public class SwingRenderBenchmark {
+    private static final long DEFAULT_SEED = 1234L;
+    private static final int WARMUP_FRAMES = 300;
+    private static final int KEY_CHANGE_FRAMES = 40; // Frames between scripted direction changes
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    public static void main(String[] args) throws IOException {
+        // Must be set before anything touches AWT
+        System.setProperty("java.awt.headless", "true");
+
+        int frames = 3_000;
+        long seed = DEFAULT_SEED;
+        File dumpDirectory = null;
+        int dumpEvery = 500;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--dump" -> dumpDirectory = new File(args[++i]);
+                case "--dump-every" -> dumpEvery = Math.max(1, Integer.parseInt(args[++i]));
+                default -> frames = Integer.parseInt(args[i]);
+            }
+        }
+        if (dumpDirectory != null && !dumpDirectory.isDirectory() && !dumpDirectory.mkdirs()) {
+            System.err.println("Could not create dump directory: " + dumpDirectory);
+            return;
+        }
+
+        GamePanel gamePanel = GamePanel.getInstance();
+        gamePanel.getTileManager().regenerateMap(seed);
+        gamePanel.setupGame();
+        startGame(gamePanel);
+
+        BufferedImage frame = new BufferedImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        Random input = new Random(seed);
+        long[] frameTimes = new long[frames];
+        long[] renderTimes = new long[frames];
+
+        System.out.println("Swing render benchmark: " + frames + " frames, map seed " + seed
+                + (GameConfig.SOFTWARE_RASTERIZER ? ", software rasterizer" : ", Graphics2D"));
+
+        // Warm up
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            runFrame(gamePanel, frame, input, i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            long frameStart = System.nanoTime();
+            long renderStart = runFrame(gamePanel, frame, input, WARMUP_FRAMES + i);
+            long frameEnd = System.nanoTime();
+            frameTimes[i] = frameEnd - frameStart;
+            renderTimes[i] = frameEnd - renderStart;
+
+            if (dumpDirectory != null && i % dumpEvery == 0) {
+                ImageIO.write(frame, "png", new File(dumpDirectory, String.format("frame_%05d.png", i)));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("  %.1f frames per second, state %s, player at %d,%d%n",
+                frames / (elapsed / (double) GameConfig.NANOS_PER_SECOND), gamePanel.getCurrentState(),
+                gamePanel.getPlayer().getX(), gamePanel.getPlayer().getY());
+        report("frame (update + render)", frameTimes);
+        report("render only            ", renderTimes);
+        if (dumpDirectory != null) {
+            System.out.println("  frames written to " + dumpDirectory.getAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Leave the menu the way a player would, by pressing Enter
+     */
+    private static void startGame(GamePanel gamePanel) {
+        KeyHandler keys = gamePanel.getKeyHandler();
+        keys.enterPressed = true;
+        gamePanel.update();
+        keys.enterPressed = false;
+        if (gamePanel.getCurrentState() != GameState.PLAYING) {
+            gamePanel.setCurrentState(GameState.PLAYING);
+        }
+    }
+
+    /**
+     * Update once, then capture and draw a frame, counting both in the
+     * panel's frame stats like the game loop does
+     *
+     * @return The time drawing started
+     */
+    private static long runFrame(GamePanel gamePanel, BufferedImage frame, Random input, int index) {
+        if (index % KEY_CHANGE_FRAMES == 0) {
+            KeyHandler keys = gamePanel.getKeyHandler();
+            keys.upPressed = keys.downPressed = keys.leftPressed = keys.rightPressed = false;
+            switch (input.nextInt(5)) {
+                case 0 -> keys.upPressed = true;
+                case 1 -> keys.downPressed = true;
+                case 2 -> keys.leftPressed = true;
+                case 3 -> keys.rightPressed = true;
+                default -> {
+                } // Stand still
+            }
+        }
+        long frameStart = System.nanoTime();
+        gamePanel.update();
+        gamePanel.getFrameStats().countUpdate();
+
+        long renderStart = System.nanoTime();
+        gamePanel.publishFrame(0f);
+        Graphics2D g2 = frame.createGraphics();
+        g2.setColor(GameConfig.BACKGROUND_COLOR);
+        g2.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+        g2.setFont(gamePanel.getFont());
+        gamePanel.render(g2);
+        g2.dispose();
+        // Keeps the frame stats overlay as busy as in the window
+        gamePanel.getFrameStats().countFrame(frameStart, System.nanoTime());
+        return renderStart;
+    }
+
+    private static void report(String label, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long time : sorted) {
+            total += time;
+        }
+        StringBuilder line = new StringBuilder(String.format("  %s: mean %.3f ms", label,
+                total / (double) sorted.length / 1_000_000.0));
+        for (double percentile : PERCENTILES) {
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            line.append(String.format(", p%s %.3f ms", percentile % 1 == 0 ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile), sorted[Math.max(0, index)] / 1_000_000.0));
+        }
+        line.append(String.format(", max %.3f ms", sorted[sorted.length - 1] / 1_000_000.0));
+        System.out.println(line);
+    }
+}
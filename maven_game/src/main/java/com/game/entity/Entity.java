@@ -3,7 +3,10 @@ package com.game.entity;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
 
+import com.game.main.FrameAnimation;
 import com.game.main.GameConfig;
 
 /**
@@ -24,11 +27,9 @@ public abstract class Entity {
     protected BufferedImage right1, right2, right3, right4;
     protected BufferedImage default1, default2, default3, default4;
 
-    // Animation counters
-    protected int spriteCounter = 0;
-    protected int spriteNum = 1;
-    protected int spriteCounterDefault = 0;
-    protected int spriteNumDefault = 1;
+    // One animation per direction; frames come from the global clock
+    // Built by buildAnimations() once the images are loaded, or on first draw
+    private Map<Direction, FrameAnimation<BufferedImage>> animations;
 
     // Collision detection
     protected Rectangle solidArea;
@@ -58,48 +59,30 @@ public abstract class Entity {
     public abstract void update();
 
     /**
-     * Get the current sprite image based on direction and animation frame
+     * Get the current sprite image based on direction and the animation clock
      * 
      * @return The current sprite image to display
      */
-    protected BufferedImage getCurrentSprite() {
-        BufferedImage[][] sprites = {
-                { up1, up2, up3, up4 },
-                { down1, down2, down3, down4 },
-                { left1, left2, left3, left4 },
-                { right1, right2, right3, right4 },
-                { default1, default2, default3, default4 }
-        };
-
-        int directionIndex = direction.ordinal();
-        int frameIndex = (direction == Direction.DEFAULT) ? spriteNumDefault - 1 : spriteNum - 1;
-
-        if (directionIndex < sprites.length && frameIndex < sprites[directionIndex].length) {
-            return sprites[directionIndex][frameIndex];
+    public BufferedImage getCurrentSprite() {
+        if (animations == null) {
+            buildAnimations();
         }
-
-        return default1; // Fallback
+        return animations.get(direction).getFrame();
     }
 
     /**
-     * Update animation counters
-     * 
-     * @param isMoving Whether the entity is currently moving
+     * Build the direction animations from the loaded sprite images
+     * Walking directions use the walk speed, standing still the idle speed
      */
-    protected void updateAnimation(boolean isMoving) {
-        if (isMoving) {
-            spriteCounter++;
-            if (spriteCounter > GameConfig.SPRITE_ANIMATION_SPEED) {
-                spriteNum = (spriteNum % GameConfig.MAX_SPRITE_FRAMES) + 1;
-                spriteCounter = 0;
-            }
-        } else {
-            spriteCounterDefault++;
-            if (spriteCounterDefault > GameConfig.DEFAULT_SPRITE_ANIMATION_SPEED) {
-                spriteNumDefault = (spriteNumDefault % GameConfig.MAX_SPRITE_FRAMES) + 1;
-                spriteCounterDefault = 0;
-            }
-        }
+    protected void buildAnimations() {
+        float walk = GameConfig.SPRITE_FRAME_DURATION;
+        float idle = GameConfig.DEFAULT_SPRITE_FRAME_DURATION;
+        animations = new EnumMap<>(Direction.class);
+        animations.put(Direction.UP, new FrameAnimation<>(walk, up1, up2, up3, up4));
+        animations.put(Direction.DOWN, new FrameAnimation<>(walk, down1, down2, down3, down4));
+        animations.put(Direction.LEFT, new FrameAnimation<>(walk, left1, left2, left3, left4));
+        animations.put(Direction.RIGHT, new FrameAnimation<>(walk, right1, right2, right3, right4));
+        animations.put(Direction.DEFAULT, new FrameAnimation<>(idle, default1, default2, default3, default4));
     }
 
     // Getters and setters
@@ -1,12 +1,18 @@
 package com.game.entity;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.game.main.Collision;
+import com.game.main.FrameAnimation;
 import com.game.main.GameConfig;
 import com.game.main.LibGDXKeyHandler;
 import com.game.main.LibGDXResourceManager;
 import com.game.libgdx.LibGDXGame;
+import com.game.libgdx.RenderQueue;
+import com.game.object.LibGDXSuperObject;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * LibGDX version of Player entity class
@@ -23,25 +29,26 @@ public class LibGDXPlayer {
     private Direction direction = Direction.DEFAULT;
     private boolean collisionOn = false;
 
-    // Animation
-    private int spriteCounter = 0;
-    private int spriteNum = 1;
-    private final int animationSpeed = 12;
-    private int animationCounter = 0;
+    // Walk animations, frames are picked from the global animation clock
+    private FrameAnimation<TextureRegion> walkUp;
+    private FrameAnimation<TextureRegion> walkDown;
+    private FrameAnimation<TextureRegion> walkLeft;
+    private FrameAnimation<TextureRegion> walkRight;
 
     // Collision
     private Rectangle solidArea;
     private int solidAreaDefaultX, solidAreaDefaultY;
+    private final List<LibGDXSuperObject> nearbyObjects = new ArrayList<>();
 
     // Game state
     private int stars = 0;
 
-    // Textures for different directions and frames
-    private Texture up1, up2, up3, up4;
-    private Texture down1, down2, down3, down4;
-    private Texture left1, left2, left3, left4;
-    private Texture right1, right2, right3, right4;
-    private Texture default1, default2, default3, default4;
+    // Atlas regions for different directions and frames
+    private TextureRegion up1, up2, up3, up4;
+    private TextureRegion down1, down2, down3, down4;
+    private TextureRegion left1, left2, left3, left4;
+    private TextureRegion right1, right2, right3, right4;
+    private TextureRegion default1, default2, default3, default4;
 
     public LibGDXPlayer(LibGDXGame game, LibGDXKeyHandler keyHandler) {
         this.game = game;
@@ -86,6 +93,12 @@ public class LibGDXPlayer {
         default2 = resourceManager.loadPlayerSprite("default", 2);
         default3 = resourceManager.loadPlayerSprite("default", 3);
         default4 = resourceManager.loadPlayerSprite("default", 4);
+
+        float frameDuration = GameConfig.SPRITE_FRAME_DURATION;
+        walkUp = new FrameAnimation<>(frameDuration, up1, up2, up3, up4);
+        walkDown = new FrameAnimation<>(frameDuration, down1, down2, down3, down4);
+        walkLeft = new FrameAnimation<>(frameDuration, left1, left2, left3, left4);
+        walkRight = new FrameAnimation<>(frameDuration, right1, right2, right3, right4);
     }
 
     private void setupCollisionArea() {
@@ -101,7 +114,7 @@ public class LibGDXPlayer {
     public void update(float deltaTime) {
         handleInput();
         handleMovement();
-        handleAnimation();
+        checkObjects();
     }
 
     private void handleInput() {
@@ -145,89 +158,61 @@ public class LibGDXPlayer {
         }
     }
 
-    private void handleAnimation() {
-        boolean isMoving = direction != Direction.DEFAULT;
-        updateAnimation(isMoving);
-    }
-
-    private void updateAnimation(boolean isMoving) {
-        if (isMoving) {
-            animationCounter++;
-            if (animationCounter > animationSpeed) {
-                if (spriteNum == 1) {
-                    spriteNum = 2;
-                } else if (spriteNum == 2) {
-                    spriteNum = 3;
-                } else if (spriteNum == 3) {
-                    spriteNum = 4;
-                } else if (spriteNum == 4) {
-                    spriteNum = 1;
-                }
-                animationCounter = 0;
+    /**
+     * Pick up the first object the player's solid area overlaps
+     */
+    private void checkObjects() {
+        float left = x + solidArea.x;
+        float bottom = y + solidArea.y;
+        game.getObjectHash().query(left, bottom, solidArea.width, solidArea.height, nearbyObjects);
+        for (int i = 0; i < nearbyObjects.size(); i++) {
+            LibGDXSuperObject obj = nearbyObjects.get(i);
+            Rectangle objSolid = obj.getSolidArea();
+            if (Collision.overlaps(left, bottom, solidArea.width, solidArea.height,
+                    objSolid.x, objSolid.y, objSolid.width, objSolid.height)) {
+                pickUpObject(obj);
+                return;
             }
-        } else {
-            spriteNum = 1;
         }
     }
 
-    public void pickUpObject(int index) {
-        if (index != 999) {
+    public void pickUpObject(LibGDXSuperObject obj) {
+        if (obj != null) {
             stars++;
-            game.getGameObjects().remove(index);
+            game.objectPickedUp(obj);
+            game.removeObject(obj);
         }
     }
 
     public void render(SpriteBatch spriteBatch) {
-        Texture currentSprite = getCurrentSprite();
+        TextureRegion currentSprite = getCurrentSprite();
         if (currentSprite != null) {
             spriteBatch.draw(currentSprite, x, y, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
         }
     }
 
+    /**
+     * Queue the player sprite for depth-sorted drawing
+     */
+    public void render(RenderQueue renderQueue) {
+        renderQueue.submit(getCurrentSprite(), x, y, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE,
+                RenderQueue.LAYER_OBJECTS);
+    }
+
     public void renderAt(SpriteBatch spriteBatch, float x, float y) {
-        Texture currentSprite = getCurrentSprite();
+        TextureRegion currentSprite = getCurrentSprite();
         if (currentSprite != null) {
             spriteBatch.draw(currentSprite, x, y, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
         }
     }
 
-    private Texture getCurrentSprite() {
+    private TextureRegion getCurrentSprite() {
         return switch (direction) {
-            case UP -> switch (spriteNum) {
-                case 1 -> up1;
-                case 2 -> up2;
-                case 3 -> up3;
-                case 4 -> up4;
-                default -> up1;
-            };
-            case DOWN -> switch (spriteNum) {
-                case 1 -> down1;
-                case 2 -> down2;
-                case 3 -> down3;
-                case 4 -> down4;
-                default -> down1;
-            };
-            case LEFT -> switch (spriteNum) {
-                case 1 -> left1;
-                case 2 -> left2;
-                case 3 -> left3;
-                case 4 -> left4;
-                default -> left1;
-            };
-            case RIGHT -> switch (spriteNum) {
-                case 1 -> right1;
-                case 2 -> right2;
-                case 3 -> right3;
-                case 4 -> right4;
-                default -> right1;
-            };
-            case DEFAULT -> switch (spriteNum) {
-                case 1 -> default1;
-                case 2 -> default2;
-                case 3 -> default3;
-                case 4 -> default4;
-                default -> default1;
-            };
+            case UP -> walkUp.getFrame();
+            case DOWN -> walkDown.getFrame();
+            case LEFT -> walkLeft.getFrame();
+            case RIGHT -> walkRight.getFrame();
+            case DEFAULT -> default1;
         };
     }
 
@@ -8,6 +8,7 @@ import com.game.main.GameConfig;
 import com.game.main.GamePanel;
 import com.game.main.KeyHandler;
 import com.game.main.ResourceManager;
+import com.game.object.SuperObject;
 
 /**
  * Player entity class representing the main character
@@ -64,6 +65,8 @@ public class Player extends Entity {
         default2 = resourceManager.loadPlayerSprite("default", 2);
         default3 = resourceManager.loadPlayerSprite("default", 3);
         default4 = resourceManager.loadPlayerSprite("default", 4);
+
+        buildAnimations();
     }
 
     private void setupCollisionArea() {
@@ -80,7 +83,6 @@ public class Player extends Entity {
     public void update() {
         handleInput();
         handleMovement();
-        handleAnimation();
     }
 
     private void handleInput() {
@@ -106,8 +108,8 @@ public class Player extends Entity {
         collisionOn = false;
         gamePanel.getCollisionChecker().checkTile(this);
 
-        int objIndex = gamePanel.getCollisionChecker().checkObject(this, true);
-        pickUpObject(objIndex);
+        SuperObject touched = gamePanel.getCollisionChecker().checkObject(this, true);
+        pickUpObject(touched);
 
         if (!collisionOn) {
             movePlayer();
@@ -125,15 +127,11 @@ public class Player extends Entity {
         }
     }
 
-    private void handleAnimation() {
-        boolean isMoving = direction != Direction.DEFAULT;
-        updateAnimation(isMoving);
-    }
-
-    public void pickUpObject(int index) {
-        if (index != 999) {
+    public void pickUpObject(SuperObject obj) {
+        if (obj != null) {
             stars++;
-            gamePanel.getGameObjects().remove(index);
+            gamePanel.objectPickedUp(obj);
+            gamePanel.removeObject(obj);
         }
     }
 
@@ -141,7 +139,7 @@ public class Player extends Entity {
     public void draw(Graphics2D g2) {
         BufferedImage currentSprite = getCurrentSprite();
         if (currentSprite != null) {
-            g2.drawImage(currentSprite, x, y, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
+            g2.drawImage(currentSprite, x, y, null); // Already TILE_SIZE
         }
     }
 
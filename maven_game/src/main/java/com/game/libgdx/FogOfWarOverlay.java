@@ -0,0 +1,132 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.game.main.FieldOfView;
+import com.game.main.GameConfig;
+import java.nio.ByteBuffer;
+
+/**
+ * Fog of war drawn as a single quad over the whole map
+ *
+ * The fog is a texture with one pixel per tile: opaque for tiles never seen,
+ * translucent for explored tiles out of sight and clear for visible ones. It is
+ * only rewritten when the field of view changes, and then only inside the
+ * area the change touched, which is also all that is uploaded to the GPU.
+ */
+public class FogOfWarOverlay {
+    private static final int HIDDEN = 0x000000FF;
+    private static final int REMEMBERED = 0x00000096;
+    private static final int VISIBLE = 0x00000000;
+
+    private Pixmap pixmap;
+    private Texture texture;
+    private ByteBuffer uploadBuffer;
+    private FieldOfView source;
+    private int sourceVersion = -1;
+
+    /**
+     * Draw the fog over the map
+     * Must be called between SpriteBatch begin and end, after the world
+     */
+    public void render(SpriteBatch spriteBatch, FieldOfView fieldOfView) {
+        refresh(fieldOfView);
+        int width = fieldOfView.getWidth();
+        int height = fieldOfView.getHeight();
+        // Flip so pixmap row 0 lines up with tile row 0 at the bottom of the world
+        spriteBatch.draw(texture, 0, 0, width * GameConfig.TILE_SIZE, height * GameConfig.TILE_SIZE,
+                0, 0, width, height, false, true);
+    }
+
+    /**
+     * Bring the fog texture up to date with the field of view
+     */
+    private void refresh(FieldOfView fieldOfView) {
+        int width = fieldOfView.getWidth();
+        int height = fieldOfView.getHeight();
+        boolean fullRebuild = false;
+
+        if (pixmap == null || pixmap.getWidth() != width || pixmap.getHeight() != height) {
+            dispose();
+            pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+            pixmap.setBlending(Pixmap.Blending.None);
+            texture = new Texture(pixmap);
+            texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            uploadBuffer = BufferUtils.newByteBuffer(width * height * 4);
+            fullRebuild = true;
+        }
+        if (fieldOfView != source) {
+            source = fieldOfView;
+            fullRebuild = true;
+        }
+        if (!fullRebuild && fieldOfView.getVersion() == sourceVersion) {
+            return;
+        }
+
+        int minCol = 0, minRow = 0, maxCol = width - 1, maxRow = height - 1;
+        if (!fullRebuild) {
+            minCol = Math.max(0, fieldOfView.getChangedMinCol());
+            minRow = Math.max(0, fieldOfView.getChangedMinRow());
+            maxCol = Math.min(width - 1, fieldOfView.getChangedMaxCol());
+            maxRow = Math.min(height - 1, fieldOfView.getChangedMaxRow());
+        }
+        sourceVersion = fieldOfView.getVersion();
+        if (minCol > maxCol || minRow > maxRow) {
+            return;
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int color;
+                if (fieldOfView.isVisible(col, row)) {
+                    color = VISIBLE;
+                } else if (fieldOfView.isExplored(col, row)) {
+                    color = REMEMBERED;
+                } else {
+                    color = HIDDEN;
+                }
+                pixmap.drawPixel(col, row, color);
+            }
+        }
+        upload(minCol, minRow, maxCol - minCol + 1, maxRow - minRow + 1);
+    }
+
+    /**
+     * Upload a sub-rectangle of the pixmap to the texture
+     * GL ES 2 has no row length for unpacking, so the rows are packed into a
+     * scratch buffer first
+     */
+    private void upload(int x, int y, int width, int height) {
+        ByteBuffer pixels = pixmap.getPixels();
+        int pixmapRowBytes = pixmap.getWidth() * 4;
+        int rowBytes = width * 4;
+        for (int row = 0; row < height; row++) {
+            uploadBuffer.put(row * rowBytes, pixels, (y + row) * pixmapRowBytes + x * 4, rowBytes);
+        }
+        uploadBuffer.position(0);
+        uploadBuffer.limit(rowBytes * height);
+
+        texture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, x, y, width, height,
+                GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, uploadBuffer);
+        uploadBuffer.clear();
+    }
+
+    /**
+     * Release the fog texture and pixmap
+     */
+    public void dispose() {
+        if (texture != null) {
+            texture.dispose();
+            texture = null;
+        }
+        if (pixmap != null) {
+            pixmap.dispose();
+            pixmap = null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.game.main.GameConfig;
+
+/**
+ * Launcher for running the LibGDX game logic without a display or GL, for
+ * soak tests and profiling the simulation on build servers
+ *
+ * Usage: HeadlessLauncher [--tick-rate N] [--seconds N] [--seed N]
+ * A tick rate of 0 runs unthrottled; seconds of 0 runs until killed.
+ */
+public class HeadlessLauncher {
+    private static final float DEFAULT_SECONDS = 10f;
+    private static final long DEFAULT_SEED = 1234L;
+
+    public static void main(String[] args) {
+        int tickRate = GameConfig.TARGET_FPS;
+        float seconds = DEFAULT_SECONDS;
+        long seed = DEFAULT_SEED;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--tick-rate" -> tickRate = Math.max(0, Integer.parseInt(args[++i]));
+                case "--seconds" -> seconds = Math.max(0f, Float.parseFloat(args[++i]));
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Unknown argument: " + args[i]);
+                    return;
+                }
+            }
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = tickRate; // 0 renders as fast as possible
+
+        // Each tick simulates one fixed step, however fast it really runs
+        float tickDelta = 1f / (tickRate > 0 ? tickRate : GameConfig.TARGET_FPS);
+        System.out.println("Headless simulation: " + (tickRate > 0 ? tickRate + " ticks/s" : "unthrottled")
+                + ", " + (seconds > 0 ? seconds + " s" : "until stopped") + ", seed " + seed);
+        new HeadlessApplication(new HeadlessSimulation(tickDelta, seed, seconds), config);
+    }
+}
@@ -0,0 +1,158 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.GL20;
+import com.game.main.GameState;
+import java.util.Random;
+
+/**
+ * Runs the LibGDX game logic on the headless backend, without a display or GL
+ *
+ * Installs a no-op GL so the atlas and textures can still be created, then
+ * steps a headless LibGDXGame once per frame of the backend with a fixed
+ * delta time. The player is driven by scripted input: Enter to leave the
+ * menu, then a random walk. Ticks per second and the cost of a tick are
+ * printed every second, and totals when the run ends.
+ */
+public class HeadlessSimulation implements ApplicationListener {
+    private static final float KEY_CHANGE_SECONDS = 0.75f; // Simulated time between direction changes
+
+    private final float tickDelta;
+    private final float durationSeconds;
+    private final ScriptedInput input;
+    private final LibGDXGame game;
+
+    // Tick statistics
+    private long runStart;
+    private long totalTicks = 0;
+    private long totalTickNanos = 0;
+    private long windowStart;
+    private int windowTicks = 0;
+    private long windowTickNanos = 0;
+    private long windowMaxNanos = 0;
+
+    /**
+     * @param tickDelta       Simulated seconds per tick
+     * @param seed            Map and input seed
+     * @param durationSeconds Wall-clock seconds to run for, 0 to run until stopped
+     */
+    public HeadlessSimulation(float tickDelta, long seed, float durationSeconds) {
+        this.tickDelta = tickDelta;
+        this.durationSeconds = durationSeconds;
+        this.input = new ScriptedInput(seed);
+        this.game = new LibGDXGame(true, seed);
+    }
+
+    @Override
+    public void create() {
+        GL20 gl = new NoOpGL();
+        Gdx.gl = gl;
+        Gdx.gl20 = gl;
+        Gdx.input = input;
+
+        game.create();
+        runStart = System.nanoTime();
+        windowStart = runStart;
+    }
+
+    @Override
+    public void render() {
+        input.update(game);
+        long tickStart = System.nanoTime();
+        game.step(tickDelta);
+        long tickEnd = System.nanoTime();
+
+        long tickNanos = tickEnd - tickStart;
+        totalTicks++;
+        totalTickNanos += tickNanos;
+        windowTicks++;
+        windowTickNanos += tickNanos;
+        windowMaxNanos = Math.max(windowMaxNanos, tickNanos);
+        if (tickEnd - windowStart >= 1_000_000_000L) {
+            reportWindow(tickEnd);
+        }
+        if (durationSeconds > 0 && tickEnd - runStart >= (long) (durationSeconds * 1_000_000_000L)) {
+            Gdx.app.exit();
+        }
+    }
+
+    private void reportWindow(long now) {
+        double seconds = (now - windowStart) / 1_000_000_000.0;
+        System.out.printf("Ticks/s %.0f  tick %.2f us avg, %.2f us max  state %s  player %.0f,%.0f  particles %d%n",
+                windowTicks / seconds, windowTickNanos / (double) windowTicks / 1_000.0,
+                windowMaxNanos / 1_000.0, game.getCurrentState(), game.getPlayer().getX(),
+                game.getPlayer().getY(), game.getParticles().getCount());
+        windowStart = now;
+        windowTicks = 0;
+        windowTickNanos = 0;
+        windowMaxNanos = 0;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void dispose() {
+        double seconds = (System.nanoTime() - runStart) / 1_000_000_000.0;
+        System.out.printf("Simulated %d ticks (%.1f s of game time) in %.1f s: %.0f ticks/s, %.2f us per tick%n",
+                totalTicks, game.getGameTime(), seconds, totalTicks / seconds,
+                totalTicks > 0 ? totalTickNanos / (double) totalTicks / 1_000.0 : 0.0);
+        game.dispose();
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Input that presses Enter until the game starts, then holds a random
+     * direction at a time, in simulated time so runs are repeatable
+     */
+    private static final class ScriptedInput extends MockInput {
+        private final Random random;
+        private int heldKey = -1;
+        private boolean enterDown = false;
+        private float nextKeyChange = 0f;
+
+        ScriptedInput(long seed) {
+            this.random = new Random(seed);
+        }
+
+        void update(LibGDXGame game) {
+            enterDown = game.getCurrentState() == GameState.MENU;
+            if (game.getGameTime() >= nextKeyChange) {
+                nextKeyChange += KEY_CHANGE_SECONDS;
+                int choice = random.nextInt(5);
+                heldKey = switch (choice) {
+                    case 0 -> Input.Keys.W;
+                    case 1 -> Input.Keys.S;
+                    case 2 -> Input.Keys.A;
+                    case 3 -> Input.Keys.D;
+                    default -> -1; // Stand still
+                };
+            }
+        }
+
+        @Override
+        public boolean isKeyPressed(int key) {
+            return key == heldKey || (key == Input.Keys.ENTER && enterDown);
+        }
+
+        @Override
+        public boolean isKeyJustPressed(int key) {
+            return key == Input.Keys.ENTER && enterDown;
+        }
+    }
+}
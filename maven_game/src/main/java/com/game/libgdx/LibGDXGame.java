@@ -4,20 +4,35 @@ import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.game.main.AnimationClock;
 import com.game.main.GameState;
 import com.game.main.GameConfig;
 import com.game.main.LibGDXKeyHandler;
 import com.game.main.LibGDXResourceManager;
 import com.game.main.LibGDXGameMenu;
+import com.game.main.MapLogger;
+import com.game.main.ParticleEffects;
+import com.game.main.ParticleEmitter;
+import com.game.main.ParticleSystem;
+import com.game.main.SpatialHash;
 import com.game.entity.LibGDXPlayer;
+import com.game.tile.ChunkLodRenderer;
 import com.game.tile.LibGDXTileManager;
+import com.game.tile.ShaderTileMapRenderer;
 import com.game.object.LibGDXSuperObject;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,6 +40,8 @@ import java.util.List;
  * Implements the LibGDX ApplicationAdapter pattern for better performance
  */
 public class LibGDXGame extends ApplicationAdapter {
+    private final boolean headless; // Simulation only: no GL resources, nothing drawn
+    private final long mapSeed;
 
     // Graphics
     private static final int VIRTUAL_WIDTH = GameConfig.TILE_SIZE * 12;
@@ -35,6 +52,23 @@ public class LibGDXGame extends ApplicationAdapter {
     private SpriteBatch spriteBatch;
     private ShapeRenderer shapeRenderer;
     private BitmapFont font;
+    private final VisibilityService visibility = new VisibilityService();
+    private final RenderQueue renderQueue = new RenderQueue();
+    private final FogOfWarOverlay fogOfWar = new FogOfWarOverlay();
+
+    // Particles
+    private final ParticleSystem particles = new ParticleSystem(GameConfig.MAX_PARTICLES);
+    private final ParticleEmitter pickupEmitter = ParticleEffects.starPickup(1f, System.nanoTime());
+    private final ParticleEmitter ambientEmitter = ParticleEffects.ambientDust(1f, System.nanoTime() + 1);
+    private ParticleRenderer particleRenderer;
+
+    // Low-resolution world rendering at native tile size, upscaled once
+    private static final int LOW_RES_WIDTH = VIRTUAL_WIDTH / GameConfig.SCALE;
+    private static final int LOW_RES_HEIGHT = VIRTUAL_HEIGHT / GameConfig.SCALE;
+    private boolean lowResRendering = GameConfig.LOW_RES_RENDERING;
+    private FrameBuffer lowResBuffer;
+    private TextureRegion lowResRegion;
+    private final Matrix4 upscaleProjection = new Matrix4().setToOrtho2D(0, 0, LOW_RES_WIDTH, LOW_RES_HEIGHT);
 
     // Game state
     private GameState currentState = GameState.MENU;
@@ -45,9 +79,16 @@ public class LibGDXGame extends ApplicationAdapter {
     private LibGDXPlayer player;
     private LibGDXTileManager tileManager;
     private LibGDXGameMenu gameMenu;
+    private LibGDXMinimap minimap;
+    private ShaderTileMapRenderer shaderTileRenderer;
+    private ChunkLodRenderer lodRenderer;
+    private boolean shaderTilemap = GameConfig.SHADER_TILEMAP;
 
-    // Game objects
+    // Game objects, also bucketed by world cell for collision and culling
     private final List<LibGDXSuperObject> gameObjects = new ArrayList<>();
+    private final List<LibGDXSuperObject> gameObjectsView = Collections.unmodifiableList(gameObjects);
+    private final SpatialHash<LibGDXSuperObject> objectHash = new SpatialHash<>(GameConfig.OBJECT_CELL_SIZE);
+    private final List<LibGDXSuperObject> visibleObjects = new ArrayList<>();
 
     // Performance tracking
     private int fps = 0;
@@ -55,31 +96,85 @@ public class LibGDXGame extends ApplicationAdapter {
     private float fpsTimer = 0f;
     private float gameTime = 0f;
 
+    // Rendering statistics
+    private RenderStats renderStats;
+
+    // HUD text, laid out again only when its content changes
+    private final TextLabel fpsLabel = new TextLabel();
+    private final TextLabel timeLabel = new TextLabel();
+    private final TextLabel stateLabel = new TextLabel();
+    private final TextLabel drawCallsLabel = new TextLabel();
+    private final TextLabel textureLabel = new TextLabel();
+    private final TextLabel spritesLabel = new TextLabel();
+    private final TextLabel pausedLabel = new TextLabel("PAUSED");
+    private final TextLabel gameOverLabel = new TextLabel("GAME OVER");
+    private final TextLabel starsLabel = new TextLabel();
+
+    public LibGDXGame() {
+        this(false);
+    }
+
+    public LibGDXGame(boolean headless) {
+        this(headless, System.currentTimeMillis());
+    }
+
+    /**
+     * @param headless Only run the simulation, for the headless backend:
+     *                 render() steps the game but creates and draws nothing,
+     *                 and generated maps aren't logged
+     * @param mapSeed  Seed of the first map
+     */
+    public LibGDXGame(boolean headless, long mapSeed) {
+        this.headless = headless;
+        this.mapSeed = mapSeed;
+    }
+
     @Override
     public void create() {
-        // Initialize graphics
+        // Cameras hold no GL state; the zoom is part of the simulation
         camera = new OrthographicCamera();
         hudCamera = new OrthographicCamera();
         viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
-        spriteBatch = new SpriteBatch();
-        shapeRenderer = new ShapeRenderer();
-
-        // Initialize font for text rendering
-        font = new BitmapFont();
-        font.getData().setScale(2.0f);
 
         // Initialize game components (LibGDX context is now ready)
         keyHandler = new LibGDXKeyHandler();
         resourceManager = LibGDXResourceManager.getInstance();
+        resourceManager.getAtlas(); // Pack all images into atlas pages up front
+        particles.setForces(0f, 0f, GameConfig.PARTICLE_DRAG);
         player = new LibGDXPlayer(this, keyHandler);
-        tileManager = new LibGDXTileManager(this);
+        if (headless) {
+            MapLogger.setEnabled(false); // Soak runs would fill logs/ with map dumps
+        }
+        tileManager = new LibGDXTileManager(this, mapSeed);
         gameMenu = new LibGDXGameMenu(this, keyHandler);
+        if (!headless) {
+            createGraphics();
+        }
 
         // Setup game
         setupGame();
 
         System.out.println("LibGDX Game initialized successfully!");
-        System.out.println("Controls: WASD to move, R to regenerate map, ESC to exit");
+        System.out.println("Controls: WASD to move, Q/E to zoom, R to regenerate map, ESC to exit");
+    }
+
+    /**
+     * Create the batches, font and tile renderers, which all need a real GL
+     * context
+     */
+    private void createGraphics() {
+        spriteBatch = new SpriteBatch();
+        shapeRenderer = new ShapeRenderer();
+        renderStats = new RenderStats(Gdx.graphics);
+
+        // Initialize font for text rendering
+        font = new BitmapFont();
+        font.getData().setScale(2.0f);
+
+        particleRenderer = new ParticleRenderer(resourceManager.getWhiteRegion());
+        minimap = new LibGDXMinimap(tileManager);
+        shaderTileRenderer = new ShaderTileMapRenderer(tileManager);
+        lodRenderer = new ChunkLodRenderer(tileManager);
     }
 
     private void setupGame() {
@@ -91,47 +186,71 @@ public class LibGDXGame extends ApplicationAdapter {
 
     private void setupGameObjects() {
         // Add some stars to collect
-        gameObjects.add(new LibGDXSuperObject("star1", 100, 100));
-        gameObjects.add(new LibGDXSuperObject("star1", 300, 200));
-        gameObjects.add(new LibGDXSuperObject("star1", 500, 150));
+        addObject(new LibGDXSuperObject("star1", 100, 100));
+        addObject(new LibGDXSuperObject("star1", 300, 200));
+        addObject(new LibGDXSuperObject("star1", 500, 150));
     }
 
     @Override
     public void render() {
         float deltaTime = Gdx.graphics.getDeltaTime();
-        gameTime += deltaTime;
-        handleInput();
-        update(deltaTime);
+        step(deltaTime);
+        if (headless) {
+            return;
+        }
         updateFPS(deltaTime);
+        renderStats.beginFrame();
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         viewport.apply();
-        if (currentState == GameState.PLAYING && player != null) {
-            camera.position.set(player.getX() + GameConfig.TILE_SIZE / 2f, player.getY() + GameConfig.TILE_SIZE / 2f,
-                    0);
-        } else {
-            camera.position.set(VIRTUAL_WIDTH / 2f, VIRTUAL_HEIGHT / 2f, 0);
+        updateCamera();
+        visibility.update(camera, tileManager.getMapWidth(), tileManager.getMapHeight());
+        if (currentState == GameState.PLAYING || currentState == GameState.PAUSED) {
+            tileManager.updateCulling(visibility);
+            if (lowResRendering) {
+                renderWorldLowRes();
+            } else {
+                renderWorld();
+            }
         }
-        camera.update();
         spriteBatch.setProjectionMatrix(camera.combined);
         shapeRenderer.setProjectionMatrix(camera.combined);
         spriteBatch.begin();
         switch (currentState) {
             case MENU -> gameMenu.render(spriteBatch, font);
-            case PLAYING -> renderGame();
-            case PAUSED -> {
-                renderGame();
-                renderPauseOverlay();
-            }
+            case PAUSED -> renderPauseOverlay();
             case GAME_OVER -> renderGameOver();
         }
         spriteBatch.end();
+        renderStats.addRenderCalls(spriteBatch.renderCalls);
         // HUD/UI fijo
         hudCamera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
         spriteBatch.setProjectionMatrix(hudCamera.combined);
         spriteBatch.begin();
         renderDebugInfo();
+        if (GameConfig.MINIMAP_ENABLED
+                && (currentState == GameState.PLAYING || currentState == GameState.PAUSED)) {
+            minimap.render(spriteBatch, Gdx.graphics.getWidth() - 10, Gdx.graphics.getHeight() - 10,
+                    player.getX(), player.getY());
+        }
         spriteBatch.end();
+        renderStats.addRenderCalls(spriteBatch.renderCalls);
+        shapeRenderer.setProjectionMatrix(hudCamera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        renderStats.renderFrameGraph(shapeRenderer, 10, 10, 60, 2);
+        shapeRenderer.end();
+        renderStats.endFrame(deltaTime, visibility);
+    }
+
+    /**
+     * Advance the simulation by one tick: input, player, tile manager,
+     * objects and particles, without touching GL
+     */
+    public void step(float deltaTime) {
+        gameTime += deltaTime;
+        AnimationClock.getInstance().tick(deltaTime);
+        handleInput();
+        update(deltaTime);
     }
 
     private void handleInput() {
@@ -148,9 +267,17 @@ public class LibGDXGame extends ApplicationAdapter {
             // Handle map regeneration
             if (keyHandler.isRegenerateMapPressed()) {
                 tileManager.regenerateMap(System.currentTimeMillis());
+                particles.clear();
                 keyHandler.setRegenerateMapPressed(false);
                 System.out.println("Map regenerated with new BSP seed");
             }
+
+            // Switch between chunk cache and shader tile rendering
+            if (keyHandler.isToggleTileRendererPressed()) {
+                shaderTilemap = !shaderTilemap;
+                keyHandler.setToggleTileRendererPressed(false);
+                System.out.println("Tile renderer: " + (shaderTilemap ? "shader" : "chunk cache"));
+            }
         }
     }
 
@@ -158,6 +285,7 @@ public class LibGDXGame extends ApplicationAdapter {
         if (currentState == GameState.PLAYING) {
             // Update player
             player.update(deltaTime);
+            updateZoom(deltaTime);
 
             // Update tile manager (camera follows player)
             tileManager.update(deltaTime);
@@ -166,49 +294,228 @@ public class LibGDXGame extends ApplicationAdapter {
             for (LibGDXSuperObject obj : gameObjects) {
                 obj.update(deltaTime);
             }
+
+            // Update particles
+            ambientEmitter.update(particles, deltaTime,
+                    player.getX() + GameConfig.TILE_SIZE / 2f, player.getY() + GameConfig.TILE_SIZE / 2f);
+            particles.update(deltaTime);
+        }
+    }
+
+    /**
+     * Draw the world (tiles, objects and player) through the world camera
+     */
+    private void renderWorld() {
+        // Tiles are drawn before the batch starts, either as one shader quad,
+        // as one baked quad per chunk when zoomed out, or from cached chunk
+        // geometry; only the last one animates tiles
+        int lodLevel = GameConfig.LOD_ENABLED ? ChunkLodRenderer.selectLevel(getTexelsPerPixel()) : 0;
+        boolean tilesAnimated = false;
+        if (shaderTilemap && shaderTileRenderer.render(spriteBatch, camera.combined, visibility)) {
+            renderStats.addRenderCalls(shaderTileRenderer.getRenderCalls());
+        } else if (lodLevel > 0) {
+            lodRenderer.render(spriteBatch, camera.combined, visibility, lodLevel);
+            renderStats.addRenderCalls(lodRenderer.getRenderCalls());
+        } else {
+            tileManager.render(camera.combined, visibility);
+            renderStats.addRenderCalls(tileManager.getRenderCalls());
+            tilesAnimated = true;
         }
+
+        spriteBatch.setProjectionMatrix(camera.combined);
+        spriteBatch.begin();
+        if (tilesAnimated) {
+            tileManager.renderAnimated(spriteBatch, visibility);
+        }
+        renderGame();
+        if (GameConfig.FOG_OF_WAR) {
+            fogOfWar.render(spriteBatch, tileManager.getFieldOfView());
+        }
+        spriteBatch.end();
+        renderStats.addRenderCalls(spriteBatch.renderCalls);
+    }
+
+    /**
+     * Draw the world into a framebuffer at native tile resolution, then
+     * upscale it to the window once by the largest integer factor that fits
+     */
+    private void renderWorldLowRes() {
+        if (lowResBuffer == null) {
+            lowResBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, LOW_RES_WIDTH, LOW_RES_HEIGHT, false);
+            lowResBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest,
+                    Texture.TextureFilter.Nearest);
+            lowResRegion = new TextureRegion(lowResBuffer.getColorBufferTexture());
+            lowResRegion.flip(false, true);
+        }
+
+        lowResBuffer.begin();
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        renderWorld();
+        lowResBuffer.end();
+
+        // Integer scale keeps every native pixel the same size on screen
+        int screenWidth = Gdx.graphics.getBackBufferWidth();
+        int screenHeight = Gdx.graphics.getBackBufferHeight();
+        int scale = Math.max(1, Math.min(screenWidth / LOW_RES_WIDTH, screenHeight / LOW_RES_HEIGHT));
+        int width = LOW_RES_WIDTH * scale;
+        int height = LOW_RES_HEIGHT * scale;
+        Gdx.gl.glViewport((screenWidth - width) / 2, (screenHeight - height) / 2, width, height);
+
+        spriteBatch.setProjectionMatrix(upscaleProjection);
+        spriteBatch.begin();
+        spriteBatch.draw(lowResRegion, 0, 0, LOW_RES_WIDTH, LOW_RES_HEIGHT);
+        spriteBatch.end();
+        renderStats.addRenderCalls(spriteBatch.renderCalls);
+
+        viewport.apply();
     }
 
     private void renderGame() {
-        // Draw tiles with camera system
-        tileManager.render(spriteBatch);
+        // Queue game objects inside the visible area, looking only at the
+        // cells it covers
+        Rectangle bounds = visibility.getWorldBounds();
+        objectHash.query(bounds.x, bounds.y, bounds.width, bounds.height, visibleObjects);
+        for (LibGDXSuperObject obj : visibleObjects) {
+            if (isInSight(obj.getWorldX(), obj.getWorldY())
+                    && visibility.submit(obj.getWorldX(), obj.getWorldY(),
+                    GameConfig.TILE_SIZE, GameConfig.TILE_SIZE)) {
+                obj.render(renderQueue);
+            }
+        }
+
+        // Queue player
+        if (visibility.submit(player.getX(), player.getY(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE)) {
+            player.render(renderQueue);
+        }
+
+        // Draw everything sorted by layer, depth and texture
+        renderQueue.flush(spriteBatch);
+        renderStats.addTextureSwitches(renderQueue.getTextureSwitches());
+
+        // Particles use the atlas white region, so they don't break the batch
+        particleRenderer.render(spriteBatch, particles, visibility);
+    }
 
-        // Draw game objects
-        for (LibGDXSuperObject obj : gameObjects) {
-            if (obj != null) {
-                obj.render(spriteBatch);
+    /**
+     * Check if the tile under a world position is in the player's view and
+     * not walled off by the dungeon's portals
+     */
+    private boolean isInSight(float worldX, float worldY) {
+        int col = (int) Math.floor((worldX + GameConfig.TILE_SIZE / 2f) / GameConfig.TILE_SIZE);
+        int row = (int) Math.floor((worldY + GameConfig.TILE_SIZE / 2f) / GameConfig.TILE_SIZE);
+        if (GameConfig.PORTAL_CULLING && !tileManager.getPortalCuller().isTileVisible(col, row)) {
+            return false;
+        }
+        return !GameConfig.FOG_OF_WAR || tileManager.getFieldOfView().isVisible(col, row);
+    }
+
+    /**
+     * Center the world camera on the player, clamped to the map boundaries
+     */
+    private void updateCamera() {
+        if ((currentState == GameState.PLAYING || currentState == GameState.PAUSED) && player != null) {
+            float mapPixelWidth = tileManager.getMapWidth() * GameConfig.TILE_SIZE;
+            float mapPixelHeight = tileManager.getMapHeight() * GameConfig.TILE_SIZE;
+            float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+            float halfHeight = camera.viewportHeight * camera.zoom / 2f;
+            camera.position.set(
+                    clampToMap(player.getX() + GameConfig.TILE_SIZE / 2f, halfWidth, mapPixelWidth),
+                    clampToMap(player.getY() + GameConfig.TILE_SIZE / 2f, halfHeight, mapPixelHeight),
+                    0);
+            if (lowResRendering) {
+                // Snap to the native pixel grid so tiles don't shimmer when upscaled
+                camera.position.x = Math.round(camera.position.x / GameConfig.SCALE) * GameConfig.SCALE;
+                camera.position.y = Math.round(camera.position.y / GameConfig.SCALE) * GameConfig.SCALE;
             }
+        } else {
+            camera.position.set(VIRTUAL_WIDTH / 2f, VIRTUAL_HEIGHT / 2f, 0);
+        }
+        camera.update();
+    }
+
+    /**
+     * Zoom the world camera while Q or E is held, from 1:1 out to the whole map
+     */
+    private void updateZoom(float deltaTime) {
+        int direction = (keyHandler.isZoomOutPressed() ? 1 : 0) - (keyHandler.isZoomInPressed() ? 1 : 0);
+        if (direction == 0) {
+            return;
         }
+        float mapPixelWidth = tileManager.getMapWidth() * GameConfig.TILE_SIZE;
+        float mapPixelHeight = tileManager.getMapHeight() * GameConfig.TILE_SIZE;
+        float maxZoom = Math.max(1f, Math.max(mapPixelWidth / camera.viewportWidth,
+                mapPixelHeight / camera.viewportHeight));
+        float zoom = camera.zoom * (float) Math.pow(GameConfig.ZOOM_SPEED, direction * deltaTime);
+        camera.zoom = Math.max(1f, Math.min(maxZoom, zoom));
+    }
 
-        // Draw player
-        player.render(spriteBatch);
+    /**
+     * Get how many tile texels end up in one pixel of the render target
+     */
+    private float getTexelsPerPixel() {
+        float targetWidth = lowResRendering ? LOW_RES_WIDTH : viewport.getScreenWidth();
+        float worldUnitsPerPixel = camera.viewportWidth * camera.zoom / Math.max(1f, targetWidth);
+        return worldUnitsPerPixel * GameConfig.ORIGINAL_TILE_SIZE / GameConfig.TILE_SIZE;
+    }
+
+    private static float clampToMap(float target, float halfExtent, float mapExtent) {
+        if (mapExtent <= halfExtent * 2f) {
+            return mapExtent / 2f; // Map smaller than the view, keep it centered
+        }
+        return Math.max(halfExtent, Math.min(target, mapExtent - halfExtent));
     }
 
     private void renderPauseOverlay() {
-        font.setColor(1, 1, 1, 0.8f);
-        font.draw(spriteBatch, "PAUSED",
+        pausedLabel.setColor(1, 1, 1, 0.8f);
+        pausedLabel.draw(spriteBatch, font,
                 VIRTUAL_WIDTH / 2 - 100,
                 VIRTUAL_HEIGHT / 2);
     }
 
     private void renderGameOver() {
-        font.setColor(1, 0, 0, 1);
-        font.draw(spriteBatch, "GAME OVER",
+        gameOverLabel.setColor(1, 0, 0, 1);
+        gameOverLabel.draw(spriteBatch, font,
                 VIRTUAL_WIDTH / 2 - 120,
                 VIRTUAL_HEIGHT / 2);
-        font.setColor(1, 1, 1, 1);
-        font.draw(spriteBatch, "Stars collected: " + player.getStars(),
+        starsLabel.begin().append("Stars collected: ").append(player.getStars());
+        starsLabel.end();
+        starsLabel.draw(spriteBatch, font,
                 VIRTUAL_WIDTH / 2 - 100,
                 VIRTUAL_HEIGHT / 2 - 50);
     }
 
     private void renderDebugInfo() {
-        font.setColor(1, 1, 1, 1);
-        int w = Gdx.graphics.getWidth();
         int h = Gdx.graphics.getHeight();
-        font.draw(spriteBatch, "FPS: " + fps, 10, h - 20);
-        font.draw(spriteBatch, "Time: " + String.format("%.1f", gameTime), 10, h - 50);
-        font.draw(spriteBatch, "State: " + currentState, 10, h - 80);
+
+        fpsLabel.begin().append("FPS: ").append(fps);
+        fpsLabel.end();
+        timeLabel.begin().append("Time: ").append(gameTime, 1);
+        timeLabel.end();
+        stateLabel.begin().append("State: ").append(currentState.name());
+        stateLabel.end();
+        drawCallsLabel.begin()
+                .append("Draw calls: ").append(renderStats.getRenderCalls())
+                .append("  GL draws: ").append(renderStats.getGlDrawCalls())
+                .append("  GL calls: ").append(renderStats.getGlCalls());
+        drawCallsLabel.end();
+        textureLabel.begin()
+                .append("Texture binds: ").append(renderStats.getTextureBindings())
+                .append("  switches: ").append(renderStats.getTextureSwitches())
+                .append("  shaders: ").append(renderStats.getShaderSwitches());
+        textureLabel.end();
+        spritesLabel.begin()
+                .append("Sprites: ").append(renderStats.getSpritesSubmitted())
+                .append(" drawn, ").append(renderStats.getSpritesCulled())
+                .append(" culled  Tiles culled: ").append(renderStats.getTilesCulled());
+        spritesLabel.end();
+
+        fpsLabel.draw(spriteBatch, font, 10, h - 20);
+        timeLabel.draw(spriteBatch, font, 10, h - 50);
+        stateLabel.draw(spriteBatch, font, 10, h - 80);
+        drawCallsLabel.draw(spriteBatch, font, 10, h - 110);
+        textureLabel.draw(spriteBatch, font, 10, h - 140);
+        spritesLabel.draw(spriteBatch, font, 10, h - 170);
     }
 
     private void updateFPS(float deltaTime) {
@@ -224,22 +531,30 @@ public class LibGDXGame extends ApplicationAdapter {
 
     @Override
     public void resize(int width, int height) {
+        if (headless) {
+            return;
+        }
         viewport.update(width, height, true);
         hudCamera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        if (currentState == GameState.PLAYING && player != null) {
-            camera.position.set(player.getX() + GameConfig.TILE_SIZE / 2f, player.getY() + GameConfig.TILE_SIZE / 2f,
-                    0);
-        } else {
-            camera.position.set(VIRTUAL_WIDTH / 2f, VIRTUAL_HEIGHT / 2f, 0);
-        }
-        camera.update();
+        gameMenu.resize();
+        updateCamera();
     }
 
     @Override
     public void dispose() {
-        spriteBatch.dispose();
-        shapeRenderer.dispose();
-        font.dispose();
+        if (!headless) {
+            spriteBatch.dispose();
+            shapeRenderer.dispose();
+            renderStats.dispose();
+            font.dispose();
+            fogOfWar.dispose();
+            minimap.dispose();
+            shaderTileRenderer.dispose();
+            lodRenderer.dispose();
+        }
+        tileManager.dispose();
+        if (lowResBuffer != null)
+            lowResBuffer.dispose();
         if (resourceManager != null)
             resourceManager.dispose();
     }
@@ -249,12 +564,77 @@ public class LibGDXGame extends ApplicationAdapter {
         return player;
     }
 
+    /**
+     * Play the pickup effect for an object the player collected
+     */
+    public void objectPickedUp(LibGDXSuperObject obj) {
+        pickupEmitter.burst(particles, obj.getWorldX() + GameConfig.TILE_SIZE / 2f,
+                obj.getWorldY() + GameConfig.TILE_SIZE / 2f);
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
     public LibGDXTileManager getTileManager() {
         return tileManager;
     }
 
+    public VisibilityService getVisibility() {
+        return visibility;
+    }
+
+    public boolean isShaderTilemap() {
+        return shaderTilemap;
+    }
+
+    public void setShaderTilemap(boolean shaderTilemap) {
+        this.shaderTilemap = shaderTilemap;
+    }
+
+    public boolean isLowResRendering() {
+        return lowResRendering;
+    }
+
+    public void setLowResRendering(boolean lowResRendering) {
+        this.lowResRendering = lowResRendering;
+    }
+
+    /**
+     * Get the game objects; add, move and remove them through the game so
+     * the spatial hash stays in step
+     */
     public List<LibGDXSuperObject> getGameObjects() {
-        return gameObjects;
+        return gameObjectsView;
+    }
+
+    public SpatialHash<LibGDXSuperObject> getObjectHash() {
+        return objectHash;
+    }
+
+    /**
+     * Spawn an object at its current world position
+     */
+    public void addObject(LibGDXSuperObject obj) {
+        gameObjects.add(obj);
+        objectHash.insert(obj, obj.getWorldX(), obj.getWorldY(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Move an object to a new world position
+     */
+    public void moveObject(LibGDXSuperObject obj, float worldX, float worldY) {
+        obj.setWorldX(worldX);
+        obj.setWorldY(worldY);
+        objectHash.move(obj, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Take an object out of the world, e.g. once it's picked up
+     */
+    public void removeObject(LibGDXSuperObject obj) {
+        gameObjects.remove(obj);
+        objectHash.remove(obj);
     }
 
     public GameState getCurrentState() {
@@ -268,4 +648,23 @@ public class LibGDXGame extends ApplicationAdapter {
     public LibGDXResourceManager getResourceManager() {
         return resourceManager;
     }
+
+    /**
+     * Get the number of batch draw calls issued last frame, 0 when headless
+     */
+    public int getDrawCalls() {
+        return renderStats != null ? renderStats.getRenderCalls() : 0;
+    }
+
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public float getGameTime() {
+        return gameTime;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.game.main.FieldOfView;
+import com.game.main.GameConfig;
+import com.game.tile.LibGDXTileManager;
+import com.game.tile.TileChangeListener;
+import java.nio.ByteBuffer;
+
+/**
+ * Minimap of the dungeon with one pixel per tile
+ *
+ * The map is painted once into a Pixmap; afterwards only the cells inside a
+ * dirty rectangle (changed tiles, newly explored areas) are repainted and
+ * uploaded with glTexSubImage2D. The texture has one extra white pixel used
+ * for the player marker, so the map and the marker share a texture and the
+ * minimap costs a single draw call.
+ */
+public class LibGDXMinimap implements TileChangeListener {
+    private static final int UNEXPLORED = 0x000000A0;
+    private static final int FLOOR = 0x505A64E0;
+    private static final int WALL = 0xB4B4BEFF;
+    private static final int MARKER = 0xFFFFFFFF;
+
+    private final LibGDXTileManager tileManager;
+    private Pixmap pixmap;
+    private Texture texture;
+    private TextureRegion mapRegion;
+    private TextureRegion markerRegion;
+    private ByteBuffer uploadBuffer;
+    private int mapWidth;
+    private int mapHeight;
+
+    // Cells that need repainting, in tile coordinates (inclusive)
+    private boolean fullRebuild = true;
+    private int dirtyMinCol, dirtyMinRow, dirtyMaxCol, dirtyMaxRow;
+    private int fieldOfViewVersion = -1;
+
+    public LibGDXMinimap(LibGDXTileManager tileManager) {
+        this.tileManager = tileManager;
+        clearDirty();
+        tileManager.addTileChangeListener(this);
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        markDirty(col, row, col, row);
+    }
+
+    @Override
+    public void mapChanged() {
+        fullRebuild = true;
+    }
+
+    /**
+     * Draw the minimap with its top-right corner at the given HUD position
+     * Must be called between SpriteBatch begin and end
+     *
+     * @param right   Right edge in HUD coordinates
+     * @param top     Top edge in HUD coordinates
+     * @param playerX Player world x
+     * @param playerY Player world y
+     */
+    public void render(SpriteBatch spriteBatch, float right, float top, float playerX, float playerY) {
+        refresh();
+
+        int scale = GameConfig.MINIMAP_PIXELS_PER_TILE;
+        float x = right - mapWidth * scale;
+        float y = top - mapHeight * scale;
+        spriteBatch.draw(mapRegion, x, y, mapWidth * scale, mapHeight * scale);
+
+        // Player marker, from the same texture so the batch doesn't flush
+        float markerX = x + (playerX + GameConfig.TILE_SIZE / 2f) / GameConfig.TILE_SIZE * scale;
+        float markerY = y + (playerY + GameConfig.TILE_SIZE / 2f) / GameConfig.TILE_SIZE * scale;
+        spriteBatch.draw(markerRegion, markerX - scale, markerY - scale, scale * 2, scale * 2);
+    }
+
+    /**
+     * Bring the texture up to date with the map and what has been explored
+     */
+    private void refresh() {
+        if (pixmap == null || mapWidth != tileManager.getMapWidth() || mapHeight != tileManager.getMapHeight()) {
+            create();
+        }
+
+        FieldOfView fieldOfView = tileManager.getFieldOfView();
+        if (GameConfig.FOG_OF_WAR && fieldOfView.getVersion() != fieldOfViewVersion) {
+            markDirty(fieldOfView.getChangedMinCol(), fieldOfView.getChangedMinRow(),
+                    fieldOfView.getChangedMaxCol(), fieldOfView.getChangedMaxRow());
+        }
+        fieldOfViewVersion = fieldOfView.getVersion();
+
+        if (fullRebuild) {
+            paint(0, 0, mapWidth - 1, mapHeight - 1);
+            texture.draw(pixmap, 0, 0);
+            fullRebuild = false;
+            clearDirty();
+            return;
+        }
+
+        int minCol = Math.max(0, dirtyMinCol);
+        int minRow = Math.max(0, dirtyMinRow);
+        int maxCol = Math.min(mapWidth - 1, dirtyMaxCol);
+        int maxRow = Math.min(mapHeight - 1, dirtyMaxRow);
+        if (minCol <= maxCol && minRow <= maxRow) {
+            paint(minCol, minRow, maxCol, maxRow);
+            upload(minCol, minRow, maxCol - minCol + 1, maxRow - minRow + 1);
+        }
+        clearDirty();
+    }
+
+    private void create() {
+        dispose();
+        mapWidth = tileManager.getMapWidth();
+        mapHeight = tileManager.getMapHeight();
+
+        // One extra column holds the marker pixel
+        pixmap = new Pixmap(mapWidth + 1, mapHeight, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        pixmap.setColor(0);
+        pixmap.fill();
+        pixmap.drawPixel(mapWidth, 0, MARKER);
+        texture = new Texture(pixmap);
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+
+        // Pixmap row 0 is tile row 0, which is at the bottom of the world
+        mapRegion = new TextureRegion(texture, 0, 0, mapWidth, mapHeight);
+        mapRegion.flip(false, true);
+        markerRegion = new TextureRegion(texture, mapWidth, 0, 1, 1);
+
+        uploadBuffer = BufferUtils.newByteBuffer(mapWidth * mapHeight * 4);
+        fullRebuild = true;
+    }
+
+    /**
+     * Repaint a rectangle of cells into the pixmap
+     */
+    private void paint(int minCol, int minRow, int maxCol, int maxRow) {
+        FieldOfView fieldOfView = tileManager.getFieldOfView();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int color;
+                if (GameConfig.FOG_OF_WAR && !fieldOfView.isExplored(col, row)) {
+                    color = UNEXPLORED;
+                } else if (tileManager.isSolidTile(col, row)) {
+                    color = WALL;
+                } else {
+                    color = FLOOR;
+                }
+                pixmap.drawPixel(col, row, color);
+            }
+        }
+    }
+
+    /**
+     * Upload a sub-rectangle of the pixmap to the texture
+     * GL ES 2 has no row length for unpacking, so the rows are packed into a
+     * scratch buffer first
+     */
+    private void upload(int x, int y, int width, int height) {
+        ByteBuffer pixels = pixmap.getPixels();
+        int pixmapRowBytes = pixmap.getWidth() * 4;
+        int rowBytes = width * 4;
+        for (int row = 0; row < height; row++) {
+            uploadBuffer.put(row * rowBytes, pixels, (y + row) * pixmapRowBytes + x * 4, rowBytes);
+        }
+        uploadBuffer.position(0);
+        uploadBuffer.limit(rowBytes * height);
+
+        texture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, x, y, width, height,
+                GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, uploadBuffer);
+        uploadBuffer.clear();
+    }
+
+    private void markDirty(int minCol, int minRow, int maxCol, int maxRow) {
+        dirtyMinCol = Math.min(dirtyMinCol, minCol);
+        dirtyMinRow = Math.min(dirtyMinRow, minRow);
+        dirtyMaxCol = Math.max(dirtyMaxCol, maxCol);
+        dirtyMaxRow = Math.max(dirtyMaxRow, maxRow);
+    }
+
+    private void clearDirty() {
+        dirtyMinCol = Integer.MAX_VALUE;
+        dirtyMinRow = Integer.MAX_VALUE;
+        dirtyMaxCol = -1;
+        dirtyMaxRow = -1;
+    }
+
+    /**
+     * Release the minimap texture and pixmap
+     */
+    public void dispose() {
+        if (texture != null) {
+            texture.dispose();
+            texture = null;
+        }
+        if (pixmap != null) {
+            pixmap.dispose();
+            pixmap = null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.game.main.ParticleSystem;
+
+/**
+ * Draws a ParticleSystem through a SpriteBatch as tinted quads of one atlas
+ * region, so particles batch together with the rest of the atlas sprites
+ */
+public class ParticleRenderer {
+    private final TextureRegion region;
+
+    public ParticleRenderer(TextureRegion region) {
+        this.region = region;
+    }
+
+    /**
+     * Draw the visible particles, fading them out over their life
+     * Must be called between SpriteBatch begin and end
+     */
+    public void render(SpriteBatch spriteBatch, ParticleSystem particles, VisibilityService visibility) {
+        float previousColor = spriteBatch.getPackedColor();
+        for (int i = 0, n = particles.getCount(); i < n; i++) {
+            float size = particles.getSize(i);
+            float x = particles.getX(i) - size / 2f;
+            float y = particles.getY(i) - size / 2f;
+            if (!visibility.isVisible(x, y, size, size)) {
+                continue;
+            }
+
+            // RGBA8888 to the ABGR float bits the batch expects, alpha scaled by life
+            int rgba = particles.getColor(i);
+            int alpha = (int) ((rgba & 0xFF) * particles.getLifeFraction(i));
+            int abgr = (alpha << 24) | ((rgba >>> 8 & 0xFF) << 16) | ((rgba >>> 16 & 0xFF) << 8) | (rgba >>> 24);
+            spriteBatch.setPackedColor(NumberUtils.intToFloatColor(abgr));
+            spriteBatch.draw(region, x, y, size, size);
+        }
+        spriteBatch.setPackedColor(previousColor);
+    }
+}
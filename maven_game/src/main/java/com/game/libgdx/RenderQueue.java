@@ -0,0 +1,207 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-frame queue of sprites sorted by layer, then depth (Y), then texture
+ *
+ * Sprites are submitted as compact records into primitive arrays and a 64-bit
+ * sort key, which is radix-sorted before drawing in a single pass. Lower
+ * sprites on screen are drawn later so they overlap the ones behind them, and
+ * sprites sharing a depth are grouped by texture to keep batch flushes down.
+ */
+public class RenderQueue {
+    // Sort key layout: | layer (8) | depth (32) | texture id (16) | unused (8) |
+    private static final int TEXTURE_SHIFT = 8;
+    private static final int DEPTH_SHIFT = 24;
+    private static final int LAYER_SHIFT = 56;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_PASSES = 64 / RADIX_BITS;
+
+    // Layers, drawn in increasing order
+    public static final int LAYER_GROUND = 0;
+    public static final int LAYER_OBJECTS = 1;
+    public static final int LAYER_OVERLAY = 2;
+
+    private int size = 0;
+    private long[] keys;
+    private int[] order;
+    private TextureRegion[] regions;
+    private float[] bounds; // x, y, width, height per record
+
+    // Sort scratch space
+    private long[] keyScratch;
+    private int[] orderScratch;
+    private final int[] counts = new int[1 << RADIX_BITS];
+
+    // Small integer ids for textures so they fit in the key
+    private final Map<Texture, Integer> textureIds = new IdentityHashMap<>();
+
+    // Texture switches in the last flush
+    private int textureSwitches = 0;
+
+    public RenderQueue() {
+        this(256);
+    }
+
+    public RenderQueue(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    /**
+     * Queue a sprite for this frame
+     *
+     * @param region The atlas region to draw
+     * @param x      World x
+     * @param y      World y (bottom edge, used for depth)
+     * @param width  Width in world units
+     * @param height Height in world units
+     * @param layer  Layer key (0-255), lower layers are drawn first
+     */
+    public void submit(TextureRegion region, float x, float y, float width, float height, int layer) {
+        if (region == null) {
+            return;
+        }
+        if (size == keys.length) {
+            grow();
+        }
+
+        // Higher Y is further away in a y-up world, so it must sort first
+        int depthBits = Float.floatToIntBits(y);
+        depthBits ^= (depthBits >> 31) | 0x80000000; // Order-preserving float to unsigned int
+        long depth = ~depthBits & 0xFFFFFFFFL;
+
+        keys[size] = ((long) (layer & 0xFF) << LAYER_SHIFT)
+                | (depth << DEPTH_SHIFT)
+                | ((long) (textureId(region.getTexture()) & 0xFFFF) << TEXTURE_SHIFT);
+        order[size] = size;
+        regions[size] = region;
+        int b = size * 4;
+        bounds[b] = x;
+        bounds[b + 1] = y;
+        bounds[b + 2] = width;
+        bounds[b + 3] = height;
+        size++;
+    }
+
+    /**
+     * Sort the queued sprites, draw them and clear the queue
+     * Must be called between SpriteBatch begin and end
+     */
+    public void flush(SpriteBatch spriteBatch) {
+        sort();
+
+        Texture lastTexture = null;
+        textureSwitches = 0;
+        for (int i = 0; i < size; i++) {
+            int record = order[i];
+            TextureRegion region = regions[record];
+            if (region.getTexture() != lastTexture) {
+                lastTexture = region.getTexture();
+                textureSwitches++;
+            }
+            int b = record * 4;
+            spriteBatch.draw(region, bounds[b], bounds[b + 1], bounds[b + 2], bounds[b + 3]);
+            regions[record] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * LSD radix sort of the keys, carrying the record order along
+     * Passes where every key has the same digit are skipped
+     */
+    private void sort() {
+        long[] srcKeys = keys;
+        int[] srcOrder = order;
+        long[] dstKeys = keyScratch;
+        int[] dstOrder = orderScratch;
+        int mask = (1 << RADIX_BITS) - 1;
+
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & mask]++;
+            }
+            if (size == 0 || counts[(int) (srcKeys[0] >>> shift) & mask] == size) {
+                continue;
+            }
+
+            int total = 0;
+            for (int d = 0; d < counts.length; d++) {
+                int count = counts[d];
+                counts[d] = total;
+                total += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int slot = counts[(int) (srcKeys[i] >>> shift) & mask]++;
+                dstKeys[slot] = srcKeys[i];
+                dstOrder[slot] = srcOrder[i];
+            }
+
+            long[] tempKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tempKeys;
+            int[] tempOrder = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = tempOrder;
+        }
+
+        // Keep whichever buffers ended up holding the result as the primary ones
+        keys = srcKeys;
+        order = srcOrder;
+        keyScratch = dstKeys;
+        orderScratch = dstOrder;
+    }
+
+    private int textureId(Texture texture) {
+        Integer id = textureIds.get(texture);
+        if (id == null) {
+            id = textureIds.size();
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        order = new int[capacity];
+        regions = new TextureRegion[capacity];
+        bounds = new float[capacity * 4];
+        keyScratch = new long[capacity];
+        orderScratch = new int[capacity];
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldOrder = order;
+        TextureRegion[] oldRegions = regions;
+        float[] oldBounds = bounds;
+
+        allocate(oldKeys.length * 2);
+        System.arraycopy(oldKeys, 0, keys, 0, size);
+        System.arraycopy(oldOrder, 0, order, 0, size);
+        System.arraycopy(oldRegions, 0, regions, 0, size);
+        System.arraycopy(oldBounds, 0, bounds, 0, size * 4);
+    }
+
+    /**
+     * Get the number of queued sprites
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of texture changes during the last flush
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+}
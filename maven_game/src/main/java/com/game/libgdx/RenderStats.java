@@ -0,0 +1,166 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/**
+ * Per-frame rendering statistics for the LibGDX renderer
+ * Collects batch render calls, texture switches, sprite and culling counts and
+ * raw GL counters from GLProfiler, and keeps a history of frame times for the
+ * HUD graph
+ */
+public class RenderStats {
+    public static final int FRAME_HISTORY = 120;
+    private static final float TARGET_FRAME_MS = 1000f / 60f;
+
+    private final GLProfiler profiler;
+
+    // Values accumulated during the current frame
+    private int currentRenderCalls = 0;
+    private int currentTextureSwitches = 0;
+
+    // Values of the last completed frame
+    private int renderCalls = 0;
+    private int textureSwitches = 0;
+    private int textureBindings = 0;
+    private int glCalls = 0;
+    private int glDrawCalls = 0;
+    private int shaderSwitches = 0;
+    private int spritesSubmitted = 0;
+    private int spritesCulled = 0;
+    private int tilesSubmitted = 0;
+    private int tilesCulled = 0;
+    private float frameTimeMs = 0f;
+
+    // Frame time ring buffer
+    private final float[] frameTimes = new float[FRAME_HISTORY];
+    private int frameIndex = 0;
+
+    public RenderStats(Graphics graphics) {
+        profiler = new GLProfiler(graphics);
+        profiler.enable();
+    }
+
+    /**
+     * Start collecting a new frame
+     */
+    public void beginFrame() {
+        currentRenderCalls = 0;
+        currentTextureSwitches = 0;
+        profiler.reset();
+    }
+
+    /**
+     * Add the render calls of a SpriteBatch or SpriteCache begin/end pair
+     */
+    public void addRenderCalls(int calls) {
+        currentRenderCalls += calls;
+    }
+
+    /**
+     * Add texture switches counted while submitting sprites
+     */
+    public void addTextureSwitches(int switches) {
+        currentTextureSwitches += switches;
+    }
+
+    /**
+     * Finish the frame and publish its numbers
+     *
+     * @param deltaTime  Frame time in seconds
+     * @param visibility The visibility service used this frame
+     */
+    public void endFrame(float deltaTime, VisibilityService visibility) {
+        renderCalls = currentRenderCalls;
+        textureSwitches = currentTextureSwitches;
+        textureBindings = profiler.getTextureBindings();
+        glCalls = profiler.getCalls();
+        glDrawCalls = profiler.getDrawCalls();
+        shaderSwitches = profiler.getShaderSwitches();
+        spritesSubmitted = visibility.getSubmitted();
+        spritesCulled = visibility.getCulled();
+        tilesSubmitted = visibility.getTilesSubmitted();
+        tilesCulled = visibility.getTilesCulled();
+
+        frameTimeMs = deltaTime * 1000f;
+        frameTimes[frameIndex] = frameTimeMs;
+        frameIndex = (frameIndex + 1) % FRAME_HISTORY;
+    }
+
+    /**
+     * Draw the frame time history as bars, with a line at the 60 FPS budget
+     * Must be called between ShapeRenderer begin(Filled) and end
+     *
+     * @param x            Left edge of the graph in HUD coordinates
+     * @param y            Bottom edge of the graph in HUD coordinates
+     * @param height       Height of the graph; the top is two frame budgets
+     * @param pixelsPerBar Width of each bar
+     */
+    public void renderFrameGraph(ShapeRenderer shapeRenderer, float x, float y, float height, float pixelsPerBar) {
+        float scale = height / (TARGET_FRAME_MS * 2f);
+        for (int i = 0; i < FRAME_HISTORY; i++) {
+            float ms = frameTimes[(frameIndex + i) % FRAME_HISTORY];
+            if (ms > TARGET_FRAME_MS) {
+                shapeRenderer.setColor(0.9f, 0.3f, 0.2f, 1f);
+            } else {
+                shapeRenderer.setColor(0.3f, 0.8f, 0.3f, 1f);
+            }
+            shapeRenderer.rect(x + i * pixelsPerBar, y, pixelsPerBar, Math.min(height, ms * scale));
+        }
+        shapeRenderer.setColor(1f, 1f, 1f, 1f);
+        shapeRenderer.rect(x, y + TARGET_FRAME_MS * scale, FRAME_HISTORY * pixelsPerBar, 1f);
+    }
+
+    /**
+     * Stop profiling GL calls
+     */
+    public void dispose() {
+        profiler.disable();
+    }
+
+    // Getters for the last completed frame
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    public int getTextureBindings() {
+        return textureBindings;
+    }
+
+    public int getGlCalls() {
+        return glCalls;
+    }
+
+    public int getGlDrawCalls() {
+        return glDrawCalls;
+    }
+
+    public int getShaderSwitches() {
+        return shaderSwitches;
+    }
+
+    public int getSpritesSubmitted() {
+        return spritesSubmitted;
+    }
+
+    public int getSpritesCulled() {
+        return spritesCulled;
+    }
+
+    public int getTilesSubmitted() {
+        return tilesSubmitted;
+    }
+
+    public int getTilesCulled() {
+        return tilesCulled;
+    }
+
+    public float getFrameTimeMs() {
+        return frameTimeMs;
+    }
+}
@@ -0,0 +1,104 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.game.main.TextBuffer;
+
+/**
+ * A piece of text with a cached GlyphLayout
+ *
+ * The layout is only rebuilt when the text, colour, font or font scale
+ * changes, or when invalidate() is called (on resize). Text is written into a
+ * reusable TextBuffer, so updating and drawing a label every frame doesn't
+ * allocate.
+ */
+public class TextLabel {
+    private final TextBuffer text;
+    private final GlyphLayout layout = new GlyphLayout();
+    private final Color color = new Color(1, 1, 1, 1);
+    private boolean dirty = true;
+
+    // Font state the layout was built with
+    private BitmapFont layoutFont;
+    private float layoutScale;
+
+    public TextLabel() {
+        this.text = new TextBuffer();
+    }
+
+    public TextLabel(CharSequence initialText) {
+        this.text = new TextBuffer(initialText.length());
+        setText(initialText);
+    }
+
+    /**
+     * Start rewriting the label text; finish with end()
+     */
+    public TextBuffer begin() {
+        return text.begin();
+    }
+
+    /**
+     * Finish rewriting the label text
+     */
+    public void end() {
+        if (text.end()) {
+            dirty = true;
+        }
+    }
+
+    public void setText(CharSequence value) {
+        begin().append(value);
+        end();
+    }
+
+    public void setColor(float r, float g, float b, float a) {
+        if (color.r != r || color.g != g || color.b != b || color.a != a) {
+            color.set(r, g, b, a);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Force a re-layout on next use
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Get the layout for the given font, rebuilding it if anything changed
+     */
+    public GlyphLayout getLayout(BitmapFont font) {
+        float scale = font.getData().scaleX;
+        if (dirty || font != layoutFont || scale != layoutScale) {
+            layout.setText(font, text, 0, text.length(), color, 0, Align.left, false, null);
+            layoutFont = font;
+            layoutScale = scale;
+            dirty = false;
+        }
+        return layout;
+    }
+
+    public float getWidth(BitmapFont font) {
+        return getLayout(font).width;
+    }
+
+    public float getHeight(BitmapFont font) {
+        return getLayout(font).height;
+    }
+
+    /**
+     * Draw the label with its top-left corner at x, y
+     */
+    public void draw(Batch batch, BitmapFont font, float x, float y) {
+        font.draw(batch, getLayout(font), x, y);
+    }
+
+    public TextBuffer getText() {
+        return text;
+    }
+}
@@ -0,0 +1,115 @@
+package com.game.libgdx;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.game.main.GameConfig;
+
+/**
+ * Per-frame visibility information derived from the camera the world is
+ * actually rendered through
+ * Computes the visible world AABB and tile range once per frame so the tile,
+ * object and entity renderers all cull against the same rectangle
+ */
+public class VisibilityService {
+    private final Rectangle worldBounds = new Rectangle();
+    private int startCol, endCol, startRow, endRow;
+
+    // Per-frame counters so overdraw can be measured
+    private int submitted = 0;
+    private int culled = 0;
+    private int tilesSubmitted = 0;
+    private int tilesCulled = 0;
+
+    /**
+     * Recompute the visible area and reset the counters
+     *
+     * @param camera    The camera used for world rendering
+     * @param mapWidth  Map width in tiles
+     * @param mapHeight Map height in tiles
+     */
+    public void update(OrthographicCamera camera, int mapWidth, int mapHeight) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        worldBounds.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+
+        startCol = Math.max(0, (int) Math.floor(worldBounds.x / GameConfig.TILE_SIZE));
+        endCol = Math.min(mapWidth, (int) Math.floor((worldBounds.x + width) / GameConfig.TILE_SIZE) + 1);
+        startRow = Math.max(0, (int) Math.floor(worldBounds.y / GameConfig.TILE_SIZE));
+        endRow = Math.min(mapHeight, (int) Math.floor((worldBounds.y + height) / GameConfig.TILE_SIZE) + 1);
+
+        submitted = 0;
+        culled = 0;
+        tilesSubmitted = 0;
+        tilesCulled = 0;
+    }
+
+    /**
+     * Check if a world rectangle overlaps the visible area
+     */
+    public boolean isVisible(float x, float y, float width, float height) {
+        return x + width > worldBounds.x && x < worldBounds.x + worldBounds.width &&
+                y + height > worldBounds.y && y < worldBounds.y + worldBounds.height;
+    }
+
+    /**
+     * Test a sprite for visibility and count it as submitted or culled
+     *
+     * @return true if the sprite should be drawn
+     */
+    public boolean submit(float x, float y, float width, float height) {
+        if (isVisible(x, y, width, height)) {
+            submitted++;
+            return true;
+        }
+        culled++;
+        return false;
+    }
+
+    /**
+     * Count tiles culled or submitted in bulk (whole tile chunks)
+     * Tiles are included in the sprite totals as well
+     */
+    public void recordTiles(int submittedCount, int culledCount) {
+        tilesSubmitted += submittedCount;
+        tilesCulled += culledCount;
+        submitted += submittedCount;
+        culled += culledCount;
+    }
+
+    // Getters
+    public Rectangle getWorldBounds() {
+        return worldBounds;
+    }
+
+    public int getStartCol() {
+        return startCol;
+    }
+
+    public int getEndCol() {
+        return endCol;
+    }
+
+    public int getStartRow() {
+        return startRow;
+    }
+
+    public int getEndRow() {
+        return endRow;
+    }
+
+    public int getSubmitted() {
+        return submitted;
+    }
+
+    public int getCulled() {
+        return culled;
+    }
+
+    public int getTilesSubmitted() {
+        return tilesSubmitted;
+    }
+
+    public int getTilesCulled() {
+        return tilesCulled;
+    }
+}
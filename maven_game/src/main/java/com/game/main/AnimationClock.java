@@ -0,0 +1,64 @@
+package com.game.main;
+
+/**
+ * Global clock that drives every animation in the game
+ *
+ * The clock is advanced once per frame, and animations derive their current
+ * frame from its time. Entities and tiles don't keep frame counters of their
+ * own, so any number of animated things cost nothing to update.
+ *
+ * Time is kept in double seconds so frames stay evenly timed in long
+ * sessions; a float would stop advancing by small frame times after a day
+ * or so. It's written by the game thread and read while drawing, so it's
+ * volatile.
+ */
+public class AnimationClock {
+    private static final AnimationClock instance = new AnimationClock();
+
+    private volatile double time = 0.0;
+
+    private AnimationClock() {
+    }
+
+    public static AnimationClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Advance the clock, once per frame
+     *
+     * @param deltaTime Frame time in seconds
+     */
+    public void tick(float deltaTime) {
+        time += deltaTime;
+    }
+
+    /**
+     * Get the animation time in seconds
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Get the looping frame index for an animation at the current time
+     *
+     * @param frameCount    Number of frames in the animation
+     * @param frameDuration Seconds each frame is shown
+     */
+    public int frameIndex(int frameCount, float frameDuration) {
+        return frameIndex(time, frameCount, frameDuration);
+    }
+
+    /**
+     * Get the looping frame index for an animation at a given time
+     *
+     * @param time          Animation time in seconds
+     * @param frameCount    Number of frames in the animation
+     * @param frameDuration Seconds each frame is shown
+     */
+    public static int frameIndex(double time, int frameCount, float frameDuration) {
+        // Long so the frame count can't overflow int and stick on one frame
+        return (int) ((long) (time / frameDuration) % frameCount);
+    }
+}
@@ -24,6 +24,6 @@ public class AssetSetter {
         star.worldY = 8 * GameConfig.TILE_SIZE;
 
         // Add to game objects list
-        gamePanel.getGameObjects().add(star);
+        gamePanel.addObject(star);
     }
 }
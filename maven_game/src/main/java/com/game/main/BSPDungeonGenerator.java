@@ -19,6 +19,7 @@ public class BSPDungeonGenerator {
     private int[][] map;
     private long currentSeed;
     private BSPNode rootNode;
+    private final List<Room> rooms = new ArrayList<>();
 
     // Generation parameters
     private static final int MIN_ROOM_SIZE = 6;
@@ -49,6 +50,7 @@ public class BSPDungeonGenerator {
 
         // Step 1: Initialize map with walls
         initializeMap();
+        rooms.clear();
 
         // Step 2: Create BSP tree by recursive splitting
         rootNode = new BSPNode(0, 0, width, height);
@@ -187,6 +189,7 @@ public class BSPDungeonGenerator {
         // Create the room
         Room room = new Room(roomX, roomY, roomWidth, roomHeight);
         node.room = room;
+        rooms.add(room);
 
         // Place room on map
         for (int x = roomX; x < roomX + roomWidth; x++) {
@@ -363,6 +366,22 @@ public class BSPDungeonGenerator {
             this.height = height;
         }
 
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
         @Override
         public String toString() {
             return String.format("Room(%d,%d,%dx%d)", x, y, width, height);
@@ -389,4 +408,11 @@ public class BSPDungeonGenerator {
     public BSPNode getRootNode() {
         return rootNode;
     }
+
+    /**
+     * Get the rooms of the last generated map, in tile coordinates
+     */
+    public List<Room> getRooms() {
+        return Collections.unmodifiableList(rooms);
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import com.game.entity.Entity;
  */
 public class Camera {
     private int x, y;
+    private int previousX, previousY; // Position before the latest update, for interpolation
     private int screenWidth, screenHeight;
     private int mapWidth, mapHeight;
     private Entity target; // Usually the player
@@ -48,11 +49,37 @@ public class Camera {
             int desiredY = targetY - screenHeight / 2;
 
             // Clamp camera to map boundaries
+            previousX = x;
+            previousY = y;
             x = Math.max(0, Math.min(desiredX, mapWidth - screenWidth));
             y = Math.max(0, Math.min(desiredY, mapHeight - screenHeight));
         }
     }
 
+    /**
+     * Get the camera position between its last two updates, for drawing
+     *
+     * @param alpha 0 for the previous update, 1 for the latest
+     */
+    public int getInterpolatedX(float alpha) {
+        return interpolate(previousX, x, alpha);
+    }
+
+    public int getInterpolatedY(float alpha) {
+        return interpolate(previousY, y, alpha);
+    }
+
+    /**
+     * Interpolate between two positions, jumping straight to the latest one
+     * when they are more than a tile apart (teleports, new maps)
+     */
+    public static int interpolate(int previous, int current, float alpha) {
+        if (Math.abs(current - previous) > GameConfig.TILE_SIZE) {
+            return current;
+        }
+        return previous + Math.round((current - previous) * alpha);
+    }
+
     /**
      * Convert world coordinates to screen coordinates
      */
@@ -93,6 +120,13 @@ public class Camera {
      * Get visible tile range for efficient rendering
      */
     public TileRange getVisibleTileRange() {
+        return getVisibleTileRange(x, y);
+    }
+
+    /**
+     * Get the visible tile range for the camera at another position
+     */
+    public TileRange getVisibleTileRange(int x, int y) {
         int startCol = Math.max(0, x / GameConfig.TILE_SIZE);
         int endCol = Math.min((x + screenWidth) / GameConfig.TILE_SIZE + 1,
                 mapWidth / GameConfig.TILE_SIZE);
@@ -0,0 +1,90 @@
+package com.game.main;
+
+import com.game.entity.Direction;
+
+/**
+ * Axis-aligned box tests shared by the Swing and LibGDX games
+ *
+ * Boxes are passed as primitive coordinates (position plus solid-area
+ * offset, width and height) and nothing is written anywhere, so the tests
+ * allocate nothing and are safe to call from any number of threads. Edges
+ * that only touch don't overlap, and empty boxes never overlap anything,
+ * like java.awt.Rectangle.intersects.
+ */
+public final class Collision {
+
+    private Collision() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Check if two boxes overlap
+     */
+    public static boolean overlaps(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        return aw > 0 && ah > 0 && bw > 0 && bh > 0
+                && ax < bx + bw && bx < ax + aw
+                && ay < by + bh && by < ay + ah;
+    }
+
+    /**
+     * Check if two boxes overlap, in float coordinates for the LibGDX game
+     */
+    public static boolean overlaps(float ax, float ay, float aw, float ah,
+            float bx, float by, float bw, float bh) {
+        return aw > 0 && ah > 0 && bw > 0 && bh > 0
+                && ax < bx + bw && bx < ax + aw
+                && ay < by + bh && by < ay + ah;
+    }
+
+    /**
+     * Get the x offset of one step in a direction
+     */
+    public static int stepX(Direction direction, int distance) {
+        return switch (direction) {
+            case LEFT -> -distance;
+            case RIGHT -> distance;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Get the y offset of one step in a direction
+     *
+     * @param up 1 if y grows upwards, -1 if it grows downwards
+     */
+    public static int stepY(Direction direction, int distance, int up) {
+        return switch (direction) {
+            case UP -> distance * up;
+            case DOWN -> -distance * up;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Check if an entity's solid area would overlap an object's after the
+     * entity takes one step; an entity standing still touches nothing
+     *
+     * @param entityX   Entity world x
+     * @param entityY   Entity world y
+     * @param solidX    Entity solid area offset x
+     * @param solidY    Entity solid area offset y
+     * @param solidW    Entity solid area width
+     * @param solidH    Entity solid area height
+     * @param direction Direction of the step
+     * @param speed     Length of the step in pixels
+     * @param objX      Object world x plus its solid area offset x
+     * @param objY      Object world y plus its solid area offset y
+     * @param objW      Object solid area width
+     * @param objH      Object solid area height
+     */
+    public static boolean touchesAfterStep(int entityX, int entityY, int solidX, int solidY, int solidW, int solidH,
+            Direction direction, int speed, int objX, int objY, int objW, int objH) {
+        if (direction == Direction.DEFAULT) {
+            return false;
+        }
+        // Screen coordinates: y grows downwards
+        int left = entityX + solidX + stepX(direction, speed);
+        int top = entityY + solidY + stepY(direction, speed, -1);
+        return overlaps(left, top, solidW, solidH, objX, objY, objW, objH);
+    }
+}
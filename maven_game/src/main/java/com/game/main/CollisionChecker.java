@@ -6,12 +6,20 @@ import com.game.main.GameConfig;
 
 import com.game.entity.Direction;
 
+import com.game.object.SuperObject;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Handles collision detection between entities, tiles, and objects
  * Updated to work with larger BSP maps and camera system
+ * Entity and object solid areas are only read, never moved into world space;
+ * the list of nearby objects is the only scratch state, one per checker.
  */
 public class CollisionChecker {
     private final GamePanel gamePanel;
+    private final List<SuperObject> nearbyObjects = new ArrayList<>();
 
     public CollisionChecker(GamePanel gamePanel) {
         this.gamePanel = gamePanel;
@@ -69,82 +77,37 @@ public class CollisionChecker {
     }
 
     /**
-     * Check for collision with objects
+     * Check for collision with the objects near the entity
      * 
      * @param entity   The entity to check collision for
      * @param isPlayer Whether the entity is the player
-     * @return Index of the collided object, or 999 if no collision
+     * @return The object the player touched, or null if none (always null
+     *         for other entities)
      */
-    public int checkObject(Entity entity, boolean isPlayer) {
-        int index = 999;
-
-        for (int i = 0; i < gamePanel.getGameObjects().size(); i++) {
-            var obj = gamePanel.getGameObjects().get(i);
-            if (obj != null) {
-                // Set up collision areas
-                entity.getSolidArea().x = entity.getX() + entity.getSolidArea().x;
-                entity.getSolidArea().y = entity.getY() + entity.getSolidArea().y;
+    public SuperObject checkObject(Entity entity, boolean isPlayer) {
+        SuperObject touched = null;
+        Rectangle solid = entity.getSolidArea();
+        int speed = entity.getSpeed();
+        Direction direction = entity.getDirection();
 
-                obj.solidArea.x = obj.getWorldX() + obj.solidArea.x;
-                obj.solidArea.y = obj.getWorldY() + obj.solidArea.y;
+        // Only objects in the cells the entity could reach this step
+        gamePanel.getObjectHash().query(entity.getX() + solid.x - speed, entity.getY() + solid.y - speed,
+                solid.width + speed * 2, solid.height + speed * 2, nearbyObjects);
 
-                // Check collision based on direction
-                switch (entity.getDirection()) {
-                    case UP -> {
-                        entity.getSolidArea().y -= entity.getSpeed();
-                        if (entity.getSolidArea().intersects(obj.solidArea)) {
-                            if (obj.collision) {
-                                entity.setCollisionOn(true);
-                            }
-                            if (isPlayer) {
-                                index = i;
-                            }
-                        }
-                    }
-                    case DOWN -> {
-                        entity.getSolidArea().y += entity.getSpeed();
-                        if (entity.getSolidArea().intersects(obj.solidArea)) {
-                            if (obj.collision) {
-                                entity.setCollisionOn(true);
-                            }
-                            if (isPlayer) {
-                                index = i;
-                            }
-                        }
-                    }
-                    case LEFT -> {
-                        entity.getSolidArea().x -= entity.getSpeed();
-                        if (entity.getSolidArea().intersects(obj.solidArea)) {
-                            if (obj.collision) {
-                                entity.setCollisionOn(true);
-                            }
-                            if (isPlayer) {
-                                index = i;
-                            }
-                        }
-                    }
-                    case RIGHT -> {
-                        entity.getSolidArea().x += entity.getSpeed();
-                        if (entity.getSolidArea().intersects(obj.solidArea)) {
-                            if (obj.collision) {
-                                entity.setCollisionOn(true);
-                            }
-                            if (isPlayer) {
-                                index = i;
-                            }
-                        }
-                    }
-                    default -> {
-                    } // No collision check for default direction
+        for (int i = 0; i < nearbyObjects.size(); i++) {
+            SuperObject obj = nearbyObjects.get(i);
+            Rectangle objSolid = obj.solidArea;
+            if (Collision.touchesAfterStep(entity.getX(), entity.getY(), solid.x, solid.y, solid.width, solid.height,
+                    direction, speed, obj.getWorldX() + objSolid.x, obj.getWorldY() + objSolid.y,
+                    objSolid.width, objSolid.height)) {
+                if (obj.collision) {
+                    entity.setCollisionOn(true);
+                }
+                if (isPlayer) {
+                    touched = obj;
                 }
-
-                // Reset collision areas
-                entity.getSolidArea().x = entity.getSolidAreaDefaultX();
-                entity.getSolidArea().y = entity.getSolidAreaDefaultY();
-                obj.solidArea.x = obj.solidAreaDefaultX;
-                obj.solidArea.y = obj.solidAreaDefaultY;
             }
         }
-        return index;
+        return touched;
     }
 }
@@ -0,0 +1,64 @@
+package com.game.main;
+
+import java.awt.Rectangle;
+
+/**
+ * Screen area that changed since the last drawn frame
+ * Rectangles are merged into one bounding box; the whole screen can be
+ * marked at once when the camera moves or the state changes
+ */
+public class DirtyRegion {
+    private final Rectangle bounds = new Rectangle();
+    private boolean full = true;
+
+    /**
+     * Mark the whole screen
+     */
+    public void addAll() {
+        full = true;
+    }
+
+    /**
+     * Mark a rectangle in screen coordinates
+     */
+    public void add(int x, int y, int width, int height) {
+        if (full || width <= 0 || height <= 0) {
+            return;
+        }
+        if (bounds.isEmpty()) {
+            bounds.setBounds(x, y, width, height);
+        } else {
+            bounds.add(new Rectangle(x, y, width, height));
+        }
+    }
+
+    public void add(Rectangle rectangle) {
+        add(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+    }
+
+    /**
+     * Forget everything marked, after a frame was drawn
+     */
+    public void clear() {
+        full = false;
+        bounds.setBounds(0, 0, 0, 0);
+    }
+
+    public boolean isEmpty() {
+        return !full && bounds.isEmpty();
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Get the area to redraw, clipped to the screen
+     */
+    public Rectangle getBounds() {
+        if (full) {
+            return new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+        }
+        return bounds.intersection(new Rectangle(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT));
+    }
+}
@@ -0,0 +1,242 @@
+package com.game.main;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Zone and portal graph of a dungeon map, used for portal culling
+ *
+ * Every room of the BSP generator is one zone. Floor tiles outside rooms
+ * (corridors) are zones of a single tile each, which keeps every zone convex
+ * even where L-shaped corridors bend or cross. Portals are the tile edges
+ * shared by two different zones, such as a corridor opening into a room.
+ */
+public class DungeonGraph {
+    private int width;
+    private int height;
+    private int[] zoneOf = new int[0]; // Zone of each tile (row * width + col), -1 for walls
+    private int roomCount = 0;
+    private int zoneCount = 0;
+    private int version = 0;
+
+    // Zone bounds in tiles (inclusive)
+    private int[] zoneMinCol = new int[0];
+    private int[] zoneMinRow = new int[0];
+    private int[] zoneMaxCol = new int[0];
+    private int[] zoneMaxRow = new int[0];
+
+    // Portals grouped by zone: zone z owns portals portalStart[z] until portalStart[z + 1]
+    // Each portal is the edge (x1, y1)-(x2, y2) in tile corner coordinates
+    private int[] portalStart = new int[1];
+    private int[] portalTarget = new int[0];
+    private int[] portalX1 = new int[0];
+    private int[] portalY1 = new int[0];
+    private int[] portalX2 = new int[0];
+    private int[] portalY2 = new int[0];
+
+    /**
+     * Rebuild the graph for a map
+     *
+     * @param rooms   Rooms of the map in tile coordinates
+     * @param opacity Which tiles are walls
+     */
+    public void build(List<BSPDungeonGenerator.Room> rooms, FieldOfView opacity) {
+        width = opacity.getWidth();
+        height = opacity.getHeight();
+        zoneOf = new int[width * height];
+        Arrays.fill(zoneOf, -1);
+
+        // Rooms first, so zone ids below roomCount are rooms
+        int zones = 0;
+        for (BSPDungeonGenerator.Room room : rooms) {
+            for (int col = Math.max(0, room.getX()); col < Math.min(width, room.getX() + room.getWidth()); col++) {
+                for (int row = Math.max(0, room.getY()); row < Math.min(height, room.getY() + room.getHeight()); row++) {
+                    if (!opacity.isOpaque(col, row)) {
+                        zoneOf[row * width + col] = zones;
+                    }
+                }
+            }
+            zones++;
+        }
+        roomCount = zones;
+
+        // Every remaining floor tile is a corridor zone of its own
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int index = row * width + col;
+                if (zoneOf[index] < 0 && !opacity.isOpaque(col, row)) {
+                    zoneOf[index] = zones++;
+                }
+            }
+        }
+        zoneCount = zones;
+
+        computeBounds();
+        buildPortals();
+        version++;
+    }
+
+    private void computeBounds() {
+        zoneMinCol = new int[zoneCount];
+        zoneMinRow = new int[zoneCount];
+        zoneMaxCol = new int[zoneCount];
+        zoneMaxRow = new int[zoneCount];
+        Arrays.fill(zoneMinCol, Integer.MAX_VALUE);
+        Arrays.fill(zoneMinRow, Integer.MAX_VALUE);
+        Arrays.fill(zoneMaxCol, -1);
+        Arrays.fill(zoneMaxRow, -1);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int zone = zoneOf[row * width + col];
+                if (zone >= 0) {
+                    zoneMinCol[zone] = Math.min(zoneMinCol[zone], col);
+                    zoneMinRow[zone] = Math.min(zoneMinRow[zone], row);
+                    zoneMaxCol[zone] = Math.max(zoneMaxCol[zone], col);
+                    zoneMaxRow[zone] = Math.max(zoneMaxRow[zone], row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collect the edges between neighbouring tiles of different zones, once
+     * for each side
+     */
+    private void buildPortals() {
+        // Count first so the portals can be stored in flat arrays
+        portalStart = new int[zoneCount + 1];
+        forEachPortal((zone, target, x1, y1, x2, y2) -> portalStart[zone + 1]++);
+        for (int zone = 0; zone < zoneCount; zone++) {
+            portalStart[zone + 1] += portalStart[zone];
+        }
+
+        int portals = portalStart[zoneCount];
+        portalTarget = new int[portals];
+        portalX1 = new int[portals];
+        portalY1 = new int[portals];
+        portalX2 = new int[portals];
+        portalY2 = new int[portals];
+        int[] next = Arrays.copyOf(portalStart, zoneCount);
+        forEachPortal((zone, target, x1, y1, x2, y2) -> {
+            int portal = next[zone]++;
+            portalTarget[portal] = target;
+            portalX1[portal] = x1;
+            portalY1[portal] = y1;
+            portalX2[portal] = x2;
+            portalY2[portal] = y2;
+        });
+    }
+
+    private interface PortalVisitor {
+        void visit(int zone, int target, int x1, int y1, int x2, int y2);
+    }
+
+    private void forEachPortal(PortalVisitor visitor) {
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                int zone = zoneOf[row * width + col];
+                if (zone < 0) {
+                    continue;
+                }
+                // Edge shared with the tile to the right
+                if (col + 1 < width) {
+                    int right = zoneOf[row * width + col + 1];
+                    if (right >= 0 && right != zone) {
+                        visitor.visit(zone, right, col + 1, row, col + 1, row + 1);
+                        visitor.visit(right, zone, col + 1, row, col + 1, row + 1);
+                    }
+                }
+                // Edge shared with the next row
+                if (row + 1 < height) {
+                    int below = zoneOf[(row + 1) * width + col];
+                    if (below >= 0 && below != zone) {
+                        visitor.visit(zone, below, col, row + 1, col + 1, row + 1);
+                        visitor.visit(below, zone, col, row + 1, col + 1, row + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the zone of a tile, or -1 for walls and tiles outside the map
+     */
+    public int getZone(int col, int row) {
+        if (col < 0 || col >= width || row < 0 || row >= height) {
+            return -1;
+        }
+        return zoneOf[row * width + col];
+    }
+
+    public boolean isRoom(int zone) {
+        return zone >= 0 && zone < roomCount;
+    }
+
+    // Getters
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getZoneCount() {
+        return zoneCount;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * Get a number that changes every time the graph is rebuilt
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public int getZoneMinCol(int zone) {
+        return zoneMinCol[zone];
+    }
+
+    public int getZoneMinRow(int zone) {
+        return zoneMinRow[zone];
+    }
+
+    public int getZoneMaxCol(int zone) {
+        return zoneMaxCol[zone];
+    }
+
+    public int getZoneMaxRow(int zone) {
+        return zoneMaxRow[zone];
+    }
+
+    public int getPortalStart(int zone) {
+        return portalStart[zone];
+    }
+
+    public int getPortalEnd(int zone) {
+        return portalStart[zone + 1];
+    }
+
+    public int getPortalTarget(int portal) {
+        return portalTarget[portal];
+    }
+
+    public int getPortalX1(int portal) {
+        return portalX1[portal];
+    }
+
+    public int getPortalY1(int portal) {
+        return portalY1[portal];
+    }
+
+    public int getPortalX2(int portal) {
+        return portalX2[portal];
+    }
+
+    public int getPortalY2(int portal) {
+        return portalY2[portal];
+    }
+}
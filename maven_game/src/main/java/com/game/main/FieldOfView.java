@@ -0,0 +1,256 @@
+package com.game.main;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Tile field of view using symmetric recursive shadowcasting
+ *
+ * Each quadrant around the viewer is scanned row by row; walls split the
+ * scanned slope range and the open parts recurse into the next row. Slopes are
+ * kept as integer fractions so the result is exact and symmetric (if A sees B,
+ * B sees A). The visible set is only recomputed when the viewer moves to a
+ * different tile or the opacity changes, and every tile ever seen is kept in
+ * an explored bitset until the map is reset.
+ */
+public class FieldOfView {
+    // Quadrants: north, east, south, west (row depth goes away from the viewer)
+    private static final int[] QUADRANT_DEPTH_X = {0, 1, 0, -1};
+    private static final int[] QUADRANT_DEPTH_Y = {-1, 0, 1, 0};
+    private static final int[] QUADRANT_COL_X = {1, 0, 1, 0};
+    private static final int[] QUADRANT_COL_Y = {0, 1, 0, 1};
+
+    private int width;
+    private int height;
+    private final int radius;
+    private final int radiusSquared;
+
+    private boolean[] opaque;
+    private BitSet explored;
+
+    // A tile is visible if its stamp matches the current generation,
+    // so clearing the visible set is a single increment
+    private int[] visibleStamp;
+    private int generation = 0;
+
+    private int originCol = -1;
+    private int originRow = -1;
+    private boolean dirty = true;
+    private int version = 0;
+
+    // Bounds of the tiles touched by the last two computations
+    private int minCol, minRow, maxCol, maxRow;
+    private int changedMinCol, changedMinRow, changedMaxCol, changedMaxRow;
+
+    public FieldOfView(int width, int height, int radius) {
+        this.radius = radius;
+        this.radiusSquared = radius * radius + radius; // Slightly rounder circle
+        reset(width, height);
+    }
+
+    /**
+     * Clear opacity, visibility and explored tiles for a new map
+     */
+    public void reset(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.opaque = new boolean[width * height];
+        this.explored = new BitSet(width * height);
+        this.visibleStamp = new int[width * height];
+        this.generation = 0;
+        this.originCol = -1;
+        this.originRow = -1;
+        this.dirty = true;
+        this.version++;
+        this.minCol = 0;
+        this.minRow = 0;
+        this.maxCol = width - 1;
+        this.maxRow = height - 1;
+    }
+
+    /**
+     * Set whether a tile blocks sight
+     */
+    public void setOpaque(int col, int row, boolean value) {
+        if (!inBounds(col, row)) {
+            return;
+        }
+        int index = row * width + col;
+        if (opaque[index] != value) {
+            opaque[index] = value;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Recompute the visible tiles if the viewer changed tile or the map changed
+     *
+     * @return true if the visible set was recomputed
+     */
+    public boolean update(int col, int row) {
+        if (!dirty && col == originCol && row == originRow) {
+            return false;
+        }
+        compute(col, row);
+        return true;
+    }
+
+    /**
+     * Recompute the visible tiles from the given tile
+     */
+    public void compute(int col, int row) {
+        originCol = col;
+        originRow = row;
+        dirty = false;
+        version++;
+
+        int previousMinCol = minCol, previousMinRow = minRow;
+        int previousMaxCol = maxCol, previousMaxRow = maxRow;
+
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(visibleStamp, 0);
+            generation = 1;
+        }
+        minCol = maxCol = col;
+        minRow = maxRow = row;
+        reveal(col, row);
+
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            scan(quadrant, 1, -1, 1, 1, 1);
+        }
+
+        changedMinCol = Math.min(previousMinCol, minCol);
+        changedMinRow = Math.min(previousMinRow, minRow);
+        changedMaxCol = Math.max(previousMaxCol, maxCol);
+        changedMaxRow = Math.max(previousMaxRow, maxRow);
+    }
+
+    /**
+     * Scan one row of a quadrant between two slopes
+     * Slopes are startNum/startDen and endNum/endDen, with positive denominators
+     */
+    private void scan(int quadrant, int depth, int startNum, int startDen, int endNum, int endDen) {
+        if (depth > radius) {
+            return;
+        }
+
+        // Columns whose centre lies within the slopes, rounding ties outward
+        int minColumn = Math.floorDiv(2 * depth * startNum + startDen, 2 * startDen);
+        int maxColumn = -Math.floorDiv(-(2 * depth * endNum - endDen), 2 * endDen);
+
+        int previous = -1; // -1 none, 0 floor, 1 wall
+        for (int column = minColumn; column <= maxColumn; column++) {
+            int col = originCol + QUADRANT_DEPTH_X[quadrant] * depth + QUADRANT_COL_X[quadrant] * column;
+            int row = originRow + QUADRANT_DEPTH_Y[quadrant] * depth + QUADRANT_COL_Y[quadrant] * column;
+            boolean wall = isOpaque(col, row);
+
+            boolean symmetric = column * startDen >= depth * startNum && column * endDen <= depth * endNum;
+            if ((wall || symmetric) && column * column + depth * depth <= radiusSquared) {
+                reveal(col, row);
+            }
+
+            if (previous == 1 && !wall) {
+                // Leaving a wall, the open range starts at this tile's left edge
+                startNum = 2 * column - 1;
+                startDen = 2 * depth;
+            } else if (previous == 0 && wall) {
+                // Entering a wall, the open range before it continues one row further
+                scan(quadrant, depth + 1, startNum, startDen, 2 * column - 1, 2 * depth);
+            }
+            previous = wall ? 1 : 0;
+        }
+        if (previous == 0) {
+            scan(quadrant, depth + 1, startNum, startDen, endNum, endDen);
+        }
+    }
+
+    private void reveal(int col, int row) {
+        if (!inBounds(col, row)) {
+            return;
+        }
+        int index = row * width + col;
+        visibleStamp[index] = generation;
+        explored.set(index);
+        if (col < minCol) minCol = col;
+        if (col > maxCol) maxCol = col;
+        if (row < minRow) minRow = row;
+        if (row > maxRow) maxRow = row;
+    }
+
+    private boolean inBounds(int col, int row) {
+        return col >= 0 && col < width && row >= 0 && row < height;
+    }
+
+    /**
+     * Check if a tile blocks sight (out of bounds does)
+     */
+    public boolean isOpaque(int col, int row) {
+        return !inBounds(col, row) || opaque[row * width + col];
+    }
+
+    /**
+     * Check if a tile is currently in view
+     */
+    public boolean isVisible(int col, int row) {
+        return inBounds(col, row) && visibleStamp[row * width + col] == generation && generation != 0;
+    }
+
+    /**
+     * Check if a tile has been seen at any point on this map
+     */
+    public boolean isExplored(int col, int row) {
+        return inBounds(col, row) && explored.get(row * width + col);
+    }
+
+    // Getters
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    public BitSet getExplored() {
+        return explored;
+    }
+
+    /**
+     * Get a counter that changes every time the visible set is recomputed or reset
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Bounds covering the tiles whose visibility may have changed in the last update
+     */
+    public int getChangedMinCol() {
+        return changedMinCol;
+    }
+
+    public int getChangedMinRow() {
+        return changedMinRow;
+    }
+
+    public int getChangedMaxCol() {
+        return changedMaxCol;
+    }
+
+    public int getChangedMaxRow() {
+        return changedMaxRow;
+    }
+}
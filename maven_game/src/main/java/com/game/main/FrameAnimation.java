@@ -0,0 +1,59 @@
+package com.game.main;
+
+/**
+ * Definition of a looping frame animation: its frames and how long each is
+ * shown
+ *
+ * An animation has no playback state. The frame to draw is computed from the
+ * global AnimationClock, so one definition can be shared by every tile or
+ * entity that uses it.
+ *
+ * @param <T> The frame type (BufferedImage, TextureRegion)
+ */
+public class FrameAnimation<T> {
+    private final Object[] frames; // Copied, so callers' arrays can't change the animation
+    private final float frameDuration;
+
+    /**
+     * @param frameDuration Seconds each frame is shown
+     * @param frames        The frames in order
+     */
+    @SafeVarargs
+    public FrameAnimation(float frameDuration, T... frames) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("Animation needs at least one frame");
+        }
+        this.frameDuration = frameDuration;
+        this.frames = new Object[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            this.frames[i] = frames[i];
+        }
+    }
+
+    /**
+     * Get the frame to show at the current clock time
+     */
+    public T getFrame() {
+        return getFrame(AnimationClock.getInstance().frameIndex(frames.length, frameDuration));
+    }
+
+    /**
+     * Get the frame to show at a given time in seconds
+     */
+    public T getFrame(double time) {
+        return getFrame(AnimationClock.frameIndex(time, frames.length, frameDuration));
+    }
+
+    @SuppressWarnings("unchecked") // Only Ts are stored
+    public T getFrame(int index) {
+        return (T) frames[index];
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public float getFrameDuration() {
+        return frameDuration;
+    }
+}
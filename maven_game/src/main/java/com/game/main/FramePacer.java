@@ -0,0 +1,44 @@
+package com.game.main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for frame deadlines with sub-millisecond precision
+ *
+ * The thread is parked until shortly before the deadline and spins for the
+ * rest, since parkNanos can wake up late by the OS timer slack.
+ */
+public final class FramePacer {
+
+    private FramePacer() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Block until System.nanoTime() reaches a deadline, or the thread is interrupted
+     */
+    public static void waitUntil(long deadline) {
+        while (!Thread.currentThread().isInterrupted()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            if (remaining > GameConfig.FRAME_SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - GameConfig.FRAME_SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Park until a deadline without spinning, when waking up exactly on time
+     * doesn't matter
+     */
+    public static void parkUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
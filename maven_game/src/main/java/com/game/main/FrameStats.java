@@ -0,0 +1,136 @@
+package com.game.main;
+
+/**
+ * Frame rate and frame time statistics of the Swing game loop
+ *
+ * Frames and updates are counted over one-second windows. Frame time is the
+ * interval between the starts of consecutive drawn frames; work time is the
+ * part of it spent updating and drawing. Frames skipped because nothing
+ * changed on screen are counted separately.
+ */
+public class FrameStats {
+    private long windowStart = -1;
+    private long lastFrameStart = -1;
+
+    // Values accumulated during the current window
+    private int frames = 0;
+    private int skippedFrames = 0;
+    private int updates = 0;
+    private int frameTimes = 0;
+    private long frameTimeTotal = 0;
+    private long frameTimeMax = 0;
+    private long workTimeTotal = 0;
+
+    // Values of the last completed window
+    private int fps = 0;
+    private int ups = 0;
+    private int skipped = 0;
+    private float averageFrameMs = 0f;
+    private float worstFrameMs = 0f;
+    private float averageWorkMs = 0f;
+    private String summary = "";
+
+    /**
+     * Count one game update
+     */
+    public void countUpdate() {
+        updates++;
+    }
+
+    /**
+     * Count one rendered frame
+     *
+     * @param frameStart Time the frame started, before its updates
+     * @param frameEnd   Time the frame was drawn
+     */
+    public void countFrame(long frameStart, long frameEnd) {
+        if (windowStart < 0) {
+            windowStart = frameStart;
+        }
+        if (lastFrameStart >= 0) {
+            long frameTime = frameStart - lastFrameStart;
+            frameTimeTotal += frameTime;
+            frameTimes++;
+            frameTimeMax = Math.max(frameTimeMax, frameTime);
+        }
+        lastFrameStart = frameStart;
+        workTimeTotal += frameEnd - frameStart;
+        frames++;
+
+        publishIfDue(frameEnd);
+    }
+
+    /**
+     * Count a frame that wasn't drawn because nothing changed
+     */
+    public void countSkippedFrame(long now) {
+        if (windowStart < 0) {
+            windowStart = now;
+        }
+        lastFrameStart = -1; // Don't count the idle time as a frame time
+        skippedFrames++;
+        publishIfDue(now);
+    }
+
+    private void publishIfDue(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= GameConfig.NANOS_PER_SECOND) {
+            publish(elapsed);
+        }
+    }
+
+    private void publish(long elapsed) {
+        fps = (int) Math.round(frames * (double) GameConfig.NANOS_PER_SECOND / elapsed);
+        ups = (int) Math.round(updates * (double) GameConfig.NANOS_PER_SECOND / elapsed);
+        averageFrameMs = frameTimeTotal / (float) Math.max(1, frameTimes) / 1_000_000f;
+        worstFrameMs = frameTimeMax / 1_000_000f;
+        averageWorkMs = workTimeTotal / (float) Math.max(1, frames) / 1_000_000f;
+        skipped = skippedFrames;
+        summary = String.format("FPS %d  UPS %d  frame %.2f ms (max %.2f)  work %.2f ms  skipped %d",
+                fps, ups, averageFrameMs, worstFrameMs, averageWorkMs, skipped);
+
+        windowStart += elapsed;
+        frames = 0;
+        skippedFrames = 0;
+        updates = 0;
+        frameTimes = 0;
+        frameTimeTotal = 0;
+        frameTimeMax = 0;
+        workTimeTotal = 0;
+    }
+
+    // Getters
+    public int getFps() {
+        return fps;
+    }
+
+    public int getUps() {
+        return ups;
+    }
+
+    public float getAverageFrameMs() {
+        return averageFrameMs;
+    }
+
+    public float getWorstFrameMs() {
+        return worstFrameMs;
+    }
+
+    public float getAverageWorkMs() {
+        return averageWorkMs;
+    }
+
+    /**
+     * Get the number of frames skipped in the last window
+     */
+    public int getSkippedFrames() {
+        return skipped;
+    }
+
+    /**
+     * Get the last window's statistics as one line of text
+     */
+    public String getSummary() {
+        return summary;
+    }
+}
@@ -0,0 +1,77 @@
+package com.game.main;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import javax.swing.UIManager;
+
+/**
+ * Canvas for active rendering
+ * The game thread draws each frame straight into a BufferStrategy and shows
+ * it, instead of queueing a repaint that Swing may coalesce or drop
+ */
+public class GameCanvas extends Canvas {
+    private static final int BUFFER_COUNT = 2;
+
+    private final GamePanel gamePanel;
+    private BufferStrategy strategy;
+
+    public GameCanvas(GamePanel gamePanel) {
+        this.gamePanel = gamePanel;
+        this.setPreferredSize(new Dimension(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT));
+        this.setBackground(GameConfig.BACKGROUND_COLOR);
+        // Same font as the panel, so the menu and overlays lay out the same
+        this.setFont(UIManager.getFont("Panel.font"));
+        this.addKeyListener(gamePanel.getKeyHandler());
+        this.setFocusable(true);
+    }
+
+    /**
+     * Frames are drawn by the game thread; when the window system asks for a
+     * repaint (window exposed or resized), redraw on the next frame instead
+     */
+    @Override
+    public void paint(Graphics g) {
+        gamePanel.requestFullRedraw();
+    }
+
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    /**
+     * Draw and show one frame; does nothing until the canvas is displayable
+     */
+    public void render() {
+        if (strategy == null) {
+            if (!isDisplayable()) {
+                return;
+            }
+            createBufferStrategy(BUFFER_COUNT);
+            strategy = getBufferStrategy();
+        }
+
+        // Redraw if the back buffer was lost while drawing or showing it
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2.setColor(getBackground());
+                    g2.fillRect(0, 0, getWidth(), getHeight());
+                    g2.setFont(getFont());
+                    gamePanel.render(g2);
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Flush the window system's queue so the frame appears now
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -14,18 +14,59 @@ public final class GameConfig {
     public static final int SCREEN_WIDTH = TILE_SIZE * MAX_SCREEN_COL; // 768 pixels
     public static final int SCREEN_HEIGHT = TILE_SIZE * MAX_SCREEN_ROW; // 576 pixels
 
+    // Rendering settings
+    // Draw the world at ORIGINAL_TILE_SIZE into an offscreen buffer and upscale it once
+    public static final boolean LOW_RES_RENDERING = false;
+    // Draw the tile map as one shader-driven quad instead of cached chunks (toggle with T)
+    public static final boolean SHADER_TILEMAP = false;
+    // Rasterize the Swing world layer straight into the frame's pixels on a ForkJoinPool
+    public static final boolean SOFTWARE_RASTERIZER = false;
+    public static final int RASTER_STRIPE_HEIGHT = 32; // Rows per parallel stripe
+
+    // Camera zoom (Q/E) and level of detail
+    // Zoomed out past 2 texels per pixel, chunks are drawn from baked downsampled images
+    public static final boolean LOD_ENABLED = true;
+    public static final float ZOOM_SPEED = 2f; // Zoom factor per second while a key is held
+
+    // Field of view settings
+    // Hide tiles the player has never seen and dim the ones out of sight
+    public static final boolean FOG_OF_WAR = true;
+    public static final int FOV_RADIUS = 8; // Sight radius in tiles
+    // Skip rooms and corridors walled off from the player (the minimap still shows them)
+    public static final boolean PORTAL_CULLING = true;
+
+    // Minimap settings
+    public static final boolean MINIMAP_ENABLED = true;
+    public static final int MINIMAP_PIXELS_PER_TILE = 3;
+
+    // Particle settings
+    public static final int MAX_PARTICLES = 4096;
+    public static final float PARTICLE_DRAG = 2.5f; // Fraction of velocity lost per second
+
     // Map settings (much larger than screen for BSP dungeons)
     public static final int MAP_WIDTH = 64; // Larger map width
     public static final int MAP_HEIGHT = 48; // Larger map height
 
     // Game performance
-    public static final int TARGET_FPS = 60;
+    public static final int TARGET_FPS = 60; // Fixed game updates per second
     public static final long NANOS_PER_SECOND = 1_000_000_000L;
-    public static final long DRAW_INTERVAL = NANOS_PER_SECOND / TARGET_FPS;
+    public static final long UPDATE_INTERVAL = NANOS_PER_SECOND / TARGET_FPS;
+    public static final int MAX_RENDER_FPS = 120; // Frames drawn per second, interpolated between updates
+    public static final long RENDER_INTERVAL = NANOS_PER_SECOND / MAX_RENDER_FPS;
+    public static final long MAX_FRAME_TIME = NANOS_PER_SECOND / 4; // Longer stalls are not caught up
+    public static final long FRAME_SPIN_NANOS = 500_000; // Spin instead of parking this close to a frame
+    // Draw straight into a BufferStrategy from the game thread instead of repainting the panel
+    // (override with --active / --passive or -Dgame.rendering=active|passive)
+    public static final boolean ACTIVE_RENDERING = true;
+    public static final boolean SHOW_FRAME_STATS = true;
+    // Only redraw the screen areas that changed, and nothing when the scene is still
+    public static final boolean DIRTY_RECT_RENDERING = true;
 
-    // Animation settings
+    // Animation settings (speeds in frames at TARGET_FPS)
     public static final int SPRITE_ANIMATION_SPEED = 12;
     public static final int DEFAULT_SPRITE_ANIMATION_SPEED = 8;
+    public static final float SPRITE_FRAME_DURATION = (SPRITE_ANIMATION_SPEED + 1) / (float) TARGET_FPS;
+    public static final float DEFAULT_SPRITE_FRAME_DURATION = (DEFAULT_SPRITE_ANIMATION_SPEED + 1) / (float) TARGET_FPS;
     public static final int MAX_SPRITE_FRAMES = 4;
 
     // Player settings
@@ -38,6 +79,7 @@ public final class GameConfig {
     // Object settings
     public static final int MAX_OBJECTS = 10;
     public static final int OBJECT_SOLID_AREA_SIZE = 48;
+    public static final int OBJECT_CELL_SIZE = TILE_SIZE * 4; // Spatial hash cell size in pixels
 
     // Tile settings
     public static final int MAX_TILES = 12;
@@ -2,6 +2,7 @@ package com.game.main;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 
@@ -13,41 +14,69 @@ public class GameMenu {
     private final GamePanel gamePanel;
     private final KeyHandler keyHandler;
 
+    // Fonts and text positions, derived once from the panel font
+    private Font baseFont;
+    private Font titleFont;
+    private Font menuFont;
+    private int titleX;
+    private int startX;
+    private int exitX;
+
     public GameMenu(GamePanel gamePanel, KeyHandler keyHandler) {
         this.gamePanel = gamePanel;
         this.keyHandler = keyHandler;
     }
 
-    public void drawMenu(Graphics g) {
+    public void drawMenu(Graphics g, RenderSnapshot snapshot) {
         Graphics2D g2 = (Graphics2D) g;
+        if (!g2.getFont().equals(baseFont)) {
+            layout(g2);
+        }
 
         // Draw title
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, GameConfig.TITLE_FONT_SIZE));
-        String title = GameConfig.MENU_TITLE;
-        int titleWidth = g2.getFontMetrics().stringWidth(title);
+        g2.setFont(titleFont);
         g2.setColor(GameConfig.TEXT_COLOR);
-        g2.drawString(title, (GameConfig.SCREEN_WIDTH - titleWidth) / 2, GameConfig.SCREEN_HEIGHT / 4);
+        g2.drawString(GameConfig.MENU_TITLE, titleX, GameConfig.SCREEN_HEIGHT / 4);
 
         // Draw player preview
-        gamePanel.getPlayer().draw(g2);
+        if (snapshot.getPlayerSprite() != null) {
+            g2.drawImage(snapshot.getPlayerSprite(), snapshot.getPlayerX(), snapshot.getPlayerY(), null);
+        }
 
         // Draw start prompt
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, GameConfig.MENU_FONT_SIZE));
-        String startPrompt = GameConfig.START_PROMPT;
-        int startWidth = g2.getFontMetrics().stringWidth(startPrompt);
-        g2.drawString(startPrompt, (GameConfig.SCREEN_WIDTH - startWidth) / 2,
+        g2.setFont(menuFont);
+        g2.drawString(GameConfig.START_PROMPT, startX,
                 GameConfig.SCREEN_HEIGHT / 2 + GameConfig.TILE_SIZE * 2);
 
         // Draw exit prompt
-        String exitPrompt = GameConfig.EXIT_PROMPT;
-        int exitWidth = g2.getFontMetrics().stringWidth(exitPrompt);
-        g2.drawString(exitPrompt, (GameConfig.SCREEN_WIDTH - exitWidth) / 2,
+        g2.drawString(GameConfig.EXIT_PROMPT, exitX,
                 GameConfig.SCREEN_HEIGHT / 2 + GameConfig.TILE_SIZE * 4);
+        g2.setFont(baseFont);
+    }
 
-        // Handle input
+    /**
+     * Handle menu input, once per game update
+     */
+    public void update() {
         if (keyHandler.enterPressed) {
             gamePanel.getPlayer().setDefaultValues();
             gamePanel.setCurrentState(GameState.PLAYING);
         }
     }
+
+    /**
+     * Derive the menu fonts and measure the menu text
+     * Only runs again if the panel font changes
+     */
+    private void layout(Graphics2D g2) {
+        baseFont = g2.getFont();
+        titleFont = baseFont.deriveFont(Font.BOLD, GameConfig.TITLE_FONT_SIZE);
+        menuFont = baseFont.deriveFont(Font.BOLD, GameConfig.MENU_FONT_SIZE);
+
+        int titleWidth = g2.getFontMetrics(titleFont).stringWidth(GameConfig.MENU_TITLE);
+        titleX = (GameConfig.SCREEN_WIDTH - titleWidth) / 2;
+        FontMetrics menuMetrics = g2.getFontMetrics(menuFont);
+        startX = (GameConfig.SCREEN_WIDTH - menuMetrics.stringWidth(GameConfig.START_PROMPT)) / 2;
+        exitX = (GameConfig.SCREEN_WIDTH - menuMetrics.stringWidth(GameConfig.EXIT_PROMPT)) / 2;
+    }
 }
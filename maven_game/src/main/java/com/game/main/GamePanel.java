@@ -5,12 +5,17 @@ import com.game.entity.EntityFactory;
 import com.game.entity.PlayerFactory;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import javax.swing.JPanel;
 import com.game.object.SuperObject;
 import com.game.tile.TileManager;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,6 +29,20 @@ public class GamePanel extends JPanel implements Runnable {
     // Game loop
     private Thread gameThread;
     private volatile boolean running = false;
+    private final FrameStats frameStats = new FrameStats();
+    // Canvas drawn to directly by the game thread, null to repaint this panel instead
+    private volatile GameCanvas activeCanvas;
+    private int previousPlayerX, previousPlayerY;
+
+    // Frames for the paint thread: the game thread fills the back snapshot and
+    // publishes it, painting only ever reads the latest published one
+    private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+    private RenderSnapshot lastPublished;
+
+    // Dirty-region tracking: differences between consecutive published snapshots
+    private static final int FRAME_STATS_HEIGHT = 28;
+    private final DirtyRegion dirtyRegion = new DirtyRegion();
+    private volatile boolean fullRedrawRequested = true;
 
     // Game components
     private final KeyHandler keyHandler = new KeyHandler();
@@ -34,14 +53,43 @@ public class GamePanel extends JPanel implements Runnable {
     private final TileManager tileManager = new TileManager(this);
     private final GameMenu gameMenu = new GameMenu(this, keyHandler);
 
-    // Game objects - using ArrayList instead of fixed array
+    // Game objects, also bucketed by world cell for collision and culling
     private final List<SuperObject> gameObjects = new ArrayList<>();
+    private final List<SuperObject> gameObjectsView = Collections.unmodifiableList(gameObjects);
+    private final SpatialHash<SuperObject> objectHash = new SpatialHash<>(GameConfig.OBJECT_CELL_SIZE);
+    private final List<SuperObject> visibleObjects = new ArrayList<>();
+
+    // Low-resolution world rendering at native tile size, upscaled once per frame
+    private boolean lowResRendering = GameConfig.LOW_RES_RENDERING;
+    private BufferedImage lowResFrame;
+
+    // World drawn into the frame's pixels by the software rasterizer, null to use Graphics2D
+    private final SoftwareRasterizer softwareRasterizer =
+            GameConfig.SOFTWARE_RASTERIZER ? new SoftwareRasterizer(tileManager) : null;
+    private BufferedImage rasterFrame;
+
+    // Particles, in world coordinates (y grows downwards here)
+    private final ParticleSystem particles = new ParticleSystem(GameConfig.MAX_PARTICLES);
+    private final ParticleEmitter pickupEmitter = ParticleEffects.starPickup(-1f, System.nanoTime());
+    private final ParticleEmitter ambientEmitter = ParticleEffects.ambientDust(-1f, System.nanoTime() + 1);
+    // Colours quantised to 4 bits per channel, created on first use
+    private final Color[] particleColors = new Color[1 << 16];
+
+    // Overlay text, derived and measured once
+    private static final Color PAUSE_OVERLAY_COLOR = new Color(0, 0, 0, 128);
+    private static final String PAUSE_TEXT = "PAUSED";
+    private static final String GAME_OVER_TEXT = "GAME OVER";
+    private Font overlayBaseFont;
+    private Font overlayFont;
+    private int pauseTextX;
+    private int gameOverTextX;
 
     // Singleton instance
     private static GamePanel instance;
 
     public GamePanel() {
         setupPanel();
+        particles.setForces(0f, 0f, GameConfig.PARTICLE_DRAG);
     }
 
     private void setupPanel() {
@@ -86,164 +134,426 @@ public class GamePanel extends JPanel implements Runnable {
         }
     }
 
+    /**
+     * Game loop: fixed-timestep updates, with frames drawn in between at up
+     * to MAX_RENDER_FPS and interpolated by the time since the last update
+     *
+     * Each frame is captured into a render snapshot on this thread, so the
+     * paint thread (the EDT in passive mode) never touches live game state.
+     */
     @Override
     public void run() {
-        long lastTime = System.nanoTime();
-        long timer = 0;
-        int frames = 0;
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long nextFrame = previousTime;
 
         while (running) {
-            long currentTime = System.nanoTime();
-            long deltaTime = currentTime - lastTime;
-
-            // Update game logic
-            update();
-
-            // Render
-            repaint();
-
-            // FPS calculation
-            timer += deltaTime;
-            frames++;
-
-            if (timer >= GameConfig.NANOS_PER_SECOND) {
-                // Optional: Log FPS for debugging
-                // System.out.println("FPS: " + frames);
-                frames = 0;
-                timer = 0;
+            long frameStart = System.nanoTime();
+            // Clamp long stalls so the game doesn't fast-forward through them
+            accumulator += Math.min(frameStart - previousTime, GameConfig.MAX_FRAME_TIME);
+            previousTime = frameStart;
+
+            // Update in fixed steps
+            while (accumulator >= GameConfig.UPDATE_INTERVAL) {
+                update();
+                frameStats.countUpdate();
+                accumulator -= GameConfig.UPDATE_INTERVAL;
             }
-
-            // Cap the frame rate
-            long sleepTime = GameConfig.DRAW_INTERVAL - deltaTime;
-            if (sleepTime > 0) {
-                try {
-                    Thread.sleep(sleepTime / 1_000_000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+            RenderSnapshot snapshot = snapshots.getBack();
+            captureSnapshot(snapshot, accumulator / (float) GameConfig.UPDATE_INTERVAL);
+
+            // Nothing changed on screen: sleep until the next update instead of drawing
+            if (GameConfig.DIRTY_RECT_RENDERING && !collectDirtyRegion(snapshot)) {
+                frameStats.countSkippedFrame(frameStart);
+                nextFrame = frameStart;
+                FramePacer.parkUntil(frameStart + GameConfig.UPDATE_INTERVAL - accumulator);
+                continue;
+            }
+            snapshots.publish();
+            lastPublished = snapshot;
+
+            // Render; the canvas always redraws whole frames, the panel only the dirty area
+            GameCanvas canvas = activeCanvas;
+            if (canvas != null) {
+                canvas.render();
+            } else if (GameConfig.DIRTY_RECT_RENDERING && !dirtyRegion.isFull()) {
+                repaint(dirtyRegion.getBounds());
+            } else {
+                repaint();
+            }
+            dirtyRegion.clear();
+            frameStats.countFrame(frameStart, System.nanoTime());
+
+            // Wait for the next frame, without bursting to catch up if we fell behind
+            nextFrame = Math.max(nextFrame + GameConfig.RENDER_INTERVAL, System.nanoTime() - GameConfig.RENDER_INTERVAL);
+            FramePacer.waitUntil(nextFrame);
+            if (Thread.currentThread().isInterrupted()) {
+                break;
             }
-
-            lastTime = currentTime;
         }
     }
 
     public void update() {
+        // One fixed step per update in this loop
+        float deltaTime = 1f / GameConfig.TARGET_FPS;
+        AnimationClock.getInstance().tick(deltaTime);
+
+        if (currentState == GameState.MENU) {
+            gameMenu.update();
+        }
+
         if (currentState == GameState.PLAYING) {
             // Update player
+            previousPlayerX = player.getX();
+            previousPlayerY = player.getY();
             player.update();
 
             // Update tile manager (camera follows player)
             tileManager.update();
 
+            // Update particles
+            ambientEmitter.update(particles, deltaTime,
+                    player.getX() + GameConfig.TILE_SIZE / 2f, player.getY() + GameConfig.TILE_SIZE / 2f);
+            particles.update(deltaTime);
+
             // Check for map regeneration
             if (keyHandler.regenerateMapPressed) {
                 tileManager.regenerateMap(System.currentTimeMillis());
+                particles.clear();
                 keyHandler.regenerateMapPressed = false;
                 System.out.println("Map regenerated with new BSP seed");
             }
         }
     }
 
+    /**
+     * Capture what the next frame shows, with the camera and player placed
+     * between their last two updates
+     *
+     * @param alpha Fraction of an update step since the latest update
+     */
+    private void captureSnapshot(RenderSnapshot snapshot, float alpha) {
+        // Nothing moves while paused or in the menus
+        float playerAlpha = currentState == GameState.PLAYING ? alpha : 1f;
+        Camera camera = tileManager.getCamera();
+        int cameraX = camera.getInterpolatedX(playerAlpha);
+        int cameraY = camera.getInterpolatedY(playerAlpha);
+        snapshot.setState(currentState, GameConfig.SHOW_FRAME_STATS ? frameStats.getSummary() : "");
+        snapshot.setCamera(cameraX, cameraY);
+        snapshot.setPlayer(Camera.interpolate(previousPlayerX, player.getX(), playerAlpha),
+                Camera.interpolate(previousPlayerY, player.getY(), playerAlpha), player.getCurrentSprite());
+        snapshot.clearObjects();
+        snapshot.clearParticles();
+        if (currentState != GameState.PLAYING && currentState != GameState.PAUSED) {
+            return; // The world isn't drawn
+        }
+
+        tileManager.captureTiles(snapshot, cameraX, cameraY);
+        objectHash.query(cameraX, cameraY, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, visibleObjects);
+        for (SuperObject obj : visibleObjects) {
+            if (isOnScreen(cameraX, cameraY, obj.getWorldX(), obj.getWorldY(), GameConfig.TILE_SIZE)
+                    && isInSight(obj.getWorldX(), obj.getWorldY())) {
+                snapshot.addObject(obj.getWorldX(), obj.getWorldY(), obj.image);
+            }
+        }
+        for (int i = 0, n = particles.getCount(); i < n; i++) {
+            int size = Math.max(1, (int) particles.getSize(i));
+            int worldX = (int) particles.getX(i) - size / 2;
+            int worldY = (int) particles.getY(i) - size / 2;
+            if (isOnScreen(cameraX, cameraY, worldX, worldY, size)) {
+                int rgba = particles.getColor(i);
+                int fadedAlpha = (int) ((rgba & 0xFF) * particles.getLifeFraction(i));
+                snapshot.addParticle(worldX, worldY, size, (rgba & 0xFFFFFF00) | fadedAlpha);
+            }
+        }
+    }
+
+    private static boolean isOnScreen(int cameraX, int cameraY, int worldX, int worldY, int size) {
+        return worldX + size >= cameraX && worldX < cameraX + GameConfig.SCREEN_WIDTH
+                && worldY + size >= cameraY && worldY < cameraY + GameConfig.SCREEN_HEIGHT;
+    }
+
+    /**
+     * Work out which screen areas differ between the last published snapshot
+     * and the next one
+     *
+     * @return false if nothing does and the frame can be skipped
+     */
+    private boolean collectDirtyRegion(RenderSnapshot next) {
+        RenderSnapshot previous = lastPublished;
+        if (fullRedrawRequested || previous == null || previous.getState() != next.getState()) {
+            fullRedrawRequested = false;
+            dirtyRegion.addAll();
+            return true;
+        }
+
+        switch (next.getState()) {
+            case MENU -> {
+                // The menu preview sprite is drawn at the player's raw position
+                addPlayerRegion(previous, next, 0, 0);
+            }
+            case PLAYING -> collectWorldDirtyRegion(previous, next);
+            default -> {
+            } // Pause and game over screens don't change
+        }
+
+        if (next.getState() != GameState.MENU && !next.getFrameStats().equals(previous.getFrameStats())) {
+            dirtyRegion.add(0, 0, GameConfig.SCREEN_WIDTH, FRAME_STATS_HEIGHT);
+        }
+        return !dirtyRegion.isEmpty();
+    }
+
+    /**
+     * Everything moves with the camera; otherwise only tiles whose fog or
+     * animation frame changed, objects, the player and particles
+     */
+    private void collectWorldDirtyRegion(RenderSnapshot previous, RenderSnapshot next) {
+        if (next.getCameraX() != previous.getCameraX() || next.getCameraY() != previous.getCameraY()
+                || next.getTileVersion() != previous.getTileVersion()) {
+            dirtyRegion.addAll();
+            return;
+        }
+        int cameraX = next.getCameraX();
+        int cameraY = next.getCameraY();
+
+        // Same camera, so both masks cover the same tiles
+        for (int row = next.getMaskStartRow(); row < next.getMaskStartRow() + next.getMaskRows(); row++) {
+            for (int col = next.getMaskStartCol(); col < next.getMaskStartCol() + next.getMaskCols(); col++) {
+                if (next.getMaskState(col, row) != previous.getMaskState(col, row)) {
+                    dirtyRegion.add(col * GameConfig.TILE_SIZE - cameraX, row * GameConfig.TILE_SIZE - cameraY,
+                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+                }
+            }
+        }
+        tileManager.addChangedAnimatedTiles(dirtyRegion, previous, next);
+
+        if (!next.hasSameObjects(previous)) {
+            addObjectRegions(previous, cameraX, cameraY);
+            addObjectRegions(next, cameraX, cameraY);
+        }
+        addPlayerRegion(previous, next, cameraX, cameraY);
+        addParticleRegion(previous, cameraX, cameraY);
+        addParticleRegion(next, cameraX, cameraY);
+    }
+
+    private void addObjectRegions(RenderSnapshot snapshot, int cameraX, int cameraY) {
+        for (int i = 0; i < snapshot.getObjectCount(); i++) {
+            dirtyRegion.add(snapshot.getObjectX(i) - cameraX, snapshot.getObjectY(i) - cameraY,
+                    GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        }
+    }
+
+    /**
+     * Mark the player's old and new areas if it moved or changed sprite
+     */
+    private void addPlayerRegion(RenderSnapshot previous, RenderSnapshot next, int cameraX, int cameraY) {
+        if (next.getPlayerSprite() == previous.getPlayerSprite()
+                && next.getPlayerX() == previous.getPlayerX() && next.getPlayerY() == previous.getPlayerY()) {
+            return;
+        }
+        dirtyRegion.add(previous.getPlayerX() - cameraX, previous.getPlayerY() - cameraY,
+                GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        dirtyRegion.add(next.getPlayerX() - cameraX, next.getPlayerY() - cameraY,
+                GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Mark the bounding box of a snapshot's particles
+     */
+    private void addParticleRegion(RenderSnapshot snapshot, int cameraX, int cameraY) {
+        int count = snapshot.getParticleCount();
+        if (count == 0) {
+            return;
+        }
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int size = snapshot.getParticleSize(i);
+            minX = Math.min(minX, snapshot.getParticleX(i));
+            minY = Math.min(minY, snapshot.getParticleY(i));
+            maxX = Math.max(maxX, snapshot.getParticleX(i) + size);
+            maxY = Math.max(maxY, snapshot.getParticleY(i) + size);
+        }
+        dirtyRegion.add(minX - cameraX, minY - cameraY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Redraw the whole screen on the next frame, after changes the dirty
+     * tracking can't see (new map, window exposed)
+     */
+    public void requestFullRedraw() {
+        fullRedrawRequested = true;
+    }
+
+    /**
+     * Capture and publish a frame without the game loop, so render() can
+     * draw it offscreen; for benchmarks and tools driving update() themselves
+     *
+     * @param alpha Fraction of an update step since the latest update
+     */
+    public void publishFrame(float alpha) {
+        RenderSnapshot snapshot = snapshots.getBack();
+        captureSnapshot(snapshot, alpha);
+        snapshots.publish();
+        lastPublished = snapshot;
+        requestFullRedraw();
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
+        render((Graphics2D) g);
+    }
 
-        switch (currentState) {
-            case MENU -> gameMenu.drawMenu(g2);
-            case PLAYING -> renderGame(g2);
+    /**
+     * Draw the latest published snapshot, from paintComponent or the active
+     * rendering canvas; reads nothing else of the game state
+     */
+    public void render(Graphics2D g2) {
+        RenderSnapshot snapshot = snapshots.read();
+        if (snapshot.getState() == null) {
+            return; // Nothing published yet
+        }
+        switch (snapshot.getState()) {
+            case MENU -> gameMenu.drawMenu(g2, snapshot);
+            case PLAYING -> renderWorld(g2, snapshot);
             case PAUSED -> {
-                renderGame(g2);
+                renderWorld(g2, snapshot);
                 renderPauseOverlay(g2);
             }
             case GAME_OVER -> renderGameOver(g2);
         }
+        if (GameConfig.SHOW_FRAME_STATS && snapshot.getState() != GameState.MENU) {
+            g2.setColor(GameConfig.TEXT_COLOR);
+            g2.drawString(snapshot.getFrameStats(), 10, 20);
+        }
     }
 
-    private void renderGame(Graphics2D g2) {
-        // Draw tiles with camera system
-        tileManager.draw(g2);
+    /**
+     * Draw the world either directly, through the software rasterizer or
+     * through the low-resolution frame
+     */
+    private void renderWorld(Graphics2D g2, RenderSnapshot snapshot) {
+        if (softwareRasterizer != null && !lowResRendering) {
+            renderRasterized(g2, snapshot);
+            return;
+        }
+        if (!lowResRendering) {
+            renderGame(g2, snapshot);
+            return;
+        }
 
-        // Draw objects (need to implement camera transform for objects)
-        for (SuperObject obj : gameObjects) {
-            if (obj != null) {
-                drawObjectWithCamera(g2, obj);
-            }
+        if (lowResFrame == null) {
+            lowResFrame = new BufferedImage(GameConfig.SCREEN_WIDTH / GameConfig.SCALE,
+                    GameConfig.SCREEN_HEIGHT / GameConfig.SCALE, BufferedImage.TYPE_INT_RGB);
         }
 
-        // Draw player with camera transform
-        drawPlayerWithCamera(g2);
+        // Draw at native tile resolution: world coordinates are scaled down by SCALE
+        Graphics2D frameGraphics = lowResFrame.createGraphics();
+        frameGraphics.setColor(GameConfig.BACKGROUND_COLOR);
+        frameGraphics.fillRect(0, 0, lowResFrame.getWidth(), lowResFrame.getHeight());
+        frameGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        frameGraphics.scale(1.0 / GameConfig.SCALE, 1.0 / GameConfig.SCALE);
+        renderGame(frameGraphics, snapshot);
+        frameGraphics.dispose();
+
+        // Single nearest-neighbour upscale to the panel
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(lowResFrame, 0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, null);
     }
 
     /**
-     * Draw object with camera transformation
+     * Rasterize the world inside the clip into the raster frame and draw it
+     * with a single drawImage
      */
-    private void drawObjectWithCamera(Graphics2D g2, SuperObject obj) {
-        // Get camera for coordinate transformation
-        Camera camera = tileManager.getCamera();
+    private void renderRasterized(Graphics2D g2, RenderSnapshot snapshot) {
+        if (rasterFrame == null) {
+            rasterFrame = new BufferedImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT,
+                    BufferedImage.TYPE_INT_RGB);
+        }
+        softwareRasterizer.render(rasterFrame, snapshot, g2.getClipBounds());
+        g2.drawImage(rasterFrame, 0, 0, null);
+    }
 
-        // Convert world position to screen position
-        int screenX = camera.worldToScreenX(obj.getWorldX());
-        int screenY = camera.worldToScreenY(obj.getWorldY());
+    /**
+     * Draw the world of a snapshot, translated by its camera so everything is
+     * drawn at its world position
+     */
+    private void renderGame(Graphics2D g2, RenderSnapshot snapshot) {
+        g2.translate(-snapshot.getCameraX(), -snapshot.getCameraY());
 
-        // Only draw if visible on screen
-        if (camera.isVisible(obj.getWorldX(), obj.getWorldY(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE)) {
-            // Save original position
-            int originalX = obj.getWorldX();
-            int originalY = obj.getWorldY();
+        // Tiles, with fog of war and culling
+        tileManager.draw(g2, snapshot);
 
-            // Temporarily set screen position for drawing
-            obj.setWorldX(screenX);
-            obj.setWorldY(screenY);
+        // Objects in sight
+        for (int i = 0; i < snapshot.getObjectCount(); i++) {
+            g2.drawImage(snapshot.getObjectImage(i), snapshot.getObjectX(i), snapshot.getObjectY(i), null);
+        }
 
-            // Draw object
-            obj.draw(g2, this);
+        // Player
+        if (snapshot.getPlayerSprite() != null) {
+            g2.drawImage(snapshot.getPlayerSprite(), snapshot.getPlayerX(), snapshot.getPlayerY(), null);
+        }
 
-            // Restore original position
-            obj.setWorldX(originalX);
-            obj.setWorldY(originalY);
+        // Particles on top, as small squares faded out over their life
+        for (int i = 0; i < snapshot.getParticleCount(); i++) {
+            int size = snapshot.getParticleSize(i);
+            g2.setColor(particleColor(snapshot.getParticleColor(i)));
+            g2.fillRect(snapshot.getParticleX(i), snapshot.getParticleY(i), size, size);
         }
+
+        g2.translate(snapshot.getCameraX(), snapshot.getCameraY());
     }
 
     /**
-     * Draw player with camera transformation
+     * Get a cached colour for an RGBA8888 value, quantised to 4 bits per channel
      */
-    private void drawPlayerWithCamera(Graphics2D g2) {
-        Camera camera = tileManager.getCamera();
-
-        // Convert player world position to screen position
-        int screenX = camera.worldToScreenX(player.getX());
-        int screenY = camera.worldToScreenY(player.getY());
-
-        // Save original position
-        int originalX = player.getX();
-        int originalY = player.getY();
+    private Color particleColor(int rgba) {
+        int key = ((rgba >>> 16) & 0xF000) | ((rgba >>> 12) & 0x0F00) | ((rgba >>> 8) & 0x00F0) | ((rgba >>> 4) & 0x000F);
+        Color color = particleColors[key];
+        if (color == null) {
+            color = new Color((key >>> 12) * 17, (key >>> 8 & 0xF) * 17, (key >>> 4 & 0xF) * 17, (key & 0xF) * 17);
+            particleColors[key] = color;
+        }
+        return color;
+    }
 
-        // Temporarily set screen position for drawing
-        player.setX(screenX);
-        player.setY(screenY);
+    /**
+     * Play the pickup effect for an object the player collected
+     */
+    public void objectPickedUp(SuperObject obj) {
+        pickupEmitter.burst(particles, obj.getWorldX() + GameConfig.TILE_SIZE / 2f,
+                obj.getWorldY() + GameConfig.TILE_SIZE / 2f);
+    }
 
-        // Draw player
-        player.draw(g2);
+    public ParticleSystem getParticles() {
+        return particles;
+    }
 
-        // Restore original position
-        player.setX(originalX);
-        player.setY(originalY);
+    /**
+     * Check if the tile under a world position is in the player's view and
+     * not walled off by the dungeon's portals
+     */
+    private boolean isInSight(int worldX, int worldY) {
+        int col = (worldX + GameConfig.TILE_SIZE / 2) / GameConfig.TILE_SIZE;
+        int row = (worldY + GameConfig.TILE_SIZE / 2) / GameConfig.TILE_SIZE;
+        if (GameConfig.PORTAL_CULLING && !tileManager.getPortalCuller().isTileVisible(col, row)) {
+            return false;
+        }
+        return !GameConfig.FOG_OF_WAR || tileManager.getFieldOfView().isVisible(col, row);
     }
 
     private void renderPauseOverlay(Graphics2D g2) {
         // Draw semi-transparent overlay
-        g2.setColor(new Color(0, 0, 0, 128));
+        g2.setColor(PAUSE_OVERLAY_COLOR);
         g2.fillRect(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
 
         // Draw pause text
+        layoutOverlayText(g2);
         g2.setColor(Color.WHITE);
-        g2.setFont(g2.getFont().deriveFont(48f));
-        String pauseText = "PAUSED";
-        int textX = GameConfig.SCREEN_WIDTH / 2 - g2.getFontMetrics().stringWidth(pauseText) / 2;
-        int textY = GameConfig.SCREEN_HEIGHT / 2;
-        g2.drawString(pauseText, textX, textY);
+        g2.setFont(overlayFont);
+        g2.drawString(PAUSE_TEXT, pauseTextX, GameConfig.SCREEN_HEIGHT / 2);
     }
 
     private void renderGameOver(Graphics2D g2) {
@@ -251,12 +561,24 @@ public class GamePanel extends JPanel implements Runnable {
         g2.setColor(Color.BLACK);
         g2.fillRect(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
 
+        layoutOverlayText(g2);
         g2.setColor(Color.WHITE);
-        g2.setFont(g2.getFont().deriveFont(48f));
-        String gameOverText = "GAME OVER";
-        int textX = GameConfig.SCREEN_WIDTH / 2 - g2.getFontMetrics().stringWidth(gameOverText) / 2;
-        int textY = GameConfig.SCREEN_HEIGHT / 2;
-        g2.drawString(gameOverText, textX, textY);
+        g2.setFont(overlayFont);
+        g2.drawString(GAME_OVER_TEXT, gameOverTextX, GameConfig.SCREEN_HEIGHT / 2);
+    }
+
+    /**
+     * Derive the overlay font and measure the overlay text when the panel font changes
+     */
+    private void layoutOverlayText(Graphics2D g2) {
+        if (g2.getFont().equals(overlayBaseFont)) {
+            return;
+        }
+        overlayBaseFont = g2.getFont();
+        overlayFont = overlayBaseFont.deriveFont(48f);
+        FontMetrics metrics = g2.getFontMetrics(overlayFont);
+        pauseTextX = GameConfig.SCREEN_WIDTH / 2 - metrics.stringWidth(PAUSE_TEXT) / 2;
+        gameOverTextX = GameConfig.SCREEN_WIDTH / 2 - metrics.stringWidth(GAME_OVER_TEXT) / 2;
     }
 
     // Getters and setters
@@ -272,6 +594,30 @@ public class GamePanel extends JPanel implements Runnable {
         return player;
     }
 
+    public boolean isLowResRendering() {
+        return lowResRendering;
+    }
+
+    public void setLowResRendering(boolean lowResRendering) {
+        this.lowResRendering = lowResRendering;
+    }
+
+    /**
+     * Draw frames into a canvas from the game thread instead of repainting
+     * this panel; call once the canvas is displayable
+     */
+    public void setActiveCanvas(GameCanvas activeCanvas) {
+        this.activeCanvas = activeCanvas;
+    }
+
+    public KeyHandler getKeyHandler() {
+        return keyHandler;
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
     public TileManager getTileManager() {
         return tileManager;
     }
@@ -280,8 +626,41 @@ public class GamePanel extends JPanel implements Runnable {
         return collisionChecker;
     }
 
+    /**
+     * Get the game objects; add, move and remove them through this panel so
+     * the spatial hash stays in step
+     */
     public List<SuperObject> getGameObjects() {
-        return gameObjects;
+        return gameObjectsView;
+    }
+
+    public SpatialHash<SuperObject> getObjectHash() {
+        return objectHash;
+    }
+
+    /**
+     * Spawn an object at its current world position
+     */
+    public void addObject(SuperObject obj) {
+        gameObjects.add(obj);
+        objectHash.insert(obj, obj.getWorldX(), obj.getWorldY(), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Move an object to a new world position
+     */
+    public void moveObject(SuperObject obj, int worldX, int worldY) {
+        obj.setWorldX(worldX);
+        obj.setWorldY(worldY);
+        objectHash.move(obj, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+    }
+
+    /**
+     * Take an object out of the world, e.g. once it's picked up
+     */
+    public void removeObject(SuperObject obj) {
+        gameObjects.remove(obj);
+        objectHash.remove(obj);
     }
 
     // Legacy method for compatibility
@@ -291,9 +670,10 @@ public class GamePanel extends JPanel implements Runnable {
 
     public void setObjArray(SuperObject[] objArray) {
         gameObjects.clear();
+        objectHash.clear();
         for (SuperObject obj : objArray) {
             if (obj != null) {
-                gameObjects.add(obj);
+                addObject(obj);
             }
         }
     }
@@ -2,8 +2,8 @@ package com.game.main;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.game.libgdx.LibGDXGame;
+import com.game.libgdx.TextLabel;
 import com.game.main.LibGDXKeyHandler;
 import com.badlogic.gdx.Gdx;
 
@@ -14,7 +14,19 @@ public class LibGDXGameMenu {
 
     private final LibGDXGame game;
     private final LibGDXKeyHandler keyHandler;
-    private final GlyphLayout layout = new GlyphLayout();
+    private final TextLabel title = new TextLabel(GameConfig.MENU_TITLE);
+    private final TextLabel startPrompt = new TextLabel(GameConfig.START_PROMPT);
+    private final TextLabel exitPrompt = new TextLabel(GameConfig.EXIT_PROMPT);
+    private final TextLabel regeneratePrompt = new TextLabel(GameConfig.REGENERATE_PROMPT);
+
+    // Layout positions, recomputed when the window size changes
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+    private float titleX, titleY;
+    private float playerX, playerY;
+    private float startX, startY;
+    private float exitX, exitY;
+    private float regenX, regenY;
 
     public LibGDXGameMenu(LibGDXGame game, LibGDXKeyHandler keyHandler) {
         this.game = game;
@@ -22,37 +34,43 @@ public class LibGDXGameMenu {
     }
 
     public void render(SpriteBatch spriteBatch, BitmapFont font) {
-        font.setColor(1, 1, 1, 1);
-        GlyphLayout layout = new GlyphLayout();
         int screenWidth = Gdx.graphics.getWidth();
         int screenHeight = Gdx.graphics.getHeight();
+        if (screenWidth != layoutWidth || screenHeight != layoutHeight) {
+            layout(font, screenWidth, screenHeight);
+        }
+        title.draw(spriteBatch, font, titleX, titleY);
+        game.getPlayer().renderAt(spriteBatch, playerX, playerY);
+        startPrompt.draw(spriteBatch, font, startX, startY);
+        exitPrompt.draw(spriteBatch, font, exitX, exitY);
+        regeneratePrompt.draw(spriteBatch, font, regenX, regenY);
+    }
+
+    /**
+     * Force the menu to be laid out again on the next frame
+     */
+    public void resize() {
+        layoutWidth = -1;
+        layoutHeight = -1;
+    }
+
+    private void layout(BitmapFont font, int screenWidth, int screenHeight) {
         // Título centrado
-        String title = GameConfig.MENU_TITLE;
-        layout.setText(font, title);
-        float titleX = (screenWidth - layout.width) / 2f;
-        float titleY = screenHeight * 0.7f;
-        font.draw(spriteBatch, layout, titleX, titleY);
+        titleX = (screenWidth - title.getWidth(font)) / 2f;
+        titleY = screenHeight * 0.7f;
         // Preview del jugador centrado debajo del título
-        float playerX = (screenWidth - GameConfig.TILE_SIZE) / 2f;
-        float playerY = titleY - GameConfig.TILE_SIZE * 2;
-        game.getPlayer().renderAt(spriteBatch, playerX, playerY);
+        playerX = (screenWidth - GameConfig.TILE_SIZE) / 2f;
+        playerY = titleY - GameConfig.TILE_SIZE * 2;
         // Start prompt centrado
-        String startPrompt = GameConfig.START_PROMPT;
-        layout.setText(font, startPrompt);
-        float startX = (screenWidth - layout.width) / 2f;
-        float startY = playerY - GameConfig.TILE_SIZE * 2;
-        font.draw(spriteBatch, layout, startX, startY);
+        startX = (screenWidth - startPrompt.getWidth(font)) / 2f;
+        startY = playerY - GameConfig.TILE_SIZE * 2;
         // Exit prompt centrado
-        String exitPrompt = GameConfig.EXIT_PROMPT;
-        layout.setText(font, exitPrompt);
-        float exitX = (screenWidth - layout.width) / 2f;
-        float exitY = startY - GameConfig.TILE_SIZE * 1.5f;
-        font.draw(spriteBatch, layout, exitX, exitY);
+        exitX = (screenWidth - exitPrompt.getWidth(font)) / 2f;
+        exitY = startY - GameConfig.TILE_SIZE * 1.5f;
         // Regenerate prompt centrado
-        String regeneratePrompt = GameConfig.REGENERATE_PROMPT;
-        layout.setText(font, regeneratePrompt);
-        float regenX = (screenWidth - layout.width) / 2f;
-        float regenY = exitY - GameConfig.TILE_SIZE * 1.5f;
-        font.draw(spriteBatch, layout, regenX, regenY);
+        regenX = (screenWidth - regeneratePrompt.getWidth(font)) / 2f;
+        regenY = exitY - GameConfig.TILE_SIZE * 1.5f;
+        layoutWidth = screenWidth;
+        layoutHeight = screenHeight;
     }
-}
\ No newline at end of file
+}
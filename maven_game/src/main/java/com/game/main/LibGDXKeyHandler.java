@@ -9,6 +9,8 @@ import com.badlogic.gdx.Input;
  */
 public class LibGDXKeyHandler {
     private boolean upPressed, downPressed, leftPressed, rightPressed, enterPressed, regenerateMapPressed;
+    private boolean toggleTileRendererPressed;
+    private boolean zoomInPressed, zoomOutPressed;
 
     /**
      * Update input state - should be called every frame
@@ -19,6 +21,8 @@ public class LibGDXKeyHandler {
         downPressed = Gdx.input.isKeyPressed(Input.Keys.S);
         leftPressed = Gdx.input.isKeyPressed(Input.Keys.A);
         rightPressed = Gdx.input.isKeyPressed(Input.Keys.D);
+        zoomInPressed = Gdx.input.isKeyPressed(Input.Keys.E);
+        zoomOutPressed = Gdx.input.isKeyPressed(Input.Keys.Q);
 
         // Check for just pressed keys (for single press events)
         if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
@@ -29,6 +33,10 @@ public class LibGDXKeyHandler {
             regenerateMapPressed = true;
         }
 
+        if (Gdx.input.isKeyJustPressed(Input.Keys.T)) {
+            toggleTileRendererPressed = true;
+        }
+
         // Handle exit
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             Gdx.app.exit();
@@ -52,6 +60,14 @@ public class LibGDXKeyHandler {
         return rightPressed;
     }
 
+    public boolean isZoomInPressed() {
+        return zoomInPressed;
+    }
+
+    public boolean isZoomOutPressed() {
+        return zoomOutPressed;
+    }
+
     public boolean isEnterPressed() {
         return enterPressed;
     }
@@ -60,6 +76,10 @@ public class LibGDXKeyHandler {
         return regenerateMapPressed;
     }
 
+    public boolean isToggleTileRendererPressed() {
+        return toggleTileRendererPressed;
+    }
+
     // Setters for resetting single-press events
     public void setEnterPressed(boolean enterPressed) {
         this.enterPressed = enterPressed;
@@ -68,4 +88,8 @@ public class LibGDXKeyHandler {
     public void setRegenerateMapPressed(boolean regenerateMapPressed) {
         this.regenerateMapPressed = regenerateMapPressed;
     }
+
+    public void setToggleTileRendererPressed(boolean toggleTileRendererPressed) {
+        this.toggleTileRendererPressed = toggleTileRendererPressed;
+    }
 }
\ No newline at end of file
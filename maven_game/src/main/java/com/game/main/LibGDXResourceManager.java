@@ -1,14 +1,29 @@
 package com.game.main;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import java.io.File;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.jar.JarEntry;
 
 /**
  * LibGDX version of ResourceManager that uses LibGDX's Texture system
  * Replaces the Swing-based ResourceManager for better GPU performance
+ *
+ * Sprites, tiles and objects are packed into shared atlas pages so the
+ * whole scene can be drawn without SpriteBatch flushing on texture switches
  */
 public class LibGDXResourceManager {
     private static LibGDXResourceManager instance;
@@ -20,6 +35,16 @@ public class LibGDXResourceManager {
     public static final String TILES_PATH = "tiles/";
     public static final String OBJECTS_PATH = "objects/";
 
+    // Atlas settings
+    private static final int ATLAS_PAGE_SIZE = 512;
+    private static final int ATLAS_PADDING = 2; // Duplicated edge pixels stop bleeding between regions
+    private static final String[] ATLAS_DIRECTORIES = { ASSETS_PATH, TILES_PATH, OBJECTS_PATH };
+    private static final String IMAGE_EXTENSION = ".png";
+    private static final String WHITE_REGION = "white";
+
+    private PixmapPacker packer;
+    private TextureAtlas atlas;
+
     private LibGDXResourceManager() {
         textureCache = new HashMap<>();
         regionCache = new HashMap<>();
@@ -56,61 +81,216 @@ public class LibGDXResourceManager {
     }
 
     /**
-     * Loads a player sprite texture
+     * Loads a player sprite region from the atlas
      * 
      * @param direction The direction (up, down, left, right, default)
      * @param frame     The animation frame (1-4)
-     * @return The loaded Texture
+     * @return The atlas region
      */
-    public Texture loadPlayerSprite(String direction, int frame) {
+    public TextureRegion loadPlayerSprite(String direction, int frame) {
         String path = ASSETS_PATH + "sprite_player_" + direction + frame + ".png";
-        return loadTexture(path);
+        return getRegion(path);
     }
 
     /**
-     * Loads a tile texture
+     * Loads a tile region from the atlas
      * 
      * @param tileName The name of the tile file
-     * @return The loaded Texture
+     * @return The atlas region
+     */
+    public TextureRegion loadTile(String tileName) {
+        String path = TILES_PATH + tileName + ".png";
+        return getRegion(path);
+    }
+
+    /**
+     * Loads the pixels of a tile image, for building GPU lookup textures
+     * The caller owns the returned Pixmap and must dispose it
+     * 
+     * @param tileName The name of the tile file
+     * @return The tile Pixmap, or null if it cannot be loaded
      */
-    public Texture loadTile(String tileName) {
+    public Pixmap loadTilePixmap(String tileName) {
         String path = TILES_PATH + tileName + ".png";
-        return loadTexture(path);
+        try {
+            return new Pixmap(Gdx.files.internal(path));
+        } catch (Exception e) {
+            System.err.println("Could not load tile pixels: " + path);
+            e.printStackTrace();
+            return null;
+        }
     }
 
     /**
-     * Loads an object texture
+     * Loads an object region from the atlas
      * 
      * @param objectName The name of the object file
-     * @return The loaded Texture
+     * @return The atlas region
      */
-    public Texture loadObject(String objectName) {
+    public TextureRegion loadObject(String objectName) {
         String path = OBJECTS_PATH + objectName + ".png";
-        return loadTexture(path);
+        return getRegion(path);
     }
 
     /**
-     * Gets a TextureRegion for a texture (useful for sprite sheets)
+     * Gets the atlas region for an image, packing it on demand if it was not
+     * part of the startup set
      * 
-     * @param path The path to the texture
-     * @return The TextureRegion
+     * @param path The path to the image
+     * @return The TextureRegion, or null if the image cannot be loaded
      */
     public TextureRegion getRegion(String path) {
-        if (regionCache.containsKey(path)) {
-            return regionCache.get(path);
+        TextureRegion region = regionCache.get(path);
+        if (region != null) {
+            return region;
         }
 
-        Texture texture = loadTexture(path);
-        if (texture != null) {
-            TextureRegion region = new TextureRegion(texture);
+        if (atlas == null) {
+            packAtlas();
+        }
+
+        region = atlas.findRegion(path);
+        if (region == null && packImage(path)) {
+            packer.updateTextureAtlas(atlas, Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+            region = atlas.findRegion(path);
+        }
+
+        if (region != null) {
             regionCache.put(path, region);
-            return region;
         }
-        return null;
+        return region;
     }
 
     /**
-     * Clears the texture cache to free memory
+     * Pack every player sprite, tile and object image into the atlas
+     */
+    private void packAtlas() {
+        packer = new PixmapPacker(ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, Pixmap.Format.RGBA8888, ATLAS_PADDING, true);
+
+        for (String directory : ATLAS_DIRECTORIES) {
+            for (String path : listImages(directory)) {
+                packImage(path);
+            }
+        }
+
+        // Plain white block for tinted quads (particles, markers)
+        Pixmap white = new Pixmap(4, 4, Pixmap.Format.RGBA8888);
+        white.setColor(0xFFFFFFFF);
+        white.fill();
+        packer.pack(WHITE_REGION, white);
+        white.dispose();
+
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        System.out.println("Packed " + atlas.getRegions().size + " images into "
+                + atlas.getTextures().size + " atlas page(s)");
+    }
+
+    /**
+     * List the images in a resource directory, sorted so the atlas layout is
+     * the same on every run
+     * Looks in the working directory first, then on the classpath, which may
+     * be a folder or a jar.
+     * 
+     * @param directory The directory path, ending in a slash
+     * @return The image paths, or an empty list if the directory cannot be read
+     */
+    static List<String> listImages(String directory) {
+        List<String> paths = new ArrayList<>();
+        try {
+            FileHandle handle = Gdx.files.internal(directory);
+            if (handle.isDirectory()) {
+                for (FileHandle file : handle.list(IMAGE_EXTENSION)) {
+                    paths.add(directory + file.name());
+                }
+            } else {
+                listClasspathImages(directory, paths);
+            }
+        } catch (Exception e) {
+            System.err.println("Could not list images in: " + directory);
+            e.printStackTrace();
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+
+    private static void listClasspathImages(String directory, List<String> paths) throws Exception {
+        URL url = LibGDXResourceManager.class.getClassLoader().getResource(directory);
+        if (url == null) {
+            System.err.println("Image directory not found: " + directory);
+            return;
+        }
+
+        if ("jar".equals(url.getProtocol())) {
+            // Leave the JarFile open: it's shared through the URL cache
+            JarURLConnection connection = (JarURLConnection) url.openConnection();
+            Enumeration<JarEntry> entries = connection.getJarFile().entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith(directory) && name.endsWith(IMAGE_EXTENSION)
+                        && name.indexOf('/', directory.length()) < 0) {
+                    paths.add(name);
+                }
+            }
+        } else {
+            String[] names = new File(url.toURI()).list();
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                if (name.endsWith(IMAGE_EXTENSION)) {
+                    paths.add(directory + name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pack a single image into the atlas under its path
+     * 
+     * @return true if the image was packed
+     */
+    private boolean packImage(String path) {
+        try {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(path));
+            packer.pack(path, pixmap);
+            pixmap.dispose();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Could not pack image: " + path);
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Gets a plain white region from the atlas, for drawing tinted quads
+     * without switching textures
+     * 
+     * @return The white TextureRegion
+     */
+    public TextureRegion getWhiteRegion() {
+        TextureRegion region = regionCache.get(WHITE_REGION);
+        if (region == null) {
+            region = getAtlas().findRegion(WHITE_REGION);
+            regionCache.put(WHITE_REGION, region);
+        }
+        return region;
+    }
+
+    /**
+     * Gets the texture atlas, packing it first if needed
+     * 
+     * @return The shared TextureAtlas
+     */
+    public TextureAtlas getAtlas() {
+        if (atlas == null) {
+            packAtlas();
+        }
+        return atlas;
+    }
+
+    /**
+     * Clears the texture cache and atlas to free memory
      */
     public void clearCache() {
         for (Texture texture : textureCache.values()) {
@@ -118,15 +298,24 @@ public class LibGDXResourceManager {
         }
         textureCache.clear();
         regionCache.clear();
+
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+        if (packer != null) {
+            packer.dispose();
+            packer = null;
+        }
     }
 
     /**
      * Gets the current cache size
      * 
-     * @return Number of cached textures
+     * @return Number of cached textures and atlas regions
      */
     public int getCacheSize() {
-        return textureCache.size();
+        return textureCache.size() + regionCache.size();
     }
 
     /**
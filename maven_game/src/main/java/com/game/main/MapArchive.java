@@ -0,0 +1,888 @@
+package com.game.main;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only archive for generated maps
+ *
+ * Maps are run-length encoded and appended to a small number of large segment
+ * files instead of one text file per map. A memory-mapped open-addressing hash
+ * table maps each seed to the segment and offset of its latest record, so any
+ * map can be fetched with a single probe and a single read.
+ *
+ * Appends are safe from multiple generator threads: space is reserved under a
+ * short lock and the record is then written with a positional write.
+ *
+ * Compaction writes a new generation directory beside the live files and
+ * switches to it by atomically replacing a one-line manifest, so a crash at
+ * any point leaves either the old or the new generation intact. The index is
+ * flagged as clean only on close; an index left dirty by a crash is rebuilt
+ * from the segments on the next open.
+ */
+public class MapArchive implements Closeable {
+    // File layout
+    private static final String SEGMENT_PREFIX = "segment_";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final String INDEX_FILE = "index.idx";
+    private static final String MANIFEST_FILE = "CURRENT"; // Names the live generation directory
+    private static final String MANIFEST_TEMP_FILE = "CURRENT.tmp";
+    private static final String GENERATION_PREFIX = "gen_";
+    public static final long DEFAULT_SEGMENT_SIZE = 256L * 1024 * 1024;
+
+    // Record layout: magic, seed, description length, payload length
+    private static final int RECORD_MAGIC = 0x4D415052; // "MAPR"
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 4 + 4;
+    private static final int RESYNC_BLOCK_SIZE = 64 * 1024; // Bytes scanned per read when skipping a bad record
+    private static final int MAX_MAP_DIMENSION = 1 << 14; // Columns or rows; far above any generated map
+    private static final long MAX_MAP_CELLS = 1L << 24; // 64 MB of tiles
+
+    // Index layout: magic, version, capacity, size and clean flag, followed by fixed-size slots
+    private static final int INDEX_MAGIC = 0x4D415049; // "MAPI"
+    private static final int INDEX_VERSION = 2;
+    private static final int INDEX_HEADER_SIZE = 24;
+    private static final int INDEX_CLEAN_OFFSET = 16;
+    private static final int SLOT_SIZE = 24;
+    private static final int SLOT_USED = 1;
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final Path directory;
+    private final long segmentSize;
+    private Path dataDirectory; // The live generation: the archive directory itself or a gen_ directory
+
+    // Appends and reads hold the read side, compaction holds the write side
+    private final ReentrantReadWriteLock archiveLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+
+    private final List<FileChannel> segments = new ArrayList<>();
+    private long writeOffset;
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int indexCapacity;
+    private int indexSize;
+
+    public MapArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MapArchive(Path directory, long segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_SIZE || segmentSize > OFFSET_MASK) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        open();
+    }
+
+    /**
+     * Open the live generation's segments and index, rebuilding the index if
+     * it is missing or was not closed cleanly
+     */
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        dataDirectory = resolveGeneration();
+
+        for (int id = 0;; id++) {
+            Path segment = segmentPath(id);
+            if (!Files.exists(segment)) {
+                break;
+            }
+            segments.add(FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+        if (segments.isEmpty()) {
+            segments.add(openNewSegment(0));
+        }
+        writeOffset = segments.get(segments.size() - 1).size();
+
+        boolean clean = mapIndex(dataDirectory.resolve(INDEX_FILE));
+        // Dirty until closed, so records appended before a crash are found again
+        index.putInt(INDEX_CLEAN_OFFSET, 0);
+        index.force();
+        if (!clean) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Find the live generation from the manifest, and delete whatever an
+     * earlier compaction left behind
+     */
+    private Path resolveGeneration() throws IOException {
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return directory; // Never compacted: the files live in the archive directory
+        }
+        String name = new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8).trim();
+        Path generation = directory.resolve(name);
+        if (!name.startsWith(GENERATION_PREFIX) || !Files.isDirectory(generation)) {
+            throw new IOException("Corrupt map archive manifest: " + manifest);
+        }
+        deleteStaleGenerations(name);
+        return generation;
+    }
+
+    /**
+     * Delete the files of every generation except the live one; anything that
+     * can't be deleted yet is retried on the next open
+     */
+    private void deleteStaleGenerations(String liveName) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                try {
+                    if (name.startsWith(GENERATION_PREFIX) && !name.equals(liveName)) {
+                        deleteDirectory(file);
+                    } else if (name.startsWith(SEGMENT_PREFIX) || name.equals(INDEX_FILE)
+                            || name.equals(MANIFEST_TEMP_FILE)) {
+                        Files.delete(file);
+                    }
+                } catch (IOException e) {
+                    // Still open or mapped, e.g. on Windows until the old mapping is collected
+                    System.err.println("Could not delete old map archive file " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error listing map archive " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Append a map to the archive, replacing any earlier record for the same seed
+     *
+     * @param seed        The seed used for generation
+     * @param description Additional description of the generation
+     * @param map         The 2D array representing the map
+     */
+    public void append(long seed, String description, int[][] map) throws IOException {
+        byte[] desc = description == null ? new byte[0] : description.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = encodeMap(map);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + desc.length + payload.length);
+        record.putInt(RECORD_MAGIC).putLong(seed).putInt(desc.length).putInt(payload.length);
+        record.put(desc).put(payload).flip();
+
+        archiveLock.readLock().lock();
+        try {
+            appendRecord(seed, record);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reserve space for a record, write it and publish it in the index
+     */
+    private void appendRecord(long seed, ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if (length > segmentSize) {
+            throw new IOException("Record of " + length + " bytes does not fit in a segment");
+        }
+
+        int segmentId;
+        long offset;
+        FileChannel channel;
+        synchronized (appendLock) {
+            if (writeOffset + length > segmentSize) {
+                segments.add(openNewSegment(segments.size()));
+                writeOffset = 0;
+            }
+            segmentId = segments.size() - 1;
+            channel = segments.get(segmentId);
+            offset = writeOffset;
+            writeOffset += length;
+        }
+
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+
+        putIndex(seed, ((long) segmentId << OFFSET_BITS) | offset, length);
+    }
+
+    /**
+     * Read the latest map stored for a seed
+     *
+     * @param seed The seed used for generation
+     * @return The decoded map, or null if the seed is not archived
+     */
+    public int[][] get(long seed) throws IOException {
+        ByteBuffer record = readRecord(seed);
+        if (record == null) {
+            return null;
+        }
+        int descLength = record.getInt(12);
+        record.position(RECORD_HEADER_SIZE + descLength);
+        return decodeMap(record);
+    }
+
+    /**
+     * Read the description stored with a seed
+     *
+     * @param seed The seed used for generation
+     * @return The description, or null if the seed is not archived
+     */
+    public String getDescription(long seed) throws IOException {
+        ByteBuffer record = readRecord(seed);
+        if (record == null) {
+            return null;
+        }
+        int descLength = record.getInt(12);
+        return new String(record.array(), RECORD_HEADER_SIZE, descLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check whether a seed is present in the archive
+     */
+    public boolean contains(long seed) {
+        archiveLock.readLock().lock();
+        indexLock.readLock().lock();
+        try {
+            return findSlot(seed) >= 0;
+        } finally {
+            indexLock.readLock().unlock();
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of distinct seeds in the archive
+     */
+    public int size() {
+        archiveLock.readLock().lock();
+        indexLock.readLock().lock();
+        try {
+            return indexSize;
+        } finally {
+            indexLock.readLock().unlock();
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of segment files
+     */
+    public int getSegmentCount() {
+        synchronized (appendLock) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Get the directory holding the live segments and index
+     */
+    public Path getDataDirectory() {
+        archiveLock.readLock().lock();
+        try {
+            return dataDirectory;
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Look a seed up and read its record, holding the archive lock
+     * throughout so compaction can't move the record in between
+     */
+    private ByteBuffer readRecord(long seed) throws IOException {
+        archiveLock.readLock().lock();
+        try {
+            long location;
+            int length;
+            indexLock.readLock().lock();
+            try {
+                int slot = findSlot(seed);
+                if (slot < 0) {
+                    return null;
+                }
+                location = index.getLong(slotOffset(slot) + 8);
+                length = index.getInt(slotOffset(slot) + 16);
+            } finally {
+                indexLock.readLock().unlock();
+            }
+            return readRecordAt(location, length);
+        } finally {
+            archiveLock.readLock().unlock();
+        }
+    }
+
+    private ByteBuffer readRecordAt(long location, int length) throws IOException {
+        int segmentId = (int) (location >>> OFFSET_BITS);
+        long position = location & OFFSET_MASK;
+        FileChannel channel;
+        synchronized (appendLock) {
+            channel = segments.get(segmentId);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        readFully(channel, record, position);
+        record.flip();
+        if (record.getInt(0) != RECORD_MAGIC) {
+            throw new IOException("Corrupt record in segment " + segmentId + " at " + position);
+        }
+        return record;
+    }
+
+    /**
+     * Rewrite the archive so that only the latest record of each seed is kept
+     *
+     * The records are copied into the next generation directory, which is
+     * made live by atomically replacing the manifest; only then is the old
+     * generation deleted.
+     */
+    public void compact() throws IOException {
+        archiveLock.writeLock().lock();
+        try {
+            // Past any generation a failed compaction left behind, which may not be deletable yet
+            String nextName = String.format("%s%05d", GENERATION_PREFIX, latestGenerationNumber() + 1);
+            Path nextDirectory = directory.resolve(nextName);
+
+            try (MapArchive compacted = new MapArchive(nextDirectory, segmentSize)) {
+                for (int slot = 0; slot < indexCapacity; slot++) {
+                    int offset = slotOffset(slot);
+                    if (index.getInt(offset + 20) != SLOT_USED) {
+                        continue;
+                    }
+                    long seed = index.getLong(offset);
+                    ByteBuffer record = readRecordAt(index.getLong(offset + 8), index.getInt(offset + 16));
+                    compacted.appendRecord(seed, record);
+                }
+                compacted.sync();
+            }
+
+            writeManifest(nextName);
+            closeFiles();
+            open(); // Switches to the new generation and deletes the old one
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Point the manifest at a generation in a single atomic rename
+     */
+    private void writeManifest(String generationName) throws IOException {
+        Path temp = directory.resolve(MANIFEST_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(generationName.getBytes(StandardCharsets.UTF_8));
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Get the highest generation number in the archive directory, 0 if
+     * there are no generation directories
+     */
+    private int latestGenerationNumber() throws IOException {
+        int latest = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, GENERATION_PREFIX + "*")) {
+            for (Path generation : stream) {
+                try {
+                    String name = generation.getFileName().toString();
+                    latest = Math.max(latest, Integer.parseInt(name.substring(GENERATION_PREFIX.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Rebuild the index by scanning every segment in order
+     *
+     * Records that don't decode, such as the space reserved by an append that
+     * never finished, are skipped by searching for the next record header.
+     */
+    public void rebuildIndex() throws IOException {
+        archiveLock.writeLock().lock();
+        try {
+            indexLock.writeLock().lock();
+            try {
+                for (int i = INDEX_HEADER_SIZE; i < index.capacity(); i++) {
+                    index.put(i, (byte) 0);
+                }
+                indexSize = 0;
+                index.putInt(12, 0);
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            for (int segmentId = 0; segmentId < segments.size(); segmentId++) {
+                FileChannel channel = segments.get(segmentId);
+                long position = 0;
+                long end = channel.size();
+                while (position + RECORD_HEADER_SIZE <= end) {
+                    header.clear();
+                    readFully(channel, header, position);
+                    long length = recordLength(header);
+                    if (length < 0 || position + length > end
+                            || !isReadable(channel, position, (int) length)) {
+                        // A hole or torn write: resume at the next record header
+                        position = findRecordMagic(channel, position + 1, end);
+                        continue;
+                    }
+                    putIndex(header.getLong(4), ((long) segmentId << OFFSET_BITS) | position, (int) length);
+                    position += length;
+                }
+            }
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the total length of the record a header starts, or -1 if it isn't
+     * a plausible record header
+     */
+    private long recordLength(ByteBuffer header) {
+        if (header.getInt(0) != RECORD_MAGIC) {
+            return -1;
+        }
+        int descLength = header.getInt(12);
+        int payloadLength = header.getInt(16);
+        if (descLength < 0 || payloadLength < 0) {
+            return -1;
+        }
+        long length = (long) RECORD_HEADER_SIZE + descLength + payloadLength;
+        return length <= segmentSize ? length : -1;
+    }
+
+    /**
+     * Check that a record's map decodes exactly, so a header followed by a
+     * partly written payload isn't indexed
+     */
+    private static boolean isReadable(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(length);
+        readFully(channel, record, position);
+        record.flip();
+        record.position(RECORD_HEADER_SIZE + record.getInt(12));
+        try {
+            decodeMap(record);
+            return !record.hasRemaining(); // A real payload decodes to its last byte
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Find the next record magic at or after a position
+     *
+     * @return Its position, or end if there is none
+     */
+    private static long findRecordMagic(FileChannel channel, long from, long end) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(RESYNC_BLOCK_SIZE);
+        long position = from;
+        while (position + 4 <= end) {
+            block.clear();
+            block.limit((int) Math.min(block.capacity(), end - position));
+            readFully(channel, block, position);
+            for (int i = 0; i + 4 <= block.limit(); i++) {
+                if (block.getInt(i) == RECORD_MAGIC) {
+                    return position + i;
+                }
+            }
+            position += block.limit() - 3; // Overlap so a magic across blocks isn't missed
+        }
+        return end;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long start = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of map archive file at " + (start + buffer.position()));
+            }
+        }
+    }
+
+    // ===== Index =====
+
+    /**
+     * Map the index file, creating an empty index if it is missing, corrupt
+     * or from an older version
+     *
+     * @return true if the existing index was closed cleanly and can be trusted
+     */
+    private boolean mapIndex(Path indexPath) throws IOException {
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+        int capacity = INITIAL_INDEX_CAPACITY;
+        boolean valid = false;
+        if (indexChannel.size() >= INDEX_HEADER_SIZE) {
+            readFully(indexChannel, header, 0);
+            int storedCapacity = header.getInt(8);
+            valid = header.getInt(0) == INDEX_MAGIC && header.getInt(4) == INDEX_VERSION
+                    && storedCapacity >= INITIAL_INDEX_CAPACITY && Integer.bitCount(storedCapacity) == 1
+                    && indexChannel.size() >= INDEX_HEADER_SIZE + (long) storedCapacity * SLOT_SIZE;
+            if (valid) {
+                capacity = storedCapacity;
+            }
+        }
+
+        mapIndexCapacity(capacity);
+        if (!valid) {
+            index.putInt(12, 0);
+            index.putInt(INDEX_CLEAN_OFFSET, 0);
+        }
+        indexSize = index.getInt(12);
+        return valid && index.getInt(INDEX_CLEAN_OFFSET) == 1;
+    }
+
+    /**
+     * Map the index file at a capacity, extending the file if needed; the
+     * same file is remapped rather than replaced so it's never deleted while
+     * an old mapping is live
+     */
+    private void mapIndexCapacity(int capacity) throws IOException {
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                INDEX_HEADER_SIZE + (long) capacity * SLOT_SIZE);
+        indexCapacity = capacity;
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, INDEX_VERSION);
+        index.putInt(8, capacity);
+    }
+
+    /**
+     * Point a seed's slot at a record, unless the slot already holds a record
+     * further along the file
+     */
+    private void putIndex(long seed, long location, int length) throws IOException {
+        indexLock.writeLock().lock();
+        try {
+            int slot = findSlot(seed);
+            if (slot < 0) {
+                if (indexSize + 1 > indexCapacity * MAX_LOAD_FACTOR) {
+                    growIndex();
+                }
+                slot = probe(seed);
+                indexSize++;
+                index.putInt(12, indexSize);
+            } else if (index.getLong(slotOffset(slot) + 8) > location) {
+                // A concurrent append for the same seed landed later in the
+                // file but published first; keep it, as a rebuild would
+                return;
+            }
+            writeSlot(slotOffset(slot), seed, location, length);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    private void growIndex() throws IOException {
+        int oldCapacity = indexCapacity;
+        ByteBuffer old = ByteBuffer.allocate(oldCapacity * SLOT_SIZE);
+        for (int i = 0; i < old.capacity(); i++) {
+            old.put(i, index.get(INDEX_HEADER_SIZE + i));
+        }
+
+        mapIndexCapacity(oldCapacity * 2);
+        for (int i = INDEX_HEADER_SIZE; i < index.capacity(); i++) {
+            index.put(i, (byte) 0);
+        }
+
+        int size = 0;
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            int offset = slot * SLOT_SIZE;
+            if (old.getInt(offset + 20) == SLOT_USED) {
+                long seed = old.getLong(offset);
+                writeSlot(slotOffset(probe(seed)), seed, old.getLong(offset + 8), old.getInt(offset + 16));
+                size++;
+            }
+        }
+        indexSize = size;
+        index.putInt(12, indexSize);
+    }
+
+    /**
+     * Find the slot holding a seed
+     *
+     * @return The slot, or -1 if the seed is absent
+     */
+    private int findSlot(long seed) {
+        int mask = indexCapacity - 1;
+        for (int slot = hash(seed) & mask;; slot = (slot + 1) & mask) {
+            int offset = slotOffset(slot);
+            if (index.getInt(offset + 20) != SLOT_USED) {
+                return -1;
+            }
+            if (index.getLong(offset) == seed) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Find the first free slot for a seed that is known to be absent
+     */
+    private int probe(long seed) {
+        int mask = indexCapacity - 1;
+        int slot = hash(seed) & mask;
+        while (index.getInt(slotOffset(slot) + 20) == SLOT_USED) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void writeSlot(int offset, long seed, long location, int length) {
+        index.putLong(offset, seed);
+        index.putLong(offset + 8, location);
+        index.putInt(offset + 16, length);
+        index.putInt(offset + 20, SLOT_USED);
+    }
+
+    private static int slotOffset(int slot) {
+        return INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int hash(long seed) {
+        long h = seed * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // ===== Encoding =====
+
+    /**
+     * Encode a map as its dimensions followed by (value, run length) varint pairs
+     * in column-major order
+     */
+    static byte[] encodeMap(int[][] map) {
+        int width = map.length;
+        int height = width > 0 ? map[0].length : 0;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + width * height / 4);
+        writeVarInt(out, width);
+        writeVarInt(out, height);
+
+        int runValue = 0;
+        int runLength = 0;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int value = map[x][y];
+                if (runLength > 0 && value == runValue) {
+                    runLength++;
+                } else {
+                    if (runLength > 0) {
+                        writeVarInt(out, runValue);
+                        writeVarInt(out, runLength);
+                    }
+                    runValue = value;
+                    runLength = 1;
+                }
+            }
+        }
+        if (runLength > 0) {
+            writeVarInt(out, runValue);
+            writeVarInt(out, runLength);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a map written by {@link #encodeMap(int[][])}
+     */
+    static int[][] decodeMap(ByteBuffer in) throws IOException {
+        int width = readVarInt(in);
+        int height = readVarInt(in);
+        if (width < 0 || height < 0 || width > MAX_MAP_DIMENSION || height > MAX_MAP_DIMENSION
+                || (long) width * height > MAX_MAP_CELLS) {
+            throw new IOException("Corrupt map size: " + width + "x" + height);
+        }
+        int total = width * height;
+        // Check the runs cover the map exactly before allocating it, so
+        // garbage found while resyncing can't claim a huge map
+        if (countRunCells(in.duplicate(), total) != total) {
+            throw new IOException("Corrupt map encoding");
+        }
+        int[][] map = new int[width][height];
+
+        int cell = 0;
+        while (cell < total) {
+            int value = readVarInt(in);
+            int runLength = readVarInt(in);
+            if (runLength <= 0 || cell + runLength > total) {
+                throw new IOException("Corrupt map encoding");
+            }
+            for (int end = cell + runLength; cell < end; cell++) {
+                map[cell / height][cell % height] = value;
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Sum the run lengths of an encoded map body, stopping once they pass the
+     * expected cell count
+     */
+    private static long countRunCells(ByteBuffer in, int total) throws IOException {
+        long cells = 0;
+        while (cells < total) {
+            readVarInt(in);
+            int runLength = readVarInt(in);
+            if (runLength <= 0) {
+                throw new IOException("Corrupt map encoding");
+            }
+            cells += runLength;
+        }
+        return cells;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        // Zig-zag so that negative tile values stay short
+        int v = (value << 1) ^ (value >> 31);
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    private static int readVarInt(ByteBuffer in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!in.hasRemaining()) {
+                throw new EOFException("Truncated map encoding");
+            }
+            int b = in.get();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new IOException("Malformed varint in map encoding");
+    }
+
+    // ===== Files =====
+
+    private Path segmentPath(int id) {
+        return dataDirectory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private FileChannel openNewSegment(int id) throws IOException {
+        return FileChannel.open(segmentPath(id), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Flush the segments and the index to disk
+     */
+    private void sync() throws IOException {
+        synchronized (appendLock) {
+            for (FileChannel channel : segments) {
+                channel.force(true);
+            }
+        }
+        if (index != null) {
+            index.force();
+        }
+    }
+
+    private void closeFiles() throws IOException {
+        // Every record is on disk and indexed, so the index can be trusted on the next open
+        sync();
+        if (index != null) {
+            index.putInt(INDEX_CLEAN_OFFSET, 1);
+            index.force();
+            index = null;
+        }
+        if (indexChannel != null) {
+            indexChannel.close();
+            indexChannel = null;
+        }
+        synchronized (appendLock) {
+            for (FileChannel channel : segments) {
+                channel.close();
+            }
+            segments.clear();
+            writeOffset = 0;
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Override
+    public void close() throws IOException {
+        archiveLock.writeLock().lock();
+        try {
+            closeFiles();
+        } finally {
+            archiveLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Command line tool for inspecting and compacting an archive
+     *
+     * Usage: MapArchive (stats|compact|show) &lt;dir&gt; [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MapArchive (stats|compact|show) <dir> [seed]");
+            System.exit(1);
+        }
+
+        try (MapArchive archive = new MapArchive(Paths.get(args[1]))) {
+            switch (args[0]) {
+                case "stats" -> {
+                    System.out.println("Maps: " + archive.size());
+                    System.out.println("Segments: " + archive.getSegmentCount());
+                }
+                case "compact" -> {
+                    long start = System.currentTimeMillis();
+                    archive.compact();
+                    System.out.println("Compacted " + archive.size() + " maps in "
+                            + (System.currentTimeMillis() - start) + "ms");
+                }
+                case "show" -> {
+                    long seed = Long.parseLong(args[2]);
+                    int[][] map = archive.get(seed);
+                    if (map == null) {
+                        System.err.println("Seed not found: " + seed);
+                        System.exit(1);
+                    }
+                    System.out.println(archive.getDescription(seed));
+                    for (int y = 0; y < map[0].length; y++) {
+                        StringBuilder row = new StringBuilder();
+                        for (int x = 0; x < map.length; x++) {
+                            row.append(map[x][y] == 0 ? '.' : '#');
+                        }
+                        System.out.println(row);
+                    }
+                }
+                default -> {
+                    System.err.println("Unknown command: " + args[0]);
+                    System.exit(1);
+                }
+            }
+        }
+    }
+}
@@ -6,11 +6,40 @@ import java.time.format.DateTimeFormatter;
 
 /**
  * Logger for saving generated maps to files for analysis
+ * Can target a MapArchive instead of loose files for bulk generation runs
  */
 public class MapLogger {
     private static final String LOG_DIR = "logs";
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
+    // When set, maps are appended to the archive instead of written as text files
+    private static volatile MapArchive archive;
+    private static volatile boolean enabled = true;
+
+    /**
+     * Route logged maps into an archive, or back to loose files when null
+     *
+     * @param mapArchive The archive to append to
+     */
+    public static void setArchive(MapArchive mapArchive) {
+        archive = mapArchive;
+    }
+
+    public static MapArchive getArchive() {
+        return archive;
+    }
+
+    /**
+     * Turn map logging on or off, e.g. off for headless soak runs
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
     /**
      * Save a generated map to a log file
      * 
@@ -19,6 +48,20 @@ public class MapLogger {
      * @param description Additional description of the generation
      */
     public static void logMap(int[][] map, long seed, String description) {
+        if (!enabled) {
+            return;
+        }
+        MapArchive target = archive;
+        if (target != null) {
+            try {
+                target.append(seed, description, map);
+            } catch (IOException e) {
+                System.err.println("Error archiving map: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return;
+        }
+
         try {
             // Create logs directory if it doesn't exist
             File logDir = new File(LOG_DIR);
@@ -141,8 +184,13 @@ public class MapLogger {
 
     /**
      * Save a visual representation of the map
+     * Skipped when archiving, since the archive can render any stored map
      */
     public static void logVisualMap(int[][] map, long seed) {
+        if (!enabled || archive != null) {
+            return;
+        }
+
         try {
             File logDir = new File(LOG_DIR);
             if (!logDir.exists()) {
@@ -0,0 +1,46 @@
+package com.game.main;
+
+/**
+ * Emitter presets shared by the Swing and LibGDX games
+ * The two backends use opposite y axes, so presets take the sign of "up"
+ */
+public final class ParticleEffects {
+    private static final int STAR_SPARKLE_COLOR = 0xFFE066FF;
+    private static final int DUST_COLOR = 0xC8C8D250;
+
+    private ParticleEffects() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Golden sparkles bursting out of a collected star
+     *
+     * @param up 1 if y grows upwards, -1 if it grows downwards
+     */
+    public static ParticleEmitter starPickup(float up, long seed) {
+        return new ParticleEmitter(seed)
+                .burstCount(48)
+                .speed(60f, 220f)
+                .baseVelocity(0f, 40f * up)
+                .life(0.35f, 0.9f)
+                .size(3f, 7f)
+                .radius(GameConfig.TILE_SIZE / 4f)
+                .color(STAR_SPARKLE_COLOR);
+    }
+
+    /**
+     * Faint dust drifting upwards around the player
+     *
+     * @param up 1 if y grows upwards, -1 if it grows downwards
+     */
+    public static ParticleEmitter ambientDust(float up, long seed) {
+        return new ParticleEmitter(seed)
+                .rate(12f)
+                .speed(2f, 10f)
+                .baseVelocity(0f, 12f * up)
+                .life(1.5f, 3f)
+                .size(2f, 3f)
+                .radius(GameConfig.TILE_SIZE * 3f)
+                .color(DUST_COLOR);
+    }
+}
@@ -0,0 +1,137 @@
+package com.game.main;
+
+/**
+ * Spawns particles into a ParticleSystem, either in bursts (pickups, hits)
+ * or continuously at a fixed rate (ambient effects)
+ *
+ * Emitters only hold their settings and a small random generator, so they
+ * can be triggered every frame without allocating.
+ */
+public class ParticleEmitter {
+    // Emission
+    private int burstCount = 16;
+    private float rate = 0f; // Particles per second when emitting continuously
+    private float accumulator = 0f;
+
+    // Particle settings
+    private float minSpeed = 20f;
+    private float maxSpeed = 80f;
+    private float direction = 0f; // Radians
+    private float spread = (float) (Math.PI * 2); // Radians around the direction
+    private float baseVelocityX = 0f;
+    private float baseVelocityY = 0f;
+    private float minLife = 0.4f;
+    private float maxLife = 0.8f;
+    private float minSize = 2f;
+    private float maxSize = 4f;
+    private float radius = 0f; // Spawn area around the emitter position
+    private int color = 0xFFFFFFFF;
+
+    // xorshift state, cheaper than java.util.Random for per-particle use
+    private int seed;
+
+    public ParticleEmitter(long seed) {
+        this.seed = (int) (seed ^ (seed >>> 32)) | 1;
+    }
+
+    /**
+     * Spawn a burst of particles at a position
+     */
+    public void burst(ParticleSystem system, float x, float y) {
+        for (int i = 0; i < burstCount; i++) {
+            if (!emit(system, x, y)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Spawn particles continuously at the emitter rate
+     *
+     * @param deltaTime Time since the last call in seconds
+     */
+    public void update(ParticleSystem system, float deltaTime, float x, float y) {
+        accumulator += rate * deltaTime;
+        while (accumulator >= 1f) {
+            accumulator -= 1f;
+            emit(system, x, y);
+        }
+    }
+
+    private boolean emit(ParticleSystem system, float x, float y) {
+        float angle = direction + (nextFloat() - 0.5f) * spread;
+        float speed = lerp(minSpeed, maxSpeed, nextFloat());
+        float offsetAngle = nextFloat() * (float) (Math.PI * 2);
+        float offset = radius * nextFloat();
+        return system.spawn(
+                x + (float) Math.cos(offsetAngle) * offset,
+                y + (float) Math.sin(offsetAngle) * offset,
+                baseVelocityX + (float) Math.cos(angle) * speed,
+                baseVelocityY + (float) Math.sin(angle) * speed,
+                lerp(minLife, maxLife, nextFloat()),
+                lerp(minSize, maxSize, nextFloat()),
+                color);
+    }
+
+    private float nextFloat() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return (seed >>> 8) * 0x1.0p-24f;
+    }
+
+    private static float lerp(float from, float to, float t) {
+        return from + (to - from) * t;
+    }
+
+    // Configuration, chainable
+    public ParticleEmitter burstCount(int burstCount) {
+        this.burstCount = burstCount;
+        return this;
+    }
+
+    public ParticleEmitter rate(float particlesPerSecond) {
+        this.rate = particlesPerSecond;
+        return this;
+    }
+
+    public ParticleEmitter speed(float minSpeed, float maxSpeed) {
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        return this;
+    }
+
+    public ParticleEmitter direction(float direction, float spread) {
+        this.direction = direction;
+        this.spread = spread;
+        return this;
+    }
+
+    public ParticleEmitter baseVelocity(float velocityX, float velocityY) {
+        this.baseVelocityX = velocityX;
+        this.baseVelocityY = velocityY;
+        return this;
+    }
+
+    public ParticleEmitter life(float minLife, float maxLife) {
+        this.minLife = minLife;
+        this.maxLife = maxLife;
+        return this;
+    }
+
+    public ParticleEmitter size(float minSize, float maxSize) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public ParticleEmitter radius(float radius) {
+        this.radius = radius;
+        return this;
+    }
+
+    public ParticleEmitter color(int rgba) {
+        this.color = rgba;
+        return this;
+    }
+}
@@ -0,0 +1,161 @@
+package com.game.main;
+
+/**
+ * Pooled particle system stored as a structure of arrays
+ *
+ * Every particle attribute lives in its own preallocated array, so updating
+ * is a linear pass over primitive data and spawning or killing a particle
+ * never allocates. Dead particles are removed by moving the last live
+ * particle into their slot, which keeps the live ones packed at the front.
+ */
+public class ParticleSystem {
+    private final int capacity;
+    private int count = 0;
+
+    // Particle attributes, indexed 0..count-1
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] life;
+    private final float[] inverseMaxLife;
+    private final float[] size;
+    private final int[] color; // RGBA8888
+
+    // Forces applied to every particle
+    private float gravityX = 0f;
+    private float gravityY = 0f;
+    private float drag = 0f; // Fraction of velocity lost per second
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.life = new float[capacity];
+        this.inverseMaxLife = new float[capacity];
+        this.size = new float[capacity];
+        this.color = new int[capacity];
+    }
+
+    /**
+     * Add a particle
+     *
+     * @param lifetime Lifetime in seconds
+     * @param rgba     Colour as RGBA8888
+     * @return false if the pool is full
+     */
+    public boolean spawn(float px, float py, float vx, float vy, float lifetime, float particleSize, int rgba) {
+        if (count == capacity || lifetime <= 0f) {
+            return false;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        velocityX[i] = vx;
+        velocityY[i] = vy;
+        life[i] = lifetime;
+        inverseMaxLife[i] = 1f / lifetime;
+        size[i] = particleSize;
+        color[i] = rgba;
+        return true;
+    }
+
+    /**
+     * Advance every particle and remove the ones that died
+     *
+     * @param deltaTime Time step in seconds
+     */
+    public void update(float deltaTime) {
+        float damping = Math.max(0f, 1f - drag * deltaTime);
+        float gx = gravityX * deltaTime;
+        float gy = gravityY * deltaTime;
+
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - deltaTime;
+            if (remaining <= 0f) {
+                kill(i);
+                continue; // The particle moved into slot i still needs updating
+            }
+            life[i] = remaining;
+            float vx = velocityX[i] * damping + gx;
+            float vy = velocityY[i] * damping + gy;
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+            x[i] += vx * deltaTime;
+            y[i] += vy * deltaTime;
+            i++;
+        }
+    }
+
+    /**
+     * Swap-remove a particle
+     */
+    private void kill(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            life[i] = life[last];
+            inverseMaxLife[i] = inverseMaxLife[last];
+            size[i] = size[last];
+            color[i] = color[last];
+        }
+    }
+
+    /**
+     * Remove every particle
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Set the forces applied to all particles
+     *
+     * @param gravityX Acceleration on x in units per second squared
+     * @param gravityY Acceleration on y in units per second squared
+     * @param drag     Fraction of velocity lost per second
+     */
+    public void setForces(float gravityX, float gravityY, float drag) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+        this.drag = drag;
+    }
+
+    /**
+     * Get the remaining life of a particle from 1 (new) to 0 (dead)
+     */
+    public float getLifeFraction(int i) {
+        return life[i] * inverseMaxLife[i];
+    }
+
+    // Getters
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public float getX(int i) {
+        return x[i];
+    }
+
+    public float getY(int i) {
+        return y[i];
+    }
+
+    public float getSize(int i) {
+        return size[i];
+    }
+
+    public int getColor(int i) {
+        return color[i];
+    }
+}
@@ -0,0 +1,268 @@
+package com.game.main;
+
+import java.util.Arrays;
+
+/**
+ * Finds the zones of a DungeonGraph that can be seen from the player's tile
+ *
+ * Starting in the player's zone, a beam of sight is passed through every
+ * portal it overlaps and narrowed to that portal, zone by zone. Zones reached
+ * by a non-empty beam are potentially visible; everything else is hidden
+ * behind walls and can be skipped by the renderers. Portals outside the view
+ * are not followed, since a straight line that has left the view never comes
+ * back into it.
+ *
+ * The visible set is only recomputed when the player changes tile, the view
+ * moves or the graph is rebuilt.
+ */
+public class PortalCuller {
+    private static final int MAX_STEPS = 1 << 18; // Safety limit on portal traversals per update
+    private static final double MIN_BEAM_WIDTH = 1e-9;
+
+    private final DungeonGraph graph;
+
+    // A zone is visible if its stamp matches the current generation
+    private int[] visibleStamp = new int[0];
+    private int generation = 0;
+    private int[] visibleZones = new int[64];
+    private int visibleCount = 0;
+    private boolean allVisible = true;
+
+    // Inputs of the last computation
+    private int originCol = -1, originRow = -1;
+    private int viewMinCol, viewMinRow, viewMaxCol, viewMaxRow;
+    private int graphVersion = -1;
+
+    // Traversal stack: zone, zone it was entered from, beam edges relative to the viewer
+    private int[] stackZone = new int[64];
+    private int[] stackFrom = new int[64];
+    private double[] stackBeam = new double[64 * 4];
+
+    public PortalCuller(DungeonGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Recompute the visible zones if the viewer, the view or the graph changed
+     *
+     * @param col    Viewer tile column
+     * @param row    Viewer tile row
+     * @param minCol First column of the view
+     * @param minRow First row of the view
+     * @param maxCol Last column of the view (exclusive)
+     * @param maxRow Last row of the view (exclusive)
+     * @return true if the visible set was recomputed
+     */
+    public boolean update(int col, int row, int minCol, int minRow, int maxCol, int maxRow) {
+        if (col == originCol && row == originRow && graphVersion == graph.getVersion()
+                && minCol == viewMinCol && minRow == viewMinRow && maxCol == viewMaxCol && maxRow == viewMaxRow) {
+            return false;
+        }
+        originCol = col;
+        originRow = row;
+        viewMinCol = minCol;
+        viewMinRow = minRow;
+        viewMaxCol = maxCol;
+        viewMaxRow = maxRow;
+        graphVersion = graph.getVersion();
+        compute();
+        return true;
+    }
+
+    private void compute() {
+        if (visibleStamp.length < graph.getZoneCount()) {
+            visibleStamp = new int[graph.getZoneCount()];
+            generation = 0;
+        }
+        generation++;
+        visibleCount = 0;
+
+        int startZone = graph.getZone(originCol, originRow);
+        allVisible = startZone < 0; // Viewer inside a wall, don't cull anything
+        if (allVisible) {
+            return;
+        }
+
+        // Viewer at the centre of its tile, so it never lies on a portal edge
+        double viewerX = originCol + 0.5;
+        double viewerY = originRow + 0.5;
+        markVisible(startZone);
+
+        int top = 0;
+        push(top++, startZone, -1, 0, 0, 0, 0);
+        int steps = 0;
+        while (top > 0 && steps < MAX_STEPS) {
+            top--;
+            int zone = stackZone[top];
+            int from = stackFrom[top];
+            boolean fullBeam = from < 0;
+            double startX = stackBeam[top * 4];
+            double startY = stackBeam[top * 4 + 1];
+            double endX = stackBeam[top * 4 + 2];
+            double endY = stackBeam[top * 4 + 3];
+
+            for (int portal = graph.getPortalStart(zone); portal < graph.getPortalEnd(zone); portal++) {
+                int target = graph.getPortalTarget(portal);
+                if (target == from || !isPortalInView(portal)) {
+                    continue;
+                }
+                steps++;
+
+                // Portal edges relative to the viewer, counter-clockwise from a to b
+                double ax = graph.getPortalX1(portal) - viewerX;
+                double ay = graph.getPortalY1(portal) - viewerY;
+                double bx = graph.getPortalX2(portal) - viewerX;
+                double by = graph.getPortalY2(portal) - viewerY;
+                if (cross(ax, ay, bx, by) < 0) {
+                    double swapX = ax, swapY = ay;
+                    ax = bx;
+                    ay = by;
+                    bx = swapX;
+                    by = swapY;
+                }
+
+                // Narrow the beam to the portal
+                double newStartX = ax, newStartY = ay, newEndX = bx, newEndY = by;
+                if (!fullBeam) {
+                    boolean startInPortal = isBetween(startX, startY, ax, ay, bx, by);
+                    boolean endInPortal = isBetween(endX, endY, ax, ay, bx, by);
+                    if (!startInPortal && !endInPortal
+                            && !isBetween(ax, ay, startX, startY, endX, endY)
+                            && !isBetween(bx, by, startX, startY, endX, endY)) {
+                        continue; // Portal is outside the beam
+                    }
+                    if (startInPortal) {
+                        newStartX = startX;
+                        newStartY = startY;
+                    }
+                    if (endInPortal) {
+                        newEndX = endX;
+                        newEndY = endY;
+                    }
+                }
+
+                markVisible(target);
+                // A beam that only grazes the portal shows the zone but goes no further
+                if (cross(newStartX, newStartY, newEndX, newEndY) > MIN_BEAM_WIDTH) {
+                    push(top++, target, zone, newStartX, newStartY, newEndX, newEndY);
+                }
+            }
+        }
+
+        // Traversal cut short: zones past the limit could be in view, so
+        // fall back to drawing everything rather than leaving holes
+        if (steps >= MAX_STEPS && top > 0) {
+            allVisible = true;
+        }
+    }
+
+    private void push(int index, int zone, int from, double startX, double startY, double endX, double endY) {
+        if (index == stackZone.length) {
+            int capacity = index * 2;
+            stackZone = Arrays.copyOf(stackZone, capacity);
+            stackFrom = Arrays.copyOf(stackFrom, capacity);
+            stackBeam = Arrays.copyOf(stackBeam, capacity * 4);
+        }
+        stackZone[index] = zone;
+        stackFrom[index] = from;
+        stackBeam[index * 4] = startX;
+        stackBeam[index * 4 + 1] = startY;
+        stackBeam[index * 4 + 2] = endX;
+        stackBeam[index * 4 + 3] = endY;
+    }
+
+    private void markVisible(int zone) {
+        if (visibleStamp[zone] == generation) {
+            return;
+        }
+        visibleStamp[zone] = generation;
+        if (visibleCount == visibleZones.length) {
+            visibleZones = Arrays.copyOf(visibleZones, visibleCount * 2);
+        }
+        visibleZones[visibleCount++] = zone;
+    }
+
+    private boolean isPortalInView(int portal) {
+        return Math.max(graph.getPortalX1(portal), graph.getPortalX2(portal)) >= viewMinCol
+                && Math.min(graph.getPortalX1(portal), graph.getPortalX2(portal)) <= viewMaxCol
+                && Math.max(graph.getPortalY1(portal), graph.getPortalY2(portal)) >= viewMinRow
+                && Math.min(graph.getPortalY1(portal), graph.getPortalY2(portal)) <= viewMaxRow;
+    }
+
+    /**
+     * Check if direction v lies within the counter-clockwise arc from a to b
+     * (arcs are always narrower than half a turn)
+     */
+    private static boolean isBetween(double vx, double vy, double ax, double ay, double bx, double by) {
+        return cross(ax, ay, vx, vy) >= 0 && cross(vx, vy, bx, by) >= 0;
+    }
+
+    private static double cross(double ax, double ay, double bx, double by) {
+        return ax * by - ay * bx;
+    }
+
+    /**
+     * Check if a zone is potentially visible
+     */
+    public boolean isZoneVisible(int zone) {
+        return allVisible || (zone >= 0 && zone < visibleStamp.length && visibleStamp[zone] == generation);
+    }
+
+    /**
+     * Check if a tile is potentially visible; walls are visible when they
+     * border a visible zone
+     */
+    public boolean isTileVisible(int col, int row) {
+        if (allVisible) {
+            return true;
+        }
+        int zone = graph.getZone(col, row);
+        if (zone >= 0) {
+            return isZoneVisible(zone);
+        }
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int neighbour = graph.getZone(col + dx, row + dy);
+                if (neighbour >= 0 && isZoneVisible(neighbour)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if any potentially visible tile may lie in a tile rectangle
+     * (inclusive), counting the walls around visible zones
+     */
+    public boolean isAreaVisible(int minCol, int minRow, int maxCol, int maxRow) {
+        if (allVisible) {
+            return true;
+        }
+        for (int i = 0; i < visibleCount; i++) {
+            int zone = visibleZones[i];
+            if (graph.getZoneMinCol(zone) - 1 <= maxCol && graph.getZoneMaxCol(zone) + 1 >= minCol
+                    && graph.getZoneMinRow(zone) - 1 <= maxRow && graph.getZoneMaxRow(zone) + 1 >= minRow) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Force a recomputation on the next update
+     */
+    public void invalidate() {
+        originCol = -1;
+        originRow = -1;
+    }
+
+    // Getters
+    public int getVisibleZoneCount() {
+        return allVisible ? graph.getZoneCount() : visibleCount;
+    }
+
+    public DungeonGraph getGraph() {
+        return graph;
+    }
+}
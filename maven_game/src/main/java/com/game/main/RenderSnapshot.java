@@ -0,0 +1,246 @@
+package com.game.main;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Everything the Swing renderer needs to draw one frame
+ *
+ * The game thread captures it with the camera and player already
+ * interpolated and hands it to the paint thread through a TripleBuffer, so
+ * painting never reads the live game objects. Positions are in world pixels.
+ * Arrays are reused from frame to frame and only grow.
+ */
+public class RenderSnapshot {
+    private GameState state; // Null until the first capture
+    private String frameStats = "";
+
+    // Camera and player
+    private int cameraX, cameraY;
+    private int playerX, playerY;
+    private BufferedImage playerSprite;
+
+    // Tile map; the index array is replaced, never modified, once published
+    private int[][] tileIndexes;
+    private int tileVersion;
+    private double animationTime;
+
+    // Fog and culling state of each tile in view, one byte per tile
+    private int maskStartCol, maskStartRow, maskCols, maskRows;
+    private byte[] maskStates = new byte[0];
+
+    // Objects in sight
+    private int objectCount = 0;
+    private int[] objectX = new int[16];
+    private int[] objectY = new int[16];
+    private BufferedImage[] objectImages = new BufferedImage[16];
+
+    // Particles on screen, with their colour already faded by age (RGBA8888)
+    private int particleCount = 0;
+    private int[] particleX = new int[256];
+    private int[] particleY = new int[256];
+    private int[] particleSize = new int[256];
+    private int[] particleColor = new int[256];
+
+    public void setState(GameState state, String frameStats) {
+        this.state = state;
+        this.frameStats = frameStats;
+    }
+
+    public void setCamera(int cameraX, int cameraY) {
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+    }
+
+    public void setPlayer(int playerX, int playerY, BufferedImage playerSprite) {
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.playerSprite = playerSprite;
+    }
+
+    /**
+     * @param tileIndexes   Tile indexes [col][row], not modified after this call
+     * @param tileVersion   Changes whenever the map or the tile definitions change
+     * @param animationTime Animation clock time for animated tiles
+     */
+    public void setTiles(int[][] tileIndexes, int tileVersion, double animationTime) {
+        this.tileIndexes = tileIndexes;
+        this.tileVersion = tileVersion;
+        this.animationTime = animationTime;
+    }
+
+    /**
+     * Set the tile rectangle covered by the mask, clearing it
+     */
+    public void setMaskArea(int startCol, int startRow, int cols, int rows) {
+        maskStartCol = startCol;
+        maskStartRow = startRow;
+        maskCols = Math.max(0, cols);
+        maskRows = Math.max(0, rows);
+        if (maskStates.length < maskCols * maskRows) {
+            maskStates = new byte[maskCols * maskRows];
+        }
+        Arrays.fill(maskStates, 0, maskCols * maskRows, (byte) 0);
+    }
+
+    public void setMaskState(int col, int row, int maskState) {
+        maskStates[(row - maskStartRow) * maskCols + col - maskStartCol] = (byte) maskState;
+    }
+
+    /**
+     * Get the mask state of a tile, or -1 outside the mask area
+     */
+    public int getMaskState(int col, int row) {
+        int localCol = col - maskStartCol;
+        int localRow = row - maskStartRow;
+        if (localCol < 0 || localCol >= maskCols || localRow < 0 || localRow >= maskRows) {
+            return -1;
+        }
+        return maskStates[localRow * maskCols + localCol];
+    }
+
+    public void clearObjects() {
+        objectCount = 0;
+    }
+
+    public void addObject(int worldX, int worldY, BufferedImage image) {
+        if (objectCount == objectX.length) {
+            int capacity = objectCount * 2;
+            objectX = Arrays.copyOf(objectX, capacity);
+            objectY = Arrays.copyOf(objectY, capacity);
+            objectImages = Arrays.copyOf(objectImages, capacity);
+        }
+        objectX[objectCount] = worldX;
+        objectY[objectCount] = worldY;
+        objectImages[objectCount] = image;
+        objectCount++;
+    }
+
+    public void clearParticles() {
+        particleCount = 0;
+    }
+
+    public void addParticle(int worldX, int worldY, int size, int rgba) {
+        if (particleCount == particleX.length) {
+            int capacity = particleCount * 2;
+            particleX = Arrays.copyOf(particleX, capacity);
+            particleY = Arrays.copyOf(particleY, capacity);
+            particleSize = Arrays.copyOf(particleSize, capacity);
+            particleColor = Arrays.copyOf(particleColor, capacity);
+        }
+        particleX[particleCount] = worldX;
+        particleY[particleCount] = worldY;
+        particleSize[particleCount] = size;
+        particleColor[particleCount] = rgba;
+        particleCount++;
+    }
+
+    /**
+     * Check if the objects are the same as in another snapshot
+     */
+    public boolean hasSameObjects(RenderSnapshot other) {
+        if (objectCount != other.objectCount) {
+            return false;
+        }
+        for (int i = 0; i < objectCount; i++) {
+            if (objectX[i] != other.objectX[i] || objectY[i] != other.objectY[i]
+                    || objectImages[i] != other.objectImages[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Getters
+    public GameState getState() {
+        return state;
+    }
+
+    public String getFrameStats() {
+        return frameStats;
+    }
+
+    public int getCameraX() {
+        return cameraX;
+    }
+
+    public int getCameraY() {
+        return cameraY;
+    }
+
+    public int getPlayerX() {
+        return playerX;
+    }
+
+    public int getPlayerY() {
+        return playerY;
+    }
+
+    public BufferedImage getPlayerSprite() {
+        return playerSprite;
+    }
+
+    public int[][] getTileIndexes() {
+        return tileIndexes;
+    }
+
+    public int getTileVersion() {
+        return tileVersion;
+    }
+
+    public double getAnimationTime() {
+        return animationTime;
+    }
+
+    public int getMaskStartCol() {
+        return maskStartCol;
+    }
+
+    public int getMaskStartRow() {
+        return maskStartRow;
+    }
+
+    public int getMaskCols() {
+        return maskCols;
+    }
+
+    public int getMaskRows() {
+        return maskRows;
+    }
+
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    public int getObjectX(int index) {
+        return objectX[index];
+    }
+
+    public int getObjectY(int index) {
+        return objectY[index];
+    }
+
+    public BufferedImage getObjectImage(int index) {
+        return objectImages[index];
+    }
+
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    public int getParticleX(int index) {
+        return particleX[index];
+    }
+
+    public int getParticleY(int index) {
+        return particleY[index];
+    }
+
+    public int getParticleSize(int index) {
+        return particleSize[index];
+    }
+
+    public int getParticleColor(int index) {
+        return particleColor[index];
+    }
+}
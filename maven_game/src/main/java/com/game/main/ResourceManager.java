@@ -1,5 +1,10 @@
 package com.game.main;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.HashMap;
@@ -9,10 +14,16 @@ import javax.imageio.ImageIO;
 /**
  * ResourceManager handles loading and caching of game assets
  * Implements singleton pattern for global access
+ *
+ * Images are converted on load to the display's compatible format (or an
+ * equivalent premultiplied ARGB image when headless), so Java2D can blit them
+ * without a colour conversion. Sprites and tiles are also kept pre-scaled to
+ * TILE_SIZE, so drawing them is a 1:1 copy.
  */
 public class ResourceManager {
     private static ResourceManager instance;
     private final Map<String, BufferedImage> imageCache;
+    private final Map<String, BufferedImage> scaledImageCache;
 
     // Asset paths constants
     public static final String ASSETS_PATH = "/assets/";
@@ -21,6 +32,7 @@ public class ResourceManager {
 
     private ResourceManager() {
         imageCache = new HashMap<>();
+        scaledImageCache = new HashMap<>();
     }
 
     public static ResourceManager getInstance() {
@@ -31,7 +43,8 @@ public class ResourceManager {
     }
 
     /**
-     * Loads an image from the specified path and caches it
+     * Loads an image from the specified path at its original size, converted
+     * to a display-compatible format, and caches it
      * 
      * @param path The path to the image resource
      * @return The loaded BufferedImage
@@ -47,7 +60,49 @@ public class ResourceManager {
             throw new IOException("Could not load image: " + path);
         }
 
-        imageCache.put(path, image);
+        BufferedImage compatible = toCompatibleImage(image, image.getWidth(), image.getHeight());
+        imageCache.put(path, compatible);
+        return compatible;
+    }
+
+    /**
+     * Loads an image scaled to TILE_SIZE with nearest-neighbour sampling,
+     * converted to a display-compatible format, and caches it
+     * 
+     * @param path The path to the image resource
+     * @return The scaled BufferedImage
+     * @throws IOException if the image cannot be loaded
+     */
+    public BufferedImage loadScaledImage(String path) throws IOException {
+        if (scaledImageCache.containsKey(path)) {
+            return scaledImageCache.get(path);
+        }
+
+        BufferedImage scaled = toCompatibleImage(loadImage(path), GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        scaledImageCache.put(path, scaled);
+        return scaled;
+    }
+
+    /**
+     * Copy an image into a new display-compatible image of the given size,
+     * scaling with nearest-neighbour sampling
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage source, int width, int height) {
+        BufferedImage image;
+        if (GraphicsEnvironment.isHeadless()) {
+            image = new BufferedImage(width, height, source.getTransparency() == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB
+                    : BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            image = config.createCompatibleImage(width, height, source.getTransparency());
+        }
+
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
         return image;
     }
 
@@ -56,12 +111,12 @@ public class ResourceManager {
      * 
      * @param direction The direction (up, down, left, right, default)
      * @param frame     The animation frame (1-4)
-     * @return The loaded BufferedImage
+     * @return The sprite scaled to TILE_SIZE
      */
     public BufferedImage loadPlayerSprite(String direction, int frame) {
         try {
             String path = ASSETS_PATH + "sprite_player_" + direction + frame + ".png";
-            return loadImage(path);
+            return loadScaledImage(path);
         } catch (IOException e) {
             System.err.println("Error loading player sprite: " + direction + frame);
             e.printStackTrace();
@@ -73,12 +128,12 @@ public class ResourceManager {
      * Loads a tile image
      * 
      * @param tileName The name of the tile file
-     * @return The loaded BufferedImage
+     * @return The tile scaled to TILE_SIZE
      */
     public BufferedImage loadTile(String tileName) {
         try {
             String path = TILES_PATH + tileName + ".png";
-            return loadImage(path);
+            return loadScaledImage(path);
         } catch (IOException e) {
             System.err.println("Error loading tile: " + tileName);
             e.printStackTrace();
@@ -90,12 +145,12 @@ public class ResourceManager {
      * Loads an object image
      * 
      * @param objectName The name of the object file
-     * @return The loaded BufferedImage
+     * @return The object scaled to TILE_SIZE
      */
     public BufferedImage loadObject(String objectName) {
         try {
             String path = OBJECTS_PATH + objectName + ".png";
-            return loadImage(path);
+            return loadScaledImage(path);
         } catch (IOException e) {
             System.err.println("Error loading object: " + objectName);
             e.printStackTrace();
@@ -108,14 +163,15 @@ public class ResourceManager {
      */
     public void clearCache() {
         imageCache.clear();
+        scaledImageCache.clear();
     }
 
     /**
      * Gets the current cache size
      * 
-     * @return Number of cached images
+     * @return Number of cached images, original and scaled
      */
     public int getCacheSize() {
-        return imageCache.size();
+        return imageCache.size() + scaledImageCache.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.game.main;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import com.game.tile.Tile;
+import com.game.tile.TileManager;
+
+/**
+ * Software renderer for the Swing world layer
+ *
+ * Draws the world of a render snapshot straight into the int pixels of a
+ * TYPE_INT_RGB frame instead of making a drawImage call per tile: tile rows
+ * are copied from pre-scaled source rasters with System.arraycopy, fog and
+ * culling are applied per tile, and only sprites and particles are alpha
+ * blended. The frame is split into horizontal stripes that are rasterized
+ * in parallel on a ForkJoinPool. Stripes never overlap, so the tasks share
+ * nothing but read-only sources.
+ *
+ * Source rasters are looked up on the calling thread before the stripes
+ * start, so the cache needs no locking.
+ */
+public class SoftwareRasterizer {
+    private static final int BACKGROUND = GameConfig.BACKGROUND_COLOR.getRGB() & 0xFFFFFF;
+    private static final int FOG_ALPHA = TileManager.FOG_COLOR.getAlpha();
+
+    private final TileManager tileManager;
+    private final ForkJoinPool pool;
+    private final int stripeHeight;
+
+    // Source pixels of each image, converted once
+    private final Map<BufferedImage, SourceRaster> rasters = new IdentityHashMap<>();
+
+    // The frame being drawn, read by the stripe tasks
+    private int[] pixels;
+    private int frameWidth;
+    private int clipX, clipEndX;
+    private RenderSnapshot snapshot;
+    private boolean masked;
+    private SourceRaster[] tileRasters = new SourceRaster[GameConfig.MAX_TILES];
+    private int spriteCount = 0;
+    private SourceRaster[] spriteRasters = new SourceRaster[16];
+    private int[] spriteX = new int[16];
+    private int[] spriteY = new int[16];
+
+    /**
+     * @param tileManager  Source of the tile images
+     * @param parallelism  Number of threads rasterizing stripes
+     * @param stripeHeight Rows per stripe
+     */
+    public SoftwareRasterizer(TileManager tileManager, int parallelism, int stripeHeight) {
+        this.tileManager = tileManager;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.stripeHeight = Math.max(1, stripeHeight);
+    }
+
+    public SoftwareRasterizer(TileManager tileManager) {
+        this(tileManager, Runtime.getRuntime().availableProcessors(), GameConfig.RASTER_STRIPE_HEIGHT);
+    }
+
+    /**
+     * Draw the world of a snapshot into a frame, as seen from its camera
+     *
+     * @param frame    TYPE_INT_RGB image; pixels outside the clip are left as they are
+     * @param snapshot The snapshot to draw
+     * @param clip     Area to draw in frame coordinates, or null for the whole frame
+     */
+    public void render(BufferedImage frame, RenderSnapshot snapshot, Rectangle clip) {
+        Rectangle area = new Rectangle(0, 0, frame.getWidth(), frame.getHeight());
+        if (clip != null) {
+            area = area.intersection(clip);
+        }
+        if (area.isEmpty()) {
+            return;
+        }
+
+        pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        frameWidth = frame.getWidth();
+        clipX = area.x;
+        clipEndX = area.x + area.width;
+        this.snapshot = snapshot;
+        masked = GameConfig.FOG_OF_WAR || GameConfig.PORTAL_CULLING;
+        prepareSources();
+
+        pool.invoke(new StripeTask(area.y, area.y + area.height));
+        this.snapshot = null;
+    }
+
+    /**
+     * Shut the stripe threads down
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Resolve the rasters of this frame's tiles and sprites
+     */
+    private void prepareSources() {
+        for (int i = 0; i < tileRasters.length; i++) {
+            Tile tile = tileManager.getTile(i);
+            tileRasters[i] = tile != null ? getRaster(tile.getImage(snapshot.getAnimationTime())) : null;
+        }
+
+        spriteCount = 0;
+        for (int i = 0; i < snapshot.getObjectCount(); i++) {
+            addSprite(snapshot.getObjectImage(i), snapshot.getObjectX(i), snapshot.getObjectY(i));
+        }
+        if (snapshot.getPlayerSprite() != null) {
+            addSprite(snapshot.getPlayerSprite(), snapshot.getPlayerX(), snapshot.getPlayerY());
+        }
+    }
+
+    private void addSprite(BufferedImage image, int worldX, int worldY) {
+        if (image == null) {
+            return;
+        }
+        if (spriteCount == spriteRasters.length) {
+            int capacity = spriteCount * 2;
+            spriteRasters = Arrays.copyOf(spriteRasters, capacity);
+            spriteX = Arrays.copyOf(spriteX, capacity);
+            spriteY = Arrays.copyOf(spriteY, capacity);
+        }
+        spriteRasters[spriteCount] = getRaster(image);
+        spriteX[spriteCount] = worldX;
+        spriteY[spriteCount] = worldY;
+        spriteCount++;
+    }
+
+    private SourceRaster getRaster(BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+        return rasters.computeIfAbsent(image, SourceRaster::new);
+    }
+
+    /**
+     * Draw the rows from startY to endY of the clip area
+     */
+    private void rasterizeStripe(int startY, int endY) {
+        for (int y = startY; y < endY; y++) {
+            Arrays.fill(pixels, y * frameWidth + clipX, y * frameWidth + clipEndX, BACKGROUND);
+        }
+        int cameraX = snapshot.getCameraX();
+        int cameraY = snapshot.getCameraY();
+        drawTiles(startY, endY, cameraX, cameraY);
+
+        for (int i = 0; i < spriteCount; i++) {
+            drawSprite(spriteRasters[i], spriteX[i] - cameraX, spriteY[i] - cameraY, startY, endY);
+        }
+
+        for (int i = 0; i < snapshot.getParticleCount(); i++) {
+            int size = snapshot.getParticleSize(i);
+            fillBlended(snapshot.getParticleX(i) - cameraX, snapshot.getParticleY(i) - cameraY, size, size,
+                    snapshot.getParticleColor(i), startY, endY);
+        }
+    }
+
+    /**
+     * Copy the tiles overlapping a stripe, then hide or dim them by their mask state
+     */
+    private void drawTiles(int startY, int endY, int cameraX, int cameraY) {
+        int[][] indexes = snapshot.getTileIndexes();
+        if (indexes == null) {
+            return;
+        }
+        int size = GameConfig.TILE_SIZE;
+        int startCol = Math.max(0, Math.floorDiv(cameraX + clipX, size));
+        int endCol = Math.min(indexes.length, Math.floorDiv(cameraX + clipEndX - 1, size) + 1);
+        int startRow = Math.max(0, Math.floorDiv(cameraY + startY, size));
+        int endRow = Math.min(indexes.length > 0 ? indexes[0].length : 0, Math.floorDiv(cameraY + endY - 1, size) + 1);
+
+        for (int row = startRow; row < endRow; row++) {
+            int y = row * size - cameraY;
+            for (int col = startCol; col < endCol; col++) {
+                int x = col * size - cameraX;
+                int maskState = masked ? snapshot.getMaskState(col, row) : TileManager.MASK_CLEAR;
+                if (maskState < 0 || maskState == TileManager.MASK_HIDDEN) {
+                    continue; // Left as background, like the mask fill
+                }
+                int index = indexes[col][row];
+                SourceRaster tile = index >= 0 && index < tileRasters.length ? tileRasters[index] : null;
+                if (tile != null) {
+                    if (tile.opaque) {
+                        copyRows(tile, x, y, startY, endY);
+                    } else {
+                        drawSprite(tile, x, y, startY, endY);
+                    }
+                }
+                if (maskState == TileManager.MASK_DIMMED) {
+                    darken(x, y, size, size, FOG_ALPHA, startY, endY);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy an opaque source row by row, clipped to the stripe
+     */
+    private void copyRows(SourceRaster source, int x, int y, int startY, int endY) {
+        int fromX = Math.max(x, clipX);
+        int toX = Math.min(x + source.width, clipEndX);
+        int fromY = Math.max(y, startY);
+        int toY = Math.min(y + source.height, endY);
+        if (fromX >= toX) {
+            return;
+        }
+        for (int row = fromY; row < toY; row++) {
+            System.arraycopy(source.pixels, (row - y) * source.width + fromX - x,
+                    pixels, row * frameWidth + fromX, toX - fromX);
+        }
+    }
+
+    /**
+     * Blend a source with alpha over the frame, clipped to the stripe
+     */
+    private void drawSprite(SourceRaster source, int x, int y, int startY, int endY) {
+        int fromX = Math.max(x, clipX);
+        int toX = Math.min(x + source.width, clipEndX);
+        int fromY = Math.max(y, startY);
+        int toY = Math.min(y + source.height, endY);
+        for (int row = fromY; row < toY; row++) {
+            int sourceIndex = (row - y) * source.width + fromX - x;
+            int frameIndex = row * frameWidth + fromX;
+            for (int column = fromX; column < toX; column++, sourceIndex++, frameIndex++) {
+                int argb = source.pixels[sourceIndex];
+                int alpha = argb >>> 24;
+                if (alpha == 0xFF) {
+                    pixels[frameIndex] = argb & 0xFFFFFF;
+                } else if (alpha != 0) {
+                    pixels[frameIndex] = blend(argb, pixels[frameIndex], alpha);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fill a rectangle with an RGBA8888 colour blended over the frame,
+     * quantised to 4 bits per channel like the Graphics2D particle colours
+     */
+    private void fillBlended(int x, int y, int width, int height, int rgba, int startY, int endY) {
+        int alpha = (rgba >>> 4 & 0xF) * 17;
+        if (alpha == 0) {
+            return;
+        }
+        int argb = (rgba >>> 28) * 17 << 16 | (rgba >>> 20 & 0xF) * 17 << 8 | (rgba >>> 12 & 0xF) * 17;
+        int fromX = Math.max(x, clipX);
+        int toX = Math.min(x + width, clipEndX);
+        int fromY = Math.max(y, startY);
+        int toY = Math.min(y + height, endY);
+        for (int row = fromY; row < toY; row++) {
+            int frameIndex = row * frameWidth + fromX;
+            for (int column = fromX; column < toX; column++, frameIndex++) {
+                pixels[frameIndex] = blend(argb, pixels[frameIndex], alpha);
+            }
+        }
+    }
+
+    /**
+     * Blend black with alpha over a rectangle, as the fog colour does
+     */
+    private void darken(int x, int y, int width, int height, int alpha, int startY, int endY) {
+        int keep = 255 - alpha;
+        int fromX = Math.max(x, clipX);
+        int toX = Math.min(x + width, clipEndX);
+        int fromY = Math.max(y, startY);
+        int toY = Math.min(y + height, endY);
+        for (int row = fromY; row < toY; row++) {
+            int frameIndex = row * frameWidth + fromX;
+            for (int column = fromX; column < toX; column++, frameIndex++) {
+                int rgb = pixels[frameIndex];
+                pixels[frameIndex] = ((rgb >>> 16 & 0xFF) * keep / 255) << 16
+                        | ((rgb >>> 8 & 0xFF) * keep / 255) << 8
+                        | (rgb & 0xFF) * keep / 255;
+            }
+        }
+    }
+
+    /**
+     * Blend the RGB of a colour over an opaque pixel with alpha (0-255)
+     */
+    private static int blend(int source, int destination, int alpha) {
+        int keep = 255 - alpha;
+        int red = ((source >>> 16 & 0xFF) * alpha + (destination >>> 16 & 0xFF) * keep) / 255;
+        int green = ((source >>> 8 & 0xFF) * alpha + (destination >>> 8 & 0xFF) * keep) / 255;
+        int blue = ((source & 0xFF) * alpha + (destination & 0xFF) * keep) / 255;
+        return red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Splits the rows of the clip area in half until each part is one stripe
+     */
+    private final class StripeTask extends RecursiveAction {
+        private final int startY;
+        private final int endY;
+
+        StripeTask(int startY, int endY) {
+            this.startY = startY;
+            this.endY = endY;
+        }
+
+        @Override
+        protected void compute() {
+            if (endY - startY <= stripeHeight) {
+                rasterizeStripe(startY, endY);
+                return;
+            }
+            // Split on a whole number of stripes
+            int middle = startY + (endY - startY + stripeHeight) / (2 * stripeHeight) * stripeHeight;
+            invokeAll(new StripeTask(startY, middle), new StripeTask(middle, endY));
+        }
+    }
+
+    /**
+     * Non-premultiplied ARGB pixels of a source image
+     */
+    private static final class SourceRaster {
+        final int width;
+        final int height;
+        final int[] pixels;
+        final boolean opaque;
+
+        SourceRaster(BufferedImage image) {
+            width = image.getWidth();
+            height = image.getHeight();
+            pixels = image.getRGB(0, 0, width, height, null, 0, width);
+            boolean allOpaque = true;
+            for (int argb : pixels) {
+                if (argb >>> 24 != 0xFF) {
+                    allOpaque = false;
+                    break;
+                }
+            }
+            opaque = allOpaque;
+        }
+    }
+}
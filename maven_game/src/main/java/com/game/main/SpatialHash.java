@@ -0,0 +1,288 @@
+package com.game.main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid of world cells for finding items near a rectangle
+ *
+ * Items are registered with their world bounds and listed in every cell
+ * those bounds overlap, so a query only looks at the cells it covers and
+ * costs as much as the items nearby, not the total count. Cells are created
+ * on demand, so the grid has no fixed size. Items are compared by identity.
+ *
+ * Cells live in an open-addressing table keyed by the packed primitive
+ * (col, row), so lookups never box a key. Emptied cell lists are kept for
+ * reuse, so once the table has grown, moving items and querying allocate
+ * nothing.
+ *
+ * @param <T> The item type
+ */
+public class SpatialHash<T> {
+    private static final int INITIAL_TABLE_SIZE = 64; // Power of two
+
+    private final int cellSize;
+    private long[] cellKeys = new long[INITIAL_TABLE_SIZE];
+    private Object[] cellLists = new Object[INITIAL_TABLE_SIZE]; // Null marks an empty slot
+    private int cellCount;
+    private final List<List<Entry<T>>> spareLists = new ArrayList<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /**
+     * @param cellSize Cell width and height in world pixels
+     */
+    public SpatialHash(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add an item with its world bounds, or move it if it's already added
+     */
+    public void insert(T item, float x, float y, float width, float height) {
+        Entry<T> entry = entries.get(item);
+        if (entry != null) {
+            move(item, x, y, width, height);
+            return;
+        }
+        entry = new Entry<>(item);
+        entry.setBounds(cellOf(x), cellOf(y), cellOf(x + width), cellOf(y + height));
+        entries.put(item, entry);
+        addToCells(entry);
+    }
+
+    /**
+     * Update an item's world bounds; only touches the cells when the item
+     * crossed into different ones
+     *
+     * @return false if the item was never added
+     */
+    public boolean move(T item, float x, float y, float width, float height) {
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            return false;
+        }
+        int minCol = cellOf(x);
+        int minRow = cellOf(y);
+        int maxCol = cellOf(x + width);
+        int maxRow = cellOf(y + height);
+        if (minCol != entry.minCol || minRow != entry.minRow || maxCol != entry.maxCol || maxRow != entry.maxRow) {
+            removeFromCells(entry);
+            entry.setBounds(minCol, minRow, maxCol, maxRow);
+            addToCells(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Remove an item
+     *
+     * @return false if the item was never added
+     */
+    public boolean remove(T item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        removeFromCells(entry);
+        return true;
+    }
+
+    /**
+     * Collect the items in the cells a world rectangle overlaps, each once
+     * The items are candidates: their exact bounds still need testing.
+     *
+     * @param out Cleared, then filled with the items found
+     * @return out
+     */
+    public List<T> query(float x, float y, float width, float height, List<T> out) {
+        out.clear();
+        int minCol = cellOf(x);
+        int minRow = cellOf(y);
+        int maxCol = cellOf(x + width);
+        int maxRow = cellOf(y + height);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int slot = findSlot(key(col, row));
+                if (slot < 0) {
+                    continue;
+                }
+                List<Entry<T>> cell = cellAt(slot);
+                for (int i = 0, n = cell.size(); i < n; i++) {
+                    Entry<T> entry = cell.get(i);
+                    // Items spanning several cells are reported only from the
+                    // first of their cells the query covers
+                    if (col == Math.max(entry.minCol, minCol) && row == Math.max(entry.minRow, minRow)) {
+                        out.add(entry.item);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    public boolean contains(T item) {
+        return entries.containsKey(item);
+    }
+
+    public void clear() {
+        Arrays.fill(cellLists, null);
+        cellCount = 0;
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private int cellOf(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private void addToCells(Entry<T> entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                cellFor(key(col, row)).add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry<T> entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                int slot = findSlot(key(col, row));
+                if (slot >= 0) {
+                    List<Entry<T>> cell = cellAt(slot);
+                    if (cell.remove(entry) && cell.isEmpty()) {
+                        removeSlot(slot);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long key(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        // Fibonacci hashing spreads neighbouring cells over the table
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @SuppressWarnings("unchecked") // Only cell lists are stored
+    private List<Entry<T>> cellAt(int slot) {
+        return (List<Entry<T>>) cellLists[slot];
+    }
+
+    /**
+     * Find the table slot of a cell
+     *
+     * @return The slot, or -1 if the cell has no items
+     */
+    private int findSlot(long key) {
+        int mask = cellKeys.length - 1;
+        for (int slot = hash(key) & mask; cellLists[slot] != null; slot = (slot + 1) & mask) {
+            if (cellKeys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a cell's item list, adding the cell if it's new
+     */
+    private List<Entry<T>> cellFor(long key) {
+        int mask = cellKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (cellLists[slot] != null) {
+            if (cellKeys[slot] == key) {
+                return cellAt(slot);
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        List<Entry<T>> cell = spareLists.isEmpty() ? new ArrayList<>() : spareLists.remove(spareLists.size() - 1);
+        cellKeys[slot] = key;
+        cellLists[slot] = cell;
+        cellCount++;
+        if (cellCount * 4 > cellKeys.length * 3) {
+            growTable();
+        }
+        return cell;
+    }
+
+    /**
+     * Remove an emptied cell, shifting back later cells of the same probe run
+     * so lookups never need tombstones
+     */
+    private void removeSlot(int slot) {
+        spareLists.add(cellAt(slot));
+        int mask = cellKeys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; cellLists[next] != null; next = (next + 1) & mask) {
+            int home = hash(cellKeys[next]) & mask;
+            // Move the cell into the hole if the hole lies between its home slot and where it is
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                cellKeys[hole] = cellKeys[next];
+                cellLists[hole] = cellLists[next];
+                hole = next;
+            }
+        }
+        cellLists[hole] = null;
+        cellCount--;
+    }
+
+    private void growTable() {
+        long[] oldKeys = cellKeys;
+        Object[] oldLists = cellLists;
+        cellKeys = new long[oldKeys.length * 2];
+        cellLists = new Object[oldLists.length * 2];
+        int mask = cellKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldLists[i] == null) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (cellLists[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            cellKeys[slot] = oldKeys[i];
+            cellLists[slot] = oldLists[i];
+        }
+    }
+
+    /**
+     * An item and the range of cells it's listed in
+     */
+    private static final class Entry<T> {
+        final T item;
+        int minCol, minRow, maxCol, maxRow;
+
+        Entry(T item) {
+            this.item = item;
+        }
+
+        void setBounds(int minCol, int minRow, int maxCol, int maxRow) {
+            this.minCol = minCol;
+            this.minRow = minRow;
+            this.maxCol = maxCol;
+            this.maxRow = maxRow;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.game.main;
+
+/**
+ * Reusable character buffer for text that changes every frame (HUD counters)
+ *
+ * Numbers are written straight into the char array, so updating a label does
+ * not allocate. Text is rewritten between begin() and end(), and end() reports
+ * whether the content actually changed so callers only re-layout when needed.
+ */
+public class TextBuffer implements CharSequence {
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000};
+
+    private char[] chars;
+    private int length = 0;
+
+    // Write position and change tracking while rewriting
+    private int position = 0;
+    private boolean changed = true;
+
+    // Scratch space for writing digits in reverse
+    private final char[] digits = new char[20];
+
+    public TextBuffer() {
+        this(32);
+    }
+
+    public TextBuffer(int capacity) {
+        chars = new char[Math.max(1, capacity)];
+    }
+
+    /**
+     * Start rewriting the buffer from the beginning
+     */
+    public TextBuffer begin() {
+        position = 0;
+        return this;
+    }
+
+    /**
+     * Finish rewriting the buffer
+     *
+     * @return true if the content differs from what it held before begin()
+     */
+    public boolean end() {
+        if (position != length) {
+            changed = true;
+        }
+        length = position;
+        boolean result = changed;
+        changed = false;
+        return result;
+    }
+
+    public TextBuffer append(char c) {
+        if (position == chars.length) {
+            grow(position + 1);
+        }
+        if (position >= length || chars[position] != c) {
+            changed = true;
+        }
+        chars[position++] = c;
+        return this;
+    }
+
+    public TextBuffer append(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++) {
+            append(text.charAt(i));
+        }
+        return this;
+    }
+
+    public TextBuffer append(long value) {
+        if (value < 0) {
+            append('-');
+            if (value == Long.MIN_VALUE) {
+                // Can't be negated, write the last digit separately
+                append(-(value / 10));
+                return append((char) ('0' - (value % 10)));
+            }
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        while (count > 0) {
+            append(digits[--count]);
+        }
+        return this;
+    }
+
+    public TextBuffer append(int value) {
+        return append((long) value);
+    }
+
+    /**
+     * Append a float with a fixed number of decimals (0-5), rounded half up
+     */
+    public TextBuffer append(float value, int decimals) {
+        decimals = Math.max(0, Math.min(decimals, POWERS_OF_TEN.length - 1));
+        int scale = POWERS_OF_TEN[decimals];
+        long scaled = Math.round(Math.abs((double) value) * scale);
+        if (value < 0 && scaled != 0) {
+            append('-');
+        }
+        append(scaled / scale);
+        if (decimals > 0) {
+            append('.');
+            long fraction = scaled % scale;
+            for (int divisor = scale / 10; divisor > 0; divisor /= 10) {
+                append((char) ('0' + (fraction / divisor) % 10));
+            }
+        }
+        return this;
+    }
+
+    private void grow(int minCapacity) {
+        char[] grown = new char[Math.max(minCapacity, chars.length * 2)];
+        System.arraycopy(chars, 0, grown, 0, chars.length);
+        chars = grown;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
@@ -0,0 +1,61 @@
+package com.game.main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer handing values from one writer thread to one
+ * reader thread
+ *
+ * The writer fills the back value and publishes it; the reader always gets
+ * the most recently published value. Neither side ever waits for the other,
+ * and the three values are reused, so nothing is allocated after
+ * construction. The value the reader holds is never written until it reads
+ * again, and the latest published value is never written before the next
+ * publish.
+ *
+ * @param <T> The value type
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // Set while the middle value hasn't been read
+
+    private final Object[] values = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1); // Middle index, plus FRESH
+    private int back = 0; // Only touched by the writer
+    private int front = 2; // Only touched by the reader
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = factory.get();
+        }
+    }
+
+    /**
+     * Get the value the writer may fill
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack() {
+        return (T) values[back];
+    }
+
+    /**
+     * Hand the back value to the reader and take the unread or released one
+     * in its place
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Get the most recently published value, or the last one read if nothing
+     * new was published
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) values[front];
+    }
+}
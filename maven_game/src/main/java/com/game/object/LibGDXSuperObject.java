@@ -1,8 +1,9 @@
 package com.game.object;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.game.libgdx.RenderQueue;
 import com.game.main.GameConfig;
 import com.game.main.LibGDXResourceManager;
 
@@ -11,7 +12,7 @@ import com.game.main.LibGDXResourceManager;
  * Handles game objects using LibGDX rendering system
  */
 public class LibGDXSuperObject {
-    private Texture texture;
+    private TextureRegion region;
     private String name;
     private boolean collision = false;
     private float worldX, worldY;
@@ -31,14 +32,16 @@ public class LibGDXSuperObject {
     }
 
     private void loadTexture() {
-        this.texture = resourceManager.loadObject(name);
+        this.region = resourceManager.loadObject(name);
     }
 
+    /**
+     * Place the solid area in world space; the defaults are its offset from
+     * the object's position
+     */
     private void setupSolidArea() {
-        solidArea.x = worldX;
-        solidArea.y = worldY;
-        solidAreaDefaultX = (int) solidArea.x;
-        solidAreaDefaultY = (int) solidArea.y;
+        solidArea.x = worldX + solidAreaDefaultX;
+        solidArea.y = worldY + solidAreaDefaultY;
     }
 
     public void update(float deltaTime) {
@@ -46,11 +49,19 @@ public class LibGDXSuperObject {
     }
 
     public void render(SpriteBatch spriteBatch) {
-        if (texture != null) {
-            spriteBatch.draw(texture, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        if (region != null) {
+            spriteBatch.draw(region, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
         }
     }
 
+    /**
+     * Queue the object sprite for depth-sorted drawing
+     */
+    public void render(RenderQueue renderQueue) {
+        renderQueue.submit(region, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE,
+                RenderQueue.LAYER_OBJECTS);
+    }
+
     // Getters and setters
     public String getName() {
         return name;
@@ -90,7 +101,7 @@ public class LibGDXSuperObject {
         return solidArea;
     }
 
-    public Texture getTexture() {
-        return texture;
+    public TextureRegion getRegion() {
+        return region;
     }
 }
\ No newline at end of file
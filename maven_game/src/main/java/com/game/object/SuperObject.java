@@ -20,7 +20,7 @@ public class SuperObject {
     public int solidAreaDefaultY = 0;
 
     public void draw(Graphics2D g2, GamePanel gamePanel) {
-        g2.drawImage(image, worldX, worldY, GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
+        g2.drawImage(image, worldX, worldY, null); // Already TILE_SIZE
     }
 
     // Getters and setters
@@ -1,13 +1,23 @@
 package com.game;
 
 import com.game.main.BSPDungeonGenerator;
+import com.game.main.MapArchive;
 import com.game.main.MapLogger;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Test program for BSP dungeon generation
  */
 public class test_bsp_generation {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Optionally log into an archive instead of loose files: --archive <dir>
+        MapArchive archive = null;
+        if (args.length >= 2 && args[0].equals("--archive")) {
+            archive = new MapArchive(Paths.get(args[1]));
+            MapLogger.setArchive(archive);
+        }
+
         System.out.println("Testing BSP Dungeon Generator");
         System.out.println("=============================");
 
@@ -25,6 +35,12 @@ public class test_bsp_generation {
         }
 
         System.out.println("\nAll BSP tests completed!");
+
+        if (archive != null) {
+            MapLogger.setArchive(null);
+            System.out.println("Archived maps: " + archive.size());
+            archive.close();
+        }
     }
 
     private static void testMapGeneration(int width, int height) {
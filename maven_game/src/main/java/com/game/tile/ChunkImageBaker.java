@@ -0,0 +1,117 @@
+package com.game.tile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Bakes downsampled images of map chunks on the CPU
+ *
+ * Every tile image is box-filtered once per level up front, so baking a chunk
+ * is just copying the small tile images into place. The baker only reads its
+ * own immutable data and may be used from any thread.
+ */
+public class ChunkImageBaker {
+    private final int tileSize;
+    private final int levels;
+    // Downsampled tile texels as RGBA8888, indexed [level - 1][tileIndex], top row first
+    private final int[][][] levelTexels;
+
+    /**
+     * @param tileTexels Full size tile texels as RGBA8888 (top row first),
+     *                   indexed by tile index; null for unused indexes
+     * @param tileSize   Tile size in texels, a power of two
+     * @param levels     Number of levels to prepare, level n is 2^n times smaller
+     */
+    public ChunkImageBaker(int[][] tileTexels, int tileSize, int levels) {
+        this.tileSize = tileSize;
+        this.levels = levels;
+        this.levelTexels = new int[levels][][];
+        for (int level = 1; level <= levels; level++) {
+            int[][] downsampled = new int[tileTexels.length][];
+            for (int tileIndex = 0; tileIndex < tileTexels.length; tileIndex++) {
+                if (tileTexels[tileIndex] != null) {
+                    downsampled[tileIndex] = downsample(tileTexels[tileIndex], tileSize, level);
+                }
+            }
+            levelTexels[level - 1] = downsampled;
+        }
+    }
+
+    /**
+     * Average each 2^level square of texels, weighting colour by alpha so
+     * transparent texels don't darken the edges
+     */
+    private static int[] downsample(int[] texels, int size, int level) {
+        int factor = 1 << level;
+        int outSize = Math.max(1, size >> level);
+        int[] out = new int[outSize * outSize];
+        for (int outY = 0; outY < outSize; outY++) {
+            for (int outX = 0; outX < outSize; outX++) {
+                long r = 0, g = 0, b = 0, a = 0;
+                int samples = 0;
+                for (int y = outY * factor; y < Math.min(size, (outY + 1) * factor); y++) {
+                    for (int x = outX * factor; x < Math.min(size, (outX + 1) * factor); x++) {
+                        int rgba = texels[y * size + x];
+                        int alpha = rgba & 0xFF;
+                        r += (long) (rgba >>> 24) * alpha;
+                        g += (long) ((rgba >>> 16) & 0xFF) * alpha;
+                        b += (long) ((rgba >>> 8) & 0xFF) * alpha;
+                        a += alpha;
+                        samples++;
+                    }
+                }
+                int pixel = 0;
+                if (a > 0) {
+                    pixel = (int) (r / a) << 24 | (int) (g / a) << 16 | (int) (b / a) << 8 | (int) (a / samples);
+                }
+                out[outY * outSize + outX] = pixel;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Get the size in texels of one tile at a level
+     */
+    public int getTileSize(int level) {
+        return Math.max(1, tileSize >> level);
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Bake a chunk at a level into RGBA bytes, bottom row first so the
+     * buffer can be uploaded straight into a texture drawn in world space
+     *
+     * @param tileIndexes Tile indexes of the chunk, indexed [col * rows + row]
+     *                    with row 0 at the bottom
+     * @param cols        Chunk width in tiles
+     * @param rows        Chunk height in tiles
+     * @param out         Receives cols * rows * getTileSize(level)^2 * 4 bytes
+     */
+    public void bake(int[] tileIndexes, int cols, int rows, int level, ByteBuffer out) {
+        int[][] tiles = levelTexels[level - 1];
+        int size = getTileSize(level);
+        int rowBytes = cols * size * 4;
+        out.clear();
+        out.order(ByteOrder.BIG_ENDIAN); // RGBA8888 ints become R, G, B, A bytes
+        for (int col = 0; col < cols; col++) {
+            for (int row = 0; row < rows; row++) {
+                int tileIndex = tileIndexes[col * rows + row];
+                int[] texels = tileIndex >= 0 && tileIndex < tiles.length ? tiles[tileIndex] : null;
+                for (int y = 0; y < size; y++) {
+                    // Tile texels are stored top row first, the chunk image bottom row first
+                    int position = (row * size + y) * rowBytes + col * size * 4;
+                    int source = (size - 1 - y) * size;
+                    for (int x = 0; x < size; x++) {
+                        out.putInt(position + x * 4, texels != null ? texels[source + x] : 0);
+                    }
+                }
+            }
+        }
+        out.limit(rows * size * rowBytes);
+        out.position(0);
+    }
+}
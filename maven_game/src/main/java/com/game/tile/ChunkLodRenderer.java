@@ -0,0 +1,401 @@
+package com.game.tile;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.game.libgdx.VisibilityService;
+import com.game.main.GameConfig;
+import com.game.main.LibGDXResourceManager;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Level-of-detail tile renderer for zoomed out views
+ *
+ * Each chunk of the tile layer also has images downsampled 2x, 4x and 8x,
+ * baked on a background thread and packed into page textures. When the camera
+ * is zoomed out far enough every visible chunk is drawn as one textured quad
+ * instead of its individual tiles.
+ *
+ * The coarsest level is baked for the whole map whenever it changes so there
+ * is always something to draw; finer levels are baked on demand for visible
+ * chunks, and their pages are released again after a while unused.
+ */
+public class ChunkLodRenderer implements TileChangeListener {
+    public static final int LEVELS = 3; // 2x, 4x and 8x downsampled
+    private static final int PAGE_SIZE = 1024; // Page texture size in texels
+    private static final int UPLOADS_PER_FRAME = 32; // Bounds the upload cost of a single frame
+    private static final int PAGE_IDLE_FRAMES = 600; // Release finer pages unused for this long
+
+    private final LibGDXTileManager tileManager;
+    private final int chunkSize = LibGDXTileManager.CHUNK_SIZE;
+    private final int chunkCols;
+    private final int chunkRows;
+
+    // Chunk versions, bumped on every change; a baked image is current when its
+    // version matches. Indexed [level - 1][chunk], -1 when there is no image
+    private final int[] chunkVersion;
+    private final int[][] bakedVersion;
+    private final int[][] requestedVersion;
+
+    // Page textures per level, created when their first chunk is uploaded
+    private final Texture[][] pages;
+    private final long[][] pageLastUsed;
+    private final int[] pagesPerRow;
+    private long frame = 0;
+
+    // Background baking
+    private ChunkImageBaker baker;
+    private ExecutorService executor;
+    private final Queue<BakedChunk> finished = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+    private boolean bakeAllCoarse = true;
+
+    private int renderCalls = 0;
+    private int chunksDrawn = 0;
+
+    /**
+     * A chunk image waiting to be uploaded on the GL thread
+     */
+    private static final class BakedChunk {
+        final int level;
+        final int chunk;
+        final int version;
+        final int width;
+        final int height;
+        final ByteBuffer pixels;
+
+        BakedChunk(int level, int chunk, int version, int width, int height, ByteBuffer pixels) {
+            this.level = level;
+            this.chunk = chunk;
+            this.version = version;
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+    }
+
+    public ChunkLodRenderer(LibGDXTileManager tileManager) {
+        this.tileManager = tileManager;
+        this.chunkCols = (tileManager.getMapWidth() + chunkSize - 1) / chunkSize;
+        this.chunkRows = (tileManager.getMapHeight() + chunkSize - 1) / chunkSize;
+        int chunks = chunkCols * chunkRows;
+        this.chunkVersion = new int[chunks];
+        this.bakedVersion = new int[LEVELS][chunks];
+        this.requestedVersion = new int[LEVELS][chunks];
+        this.pages = new Texture[LEVELS][];
+        this.pageLastUsed = new long[LEVELS][];
+        this.pagesPerRow = new int[LEVELS];
+        for (int level = 1; level <= LEVELS; level++) {
+            int chunksPerPage = getChunksPerPage(level);
+            int pageCols = (chunkCols + chunksPerPage - 1) / chunksPerPage;
+            int pageRows = (chunkRows + chunksPerPage - 1) / chunksPerPage;
+            pagesPerRow[level - 1] = pageCols;
+            pages[level - 1] = new Texture[pageCols * pageRows];
+            pageLastUsed[level - 1] = new long[pageCols * pageRows];
+            Arrays.fill(bakedVersion[level - 1], -1);
+            Arrays.fill(requestedVersion[level - 1], -1);
+        }
+        tileManager.addTileChangeListener(this);
+    }
+
+    /**
+     * Pick the level for a texel density
+     *
+     * @param texelsPerPixel Tile texels covered by one screen pixel
+     * @return 0 to draw individual tiles, otherwise the level to draw
+     */
+    public static int selectLevel(float texelsPerPixel) {
+        int level = 0;
+        while (level < LEVELS && texelsPerPixel >= (2 << level)) {
+            level++;
+        }
+        return level;
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        // Keep showing the old image until the new one is baked
+        chunkVersion[(row / chunkSize) * chunkCols + col / chunkSize]++;
+    }
+
+    @Override
+    public void mapChanged() {
+        for (int chunk = 0; chunk < chunkVersion.length; chunk++) {
+            chunkVersion[chunk]++;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            Arrays.fill(bakedVersion[level], -1);
+            Arrays.fill(requestedVersion[level], -1);
+        }
+        bakeAllCoarse = true;
+    }
+
+    /**
+     * Draw every visible chunk as one quad
+     * Must be called outside of any SpriteBatch begin/end pair
+     *
+     * @param spriteBatch The batch used to submit the quads
+     * @param projection  The world projection matrix
+     * @param visibility  The visible area for this frame
+     * @param level       The level to draw, from selectLevel()
+     */
+    public void render(SpriteBatch spriteBatch, Matrix4 projection, VisibilityService visibility, int level) {
+        if (baker == null) {
+            createBaker();
+        }
+        frame++;
+        uploadFinished();
+        if (bakeAllCoarse) {
+            for (int chunk = 0; chunk < chunkVersion.length; chunk++) {
+                requestBake(LEVELS, chunk);
+            }
+            bakeAllCoarse = false;
+        }
+
+        int startChunkX = visibility.getStartCol() / chunkSize;
+        int endChunkX = Math.min(chunkCols, (visibility.getEndCol() + chunkSize - 1) / chunkSize);
+        int startChunkY = visibility.getStartRow() / chunkSize;
+        int endChunkY = Math.min(chunkRows, (visibility.getEndRow() + chunkSize - 1) / chunkSize);
+
+        // Walk page by page so consecutive quads share a texture
+        int chunksPerPage = getChunksPerPage(level);
+        chunksDrawn = 0;
+        spriteBatch.setProjectionMatrix(projection);
+        spriteBatch.begin();
+        for (int pageY = startChunkY / chunksPerPage; pageY * chunksPerPage < endChunkY; pageY++) {
+            for (int pageX = startChunkX / chunksPerPage; pageX * chunksPerPage < endChunkX; pageX++) {
+                int maxChunkY = Math.min(endChunkY, (pageY + 1) * chunksPerPage);
+                int maxChunkX = Math.min(endChunkX, (pageX + 1) * chunksPerPage);
+                for (int chunkY = Math.max(startChunkY, pageY * chunksPerPage); chunkY < maxChunkY; chunkY++) {
+                    for (int chunkX = Math.max(startChunkX, pageX * chunksPerPage); chunkX < maxChunkX; chunkX++) {
+                        if (!tileManager.isChunkCulled(chunkX, chunkY)) {
+                            drawChunk(spriteBatch, chunkY * chunkCols + chunkX, level);
+                        }
+                    }
+                }
+            }
+        }
+        spriteBatch.end();
+        renderCalls = spriteBatch.renderCalls;
+
+        int visibleTiles = Math.max(0, (visibility.getEndCol() - visibility.getStartCol())
+                * (visibility.getEndRow() - visibility.getStartRow()));
+        int totalTiles = tileManager.getMapWidth() * tileManager.getMapHeight();
+        visibility.recordTiles(visibleTiles, totalTiles - visibleTiles);
+
+        if (frame % 60 == 0) {
+            releaseIdlePages();
+        }
+    }
+
+    /**
+     * Draw a chunk at the requested level, or at the coarsest level while the
+     * requested one is still being baked
+     */
+    private void drawChunk(SpriteBatch spriteBatch, int chunk, int level) {
+        requestBake(level, chunk);
+        int drawLevel = bakedVersion[level - 1][chunk] >= 0 ? level : LEVELS;
+        if (bakedVersion[drawLevel - 1][chunk] < 0) {
+            return;
+        }
+
+        int chunksPerPage = getChunksPerPage(drawLevel);
+        int chunkX = chunk % chunkCols;
+        int chunkY = chunk / chunkCols;
+        int page = (chunkY / chunksPerPage) * pagesPerRow[drawLevel - 1] + chunkX / chunksPerPage;
+        Texture texture = pages[drawLevel - 1][page];
+        pageLastUsed[drawLevel - 1][page] = frame;
+
+        int cols = Math.min(chunkSize, tileManager.getMapWidth() - chunkX * chunkSize);
+        int rows = Math.min(chunkSize, tileManager.getMapHeight() - chunkY * chunkSize);
+        int chunkTexels = chunkSize * baker.getTileSize(drawLevel);
+        float u = (chunkX % chunksPerPage) * chunkTexels / (float) PAGE_SIZE;
+        float v = (chunkY % chunksPerPage) * chunkTexels / (float) PAGE_SIZE;
+        float u2 = u + cols * baker.getTileSize(drawLevel) / (float) PAGE_SIZE;
+        float v2 = v + rows * baker.getTileSize(drawLevel) / (float) PAGE_SIZE;
+        spriteBatch.draw(texture,
+                chunkX * chunkSize * GameConfig.TILE_SIZE, chunkY * chunkSize * GameConfig.TILE_SIZE,
+                cols * GameConfig.TILE_SIZE, rows * GameConfig.TILE_SIZE,
+                u, v, u2, v2);
+        chunksDrawn++;
+    }
+
+    /**
+     * Queue a background bake if the chunk image at this level is out of date
+     */
+    private void requestBake(int level, int chunk) {
+        int version = chunkVersion[chunk];
+        if (requestedVersion[level - 1][chunk] == version) {
+            return;
+        }
+        requestedVersion[level - 1][chunk] = version;
+
+        // Snapshot the chunk's tiles on this thread, the map may change meanwhile
+        int startCol = (chunk % chunkCols) * chunkSize;
+        int startRow = (chunk / chunkCols) * chunkSize;
+        int cols = Math.min(chunkSize, tileManager.getMapWidth() - startCol);
+        int rows = Math.min(chunkSize, tileManager.getMapHeight() - startRow);
+        int[][] tileIndexes = tileManager.getTileIndexes();
+        int[] snapshot = new int[cols * rows];
+        for (int col = 0; col < cols; col++) {
+            System.arraycopy(tileIndexes[startCol + col], startRow, snapshot, col * rows, rows);
+        }
+
+        executor.execute(() -> {
+            ByteBuffer pixels = freeBuffers.poll();
+            if (pixels == null) {
+                pixels = BufferUtils.newByteBuffer(getMaxChunkBytes());
+            }
+            baker.bake(snapshot, cols, rows, level, pixels);
+            int size = baker.getTileSize(level);
+            finished.add(new BakedChunk(level, chunk, version, cols * size, rows * size, pixels));
+        });
+    }
+
+    /**
+     * Copy baked chunks into their page textures
+     */
+    private void uploadFinished() {
+        boolean unpackAlignmentSet = false;
+        for (int uploads = 0; uploads < UPLOADS_PER_FRAME; uploads++) {
+            BakedChunk baked = finished.poll();
+            if (baked == null) {
+                break;
+            }
+            int level = baked.level;
+            int chunk = baked.chunk;
+            // Drop images of chunks that changed again while being baked
+            if (baked.version == chunkVersion[chunk] && requestedVersion[level - 1][chunk] == baked.version) {
+                int chunksPerPage = getChunksPerPage(level);
+                int chunkX = chunk % chunkCols;
+                int chunkY = chunk / chunkCols;
+                int page = (chunkY / chunksPerPage) * pagesPerRow[level - 1] + chunkX / chunksPerPage;
+                Texture texture = pages[level - 1][page];
+                if (texture == null) {
+                    texture = new Texture(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888);
+                    texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+                    pages[level - 1][page] = texture;
+                    pageLastUsed[level - 1][page] = frame;
+                }
+                if (!unpackAlignmentSet) {
+                    Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+                    unpackAlignmentSet = true;
+                }
+                int chunkTexels = chunkSize * baker.getTileSize(level);
+                texture.bind();
+                Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0,
+                        (chunkX % chunksPerPage) * chunkTexels, (chunkY % chunksPerPage) * chunkTexels,
+                        baked.width, baked.height, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, baked.pixels);
+                bakedVersion[level - 1][chunk] = baked.version;
+            }
+            freeBuffers.add(baked.pixels);
+        }
+    }
+
+    /**
+     * Release pages of the finer levels that haven't been drawn for a while
+     */
+    private void releaseIdlePages() {
+        for (int level = 1; level < LEVELS; level++) {
+            Texture[] levelPages = pages[level - 1];
+            int chunksPerPage = getChunksPerPage(level);
+            for (int page = 0; page < levelPages.length; page++) {
+                if (levelPages[page] == null || frame - pageLastUsed[level - 1][page] < PAGE_IDLE_FRAMES) {
+                    continue;
+                }
+                levelPages[page].dispose();
+                levelPages[page] = null;
+
+                // Its chunks have to be baked again when they come back into view
+                int firstChunkX = (page % pagesPerRow[level - 1]) * chunksPerPage;
+                int firstChunkY = (page / pagesPerRow[level - 1]) * chunksPerPage;
+                for (int chunkY = firstChunkY; chunkY < Math.min(chunkRows, firstChunkY + chunksPerPage); chunkY++) {
+                    for (int chunkX = firstChunkX; chunkX < Math.min(chunkCols, firstChunkX + chunksPerPage); chunkX++) {
+                        bakedVersion[level - 1][chunkY * chunkCols + chunkX] = -1;
+                        requestedVersion[level - 1][chunkY * chunkCols + chunkX] = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the tile images back into texel arrays and start the bake thread
+     */
+    private void createBaker() {
+        int[][] tileTexels = new int[GameConfig.MAX_TILES][];
+        LibGDXResourceManager resourceManager = LibGDXResourceManager.getInstance();
+        int tileSize = GameConfig.ORIGINAL_TILE_SIZE;
+        for (int tileIndex = 0; tileIndex < GameConfig.MAX_TILES; tileIndex++) {
+            String tileName = tileManager.getTileName(tileIndex);
+            Pixmap pixmap = tileName != null ? resourceManager.loadTilePixmap(tileName) : null;
+            if (pixmap == null) {
+                continue;
+            }
+            int[] texels = new int[tileSize * tileSize];
+            for (int y = 0; y < tileSize; y++) {
+                for (int x = 0; x < tileSize; x++) {
+                    // Sample in case an image isn't exactly one tile in size
+                    texels[y * tileSize + x] = pixmap.getPixel(x * pixmap.getWidth() / tileSize,
+                            y * pixmap.getHeight() / tileSize);
+                }
+            }
+            pixmap.dispose();
+            tileTexels[tileIndex] = texels;
+        }
+        baker = new ChunkImageBaker(tileTexels, tileSize, LEVELS);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chunk-lod-baker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private int getChunksPerPage(int level) {
+        return PAGE_SIZE / (chunkSize * Math.max(1, GameConfig.ORIGINAL_TILE_SIZE >> level));
+    }
+
+    private int getMaxChunkBytes() {
+        int texels = chunkSize * baker.getTileSize(1);
+        return texels * texels * 4;
+    }
+
+    /**
+     * Get the number of draw calls issued for tiles last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    public int getChunksDrawn() {
+        return chunksDrawn;
+    }
+
+    /**
+     * Stop the bake thread and release the page textures
+     */
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        for (Texture[] levelPages : pages) {
+            for (int page = 0; page < levelPages.length; page++) {
+                if (levelPages[page] != null) {
+                    levelPages[page].dispose();
+                    levelPages[page] = null;
+                }
+            }
+        }
+        finished.clear();
+    }
+}
@@ -1,12 +1,21 @@
 package com.game.tile;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.game.main.FrameAnimation;
 
 /**
  * LibGDX version of Tile class
- * Uses LibGDX Texture instead of BufferedImage for better GPU performance
+ * Uses an atlas TextureRegion instead of BufferedImage for better GPU performance
  */
 public class LibGDXTile {
-    public Texture texture;
+    public TextureRegion region;
     public boolean collision = false;
+    public FrameAnimation<TextureRegion> animation; // Null for static tiles
+
+    /**
+     * Get the region to draw this frame
+     */
+    public TextureRegion getRegion() {
+        return animation != null ? animation.getFrame() : region;
+    }
 }
\ No newline at end of file
@@ -1,45 +1,93 @@
 package com.game.tile;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.math.Matrix4;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import com.game.main.GameConfig;
 import com.game.main.LibGDXResourceManager;
 import com.game.main.BSPDungeonGenerator;
+import com.game.main.DungeonGraph;
+import com.game.main.FieldOfView;
+import com.game.main.FrameAnimation;
+import com.game.main.PortalCuller;
 import com.game.libgdx.LibGDXGame;
-import com.game.entity.LibGDXPlayer;
+import com.game.libgdx.VisibilityService;
 
 /**
  * LibGDX version of TileManager that handles tiles and BSP map generation
  * Uses LibGDX rendering system for better performance
+ *
+ * The tile layer is split into fixed-size chunks whose quads are recorded once
+ * into a SpriteCache and only re-recorded when one of their tiles changes.
+ * Animated tiles are kept out of the cache and listed per chunk, then drawn
+ * through the sprite batch with the frame of the global animation clock.
  */
 public class LibGDXTileManager {
+    // Chunk settings
+    public static final int CHUNK_SIZE = 16; // Tiles per chunk side
+
     private final LibGDXGame game;
     private final LibGDXResourceManager resourceManager;
-    private final OrthographicCamera camera;
     private LibGDXTile[] tile;
+    private final String[] tileNames;
     private int[][] tileIndexes;
     private final int mapWidth;
     private final int mapHeight;
     private BSPDungeonGenerator bspGenerator;
     private long currentSeed;
+    private final FieldOfView fieldOfView;
+    private final DungeonGraph dungeonGraph = new DungeonGraph();
+    private final PortalCuller portalCuller = new PortalCuller(dungeonGraph);
+    private boolean graphDirty = true;
+    private final List<TileChangeListener> listeners = new ArrayList<>();
+
+    // Cached chunk geometry (created lazily on the GL thread)
+    private final int chunkCols;
+    private final int chunkRows;
+    private final int[] chunkCacheIds;
+    private final int[] chunkCapacity;
+    private final boolean[] chunkDirty;
+    private final IntArray[] chunkAnimatedTiles; // Packed (col << 16 | row)
+    private SpriteCache tileCache;
+    private boolean rebuildAllChunks = true;
+    private boolean anyChunkDirty = false;
+    private int totalTiles = 0;
+    private int renderCalls = 0;
 
     public LibGDXTileManager(LibGDXGame game) {
+        this(game, System.currentTimeMillis());
+    }
+
+    /**
+     * @param seed Seed of the first map
+     */
+    public LibGDXTileManager(LibGDXGame game, long seed) {
         this.game = game;
         this.resourceManager = LibGDXResourceManager.getInstance();
-        this.camera = new OrthographicCamera();
         this.mapWidth = GameConfig.MAP_WIDTH;
         this.mapHeight = GameConfig.MAP_HEIGHT;
         this.tileIndexes = new int[mapWidth][mapHeight];
         this.tile = new LibGDXTile[GameConfig.MAX_TILES];
-        this.currentSeed = System.currentTimeMillis();
-
-        // Set camera map bounds
-        camera.setToOrtho(false, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-        camera.position.set(GameConfig.SCREEN_WIDTH / 2f, GameConfig.SCREEN_HEIGHT / 2f, 0);
+        this.tileNames = new String[GameConfig.MAX_TILES];
+        this.currentSeed = seed;
+        this.fieldOfView = new FieldOfView(mapWidth, mapHeight, GameConfig.FOV_RADIUS);
+        this.chunkCols = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkRows = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkCacheIds = new int[chunkCols * chunkRows];
+        this.chunkCapacity = new int[chunkCols * chunkRows];
+        this.chunkDirty = new boolean[chunkCols * chunkRows];
+        this.chunkAnimatedTiles = new IntArray[chunkCols * chunkRows];
+        for (int chunk = 0; chunk < chunkAnimatedTiles.length; chunk++) {
+            chunkAnimatedTiles[chunk] = new IntArray(false, 4);
+        }
 
         initialize();
-        generateNewMap();
+        generateMap(seed);
     }
 
     private void initialize() {
@@ -52,21 +100,21 @@ public class LibGDXTileManager {
     public void loadTileImages() {
         try {
             // Floor tiles
-            tile[0] = createTile("floor1", false);
-            tile[9] = createTile("floor2", false);
-            tile[10] = createTile("floor3", false);
+            createTile(0, "floor1", false);
+            createTile(9, "floor2", false);
+            createTile(10, "floor3", false);
 
             // Wall tiles
-            tile[1] = createTile("wallUp", true);
-            tile[2] = createTile("wallLeft", true);
-            tile[7] = createTile("wallDown", true);
-            tile[8] = createTile("wallRight", true);
+            createTile(1, "wallUp", true);
+            createTile(2, "wallLeft", true);
+            createTile(7, "wallDown", true);
+            createTile(8, "wallRight", true);
 
             // Corner tiles
-            tile[3] = createTile("wallCornerUpLeft", true);
-            tile[4] = createTile("wallCornerUpRight", true);
-            tile[5] = createTile("wallCornerDownLeft", true);
-            tile[6] = createTile("wallCornerDownRight", true);
+            createTile(3, "wallCornerUpLeft", true);
+            createTile(4, "wallCornerUpRight", true);
+            createTile(5, "wallCornerDownLeft", true);
+            createTile(6, "wallCornerDownRight", true);
 
         } catch (Exception e) {
             System.err.println("Error loading tile images: " + e.getMessage());
@@ -75,13 +123,45 @@ public class LibGDXTileManager {
     }
 
     /**
-     * Create a tile with collision property
+     * Create a tile with collision property at a tile index
      */
-    private LibGDXTile createTile(String tileName, boolean hasCollision) {
-        LibGDXTile tile = new LibGDXTile();
-        tile.texture = resourceManager.loadTile(tileName);
-        tile.collision = hasCollision;
-        return tile;
+    private void createTile(int tileIndex, String tileName, boolean hasCollision) {
+        LibGDXTile newTile = new LibGDXTile();
+        newTile.region = resourceManager.loadTile(tileName);
+        newTile.collision = hasCollision;
+        tile[tileIndex] = newTile;
+        tileNames[tileIndex] = tileName;
+    }
+
+    /**
+     * Define an animated tile, such as a torch or water
+     * The frame shown comes from the global animation clock
+     *
+     * @param tileIndex     The tile index to define
+     * @param frameDuration Seconds each frame is shown
+     * @param hasCollision  Whether the tile is solid
+     * @param frameNames    Tile image names of the frames, in order
+     */
+    public void setAnimatedTile(int tileIndex, float frameDuration, boolean hasCollision, String... frameNames) {
+        TextureRegion[] frames = new TextureRegion[frameNames.length];
+        for (int i = 0; i < frameNames.length; i++) {
+            frames[i] = resourceManager.loadTile(frameNames[i]);
+        }
+        LibGDXTile animatedTile = new LibGDXTile();
+        animatedTile.region = frames[0];
+        animatedTile.animation = new FrameAnimation<>(frameDuration, frames);
+        animatedTile.collision = hasCollision;
+        tile[tileIndex] = animatedTile;
+        tileNames[tileIndex] = frameNames[0];
+        for (int col = 0; col < mapWidth; col++) {
+            for (int row = 0; row < mapHeight; row++) {
+                if (tileIndexes[col][row] == tileIndex) {
+                    fieldOfView.setOpaque(col, row, isSolidTile(col, row));
+                }
+            }
+        }
+        rebuildAllChunks = true;
+        graphDirty = true;
     }
 
     /**
@@ -112,6 +192,11 @@ public class LibGDXTileManager {
 
         // Convert to tile indexes with smart wall detection
         convertMapToTiles(generatedMap, seed);
+        resetFieldOfView();
+        rebuildAllChunks = true;
+        for (TileChangeListener listener : listeners) {
+            listener.mapChanged();
+        }
 
         System.out.println("BSP dungeon generated and converted to tiles successfully");
     }
@@ -181,64 +266,247 @@ public class LibGDXTileManager {
     }
 
     /**
-     * Update camera and tile manager
+     * Update tile manager state
+     * The world camera itself is owned and clamped by LibGDXGame; the field of
+     * view is recomputed once the player steps onto another tile
      */
     public void update(float deltaTime) {
-        // Set camera target to player
-        LibGDXPlayer player = game.getPlayer();
-        if (player != null) {
-            // Follow player with camera
-            float targetX = player.getX() + GameConfig.TILE_SIZE / 2f;
-            float targetY = player.getY() + GameConfig.TILE_SIZE / 2f;
-
-            // Clamp camera to map boundaries
-            float cameraX = Math.max(GameConfig.SCREEN_WIDTH / 2f,
-                    Math.min(targetX, mapWidth * GameConfig.TILE_SIZE - GameConfig.SCREEN_WIDTH / 2f));
-            float cameraY = Math.max(GameConfig.SCREEN_HEIGHT / 2f,
-                    Math.min(targetY, mapHeight * GameConfig.TILE_SIZE - GameConfig.SCREEN_HEIGHT / 2f));
-
-            camera.position.set(cameraX, cameraY, 0);
+        if (game.getPlayer() != null) {
+            float centerX = game.getPlayer().getX() + GameConfig.TILE_SIZE / 2f;
+            float centerY = game.getPlayer().getY() + GameConfig.TILE_SIZE / 2f;
+            fieldOfView.update((int) Math.floor(centerX / GameConfig.TILE_SIZE),
+                    (int) Math.floor(centerY / GameConfig.TILE_SIZE));
+        }
+    }
+
+    /**
+     * Recompute which zones the player can see through the dungeon's portals
+     * Called after the visible area of the frame is known
+     */
+    public void updateCulling(VisibilityService visibility) {
+        if (!GameConfig.PORTAL_CULLING || game.getPlayer() == null) {
+            return;
+        }
+        if (graphDirty && bspGenerator != null) {
+            dungeonGraph.build(bspGenerator.getRooms(), fieldOfView);
+            graphDirty = false;
+        }
+        float centerX = game.getPlayer().getX() + GameConfig.TILE_SIZE / 2f;
+        float centerY = game.getPlayer().getY() + GameConfig.TILE_SIZE / 2f;
+        portalCuller.update((int) Math.floor(centerX / GameConfig.TILE_SIZE),
+                (int) Math.floor(centerY / GameConfig.TILE_SIZE),
+                visibility.getStartCol(), visibility.getStartRow(), visibility.getEndCol(), visibility.getEndRow());
+    }
+
+    /**
+     * Check if no chunk tile can be seen through the portals from the player
+     */
+    boolean isChunkCulled(int chunkX, int chunkY) {
+        return GameConfig.PORTAL_CULLING && !portalCuller.isAreaVisible(chunkX * CHUNK_SIZE, chunkY * CHUNK_SIZE,
+                chunkX * CHUNK_SIZE + CHUNK_SIZE - 1, chunkY * CHUNK_SIZE + CHUNK_SIZE - 1);
+    }
+
+    /**
+     * Render visible chunks from their cached geometry
+     * Must be called outside of any SpriteBatch begin/end pair
+     * 
+     * @param projection The world projection matrix
+     * @param visibility The visible area for this frame
+     */
+    public void render(Matrix4 projection, VisibilityService visibility) {
+        updateChunkCache();
+
+        // Chunks overlapping the visible tile range
+        int startChunkX = visibility.getStartCol() / CHUNK_SIZE;
+        int endChunkX = Math.min(chunkCols, (visibility.getEndCol() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        int startChunkY = visibility.getStartRow() / CHUNK_SIZE;
+        int endChunkY = Math.min(chunkRows, (visibility.getEndRow() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        // One draw per visible chunk
+        int submittedTiles = 0;
+        tileCache.setProjectionMatrix(projection);
+        tileCache.begin();
+        for (int chunkY = startChunkY; chunkY < endChunkY; chunkY++) {
+            for (int chunkX = startChunkX; chunkX < endChunkX; chunkX++) {
+                if (isChunkCulled(chunkX, chunkY)) {
+                    continue;
+                }
+                int chunk = chunkY * chunkCols + chunkX;
+                tileCache.draw(chunkCacheIds[chunk]);
+                submittedTiles += chunkCapacity[chunk];
+            }
         }
+        tileCache.end();
+        renderCalls = tileCache.renderCalls;
+        visibility.recordTiles(submittedTiles, totalTiles - submittedTiles);
+    }
 
-        // Update camera
-        camera.update();
+    /**
+     * Draw the animated tiles of visible chunks with the current clock frame
+     * Must be called between SpriteBatch begin and end, after render()
+     */
+    public void renderAnimated(SpriteBatch spriteBatch, VisibilityService visibility) {
+        int startChunkX = visibility.getStartCol() / CHUNK_SIZE;
+        int endChunkX = Math.min(chunkCols, (visibility.getEndCol() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        int startChunkY = visibility.getStartRow() / CHUNK_SIZE;
+        int endChunkY = Math.min(chunkRows, (visibility.getEndRow() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        for (int chunkY = startChunkY; chunkY < endChunkY; chunkY++) {
+            for (int chunkX = startChunkX; chunkX < endChunkX; chunkX++) {
+                IntArray animated = chunkAnimatedTiles[chunkY * chunkCols + chunkX];
+                for (int i = 0; i < animated.size; i++) {
+                    int col = animated.items[i] >>> 16;
+                    int row = animated.items[i] & 0xFFFF;
+                    if (GameConfig.PORTAL_CULLING && !portalCuller.isTileVisible(col, row)) {
+                        continue;
+                    }
+                    spriteBatch.draw(tile[tileIndexes[col][row]].getRegion(),
+                            col * GameConfig.TILE_SIZE, row * GameConfig.TILE_SIZE,
+                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record chunk geometry that is missing or out of date
+     */
+    private void updateChunkCache() {
+        if (tileCache == null) {
+            tileCache = new SpriteCache(mapWidth * mapHeight, false);
+            rebuildAllChunks = true;
+        }
+
+        if (!rebuildAllChunks && anyChunkDirty) {
+            for (int chunk = 0; chunk < chunkDirty.length; chunk++) {
+                if (chunkDirty[chunk] && !recordChunk(chunk, false)) {
+                    // Chunk outgrew its slot in the cache, start over
+                    rebuildAllChunks = true;
+                    break;
+                }
+            }
+            anyChunkDirty = false;
+        }
+
+        if (rebuildAllChunks) {
+            tileCache.clear();
+            totalTiles = 0;
+            for (int chunk = 0; chunk < chunkDirty.length; chunk++) {
+                recordChunk(chunk, true);
+                totalTiles += chunkCapacity[chunk];
+            }
+            rebuildAllChunks = false;
+            anyChunkDirty = false;
+        }
     }
 
     /**
-     * Render visible tiles using camera system
+     * Record the quads of one chunk into the sprite cache
+     * 
+     * @param chunk The chunk index
+     * @param fresh Whether to create a new cache entry instead of redefining
+     *              the existing one
+     * @return false if the existing entry is too small for the chunk
      */
-    public void render(SpriteBatch spriteBatch) {
-        // Get visible tile range from camera
-        float camLeft = camera.position.x - camera.viewportWidth / 2f;
-        float camRight = camera.position.x + camera.viewportWidth / 2f;
-        float camBottom = camera.position.y - camera.viewportHeight / 2f;
-        float camTop = camera.position.y + camera.viewportHeight / 2f;
-
-        int startCol = Math.max(0, (int) (camLeft / GameConfig.TILE_SIZE));
-        int endCol = Math.min(mapWidth, (int) (camRight / GameConfig.TILE_SIZE) + 1);
-        int startRow = Math.max(0, (int) (camBottom / GameConfig.TILE_SIZE));
-        int endRow = Math.min(mapHeight, (int) (camTop / GameConfig.TILE_SIZE) + 1);
-
-        // Draw only visible tiles for performance
+    private boolean recordChunk(int chunk, boolean fresh) {
+        int startCol = (chunk % chunkCols) * CHUNK_SIZE;
+        int startRow = (chunk / chunkCols) * CHUNK_SIZE;
+        int endCol = Math.min(mapWidth, startCol + CHUNK_SIZE);
+        int endRow = Math.min(mapHeight, startRow + CHUNK_SIZE);
+
+        int count = 0;
+        IntArray animated = chunkAnimatedTiles[chunk];
+        animated.clear();
         for (int col = startCol; col < endCol; col++) {
             for (int row = startRow; row < endRow; row++) {
-                if (col >= 0 && col < mapWidth && row >= 0 && row < mapHeight) {
-                    int tileIndex = tileIndexes[col][row];
-
-                    if (isValidTileIndex(tileIndex)) {
-                        // Calculate world position
-                        float worldX = col * GameConfig.TILE_SIZE;
-                        float worldY = row * GameConfig.TILE_SIZE;
-
-                        // Draw tile at world position (camera handles transformation)
-                        if (tile[tileIndex].texture != null) {
-                            spriteBatch.draw(tile[tileIndex].texture, worldX, worldY,
-                                    GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
-                        }
-                    }
+                int tileIndex = tileIndexes[col][row];
+                if (isAnimated(tileIndex)) {
+                    animated.add(col << 16 | row);
+                } else if (hasRegion(tileIndex)) {
+                    count++;
+                }
+            }
+        }
+        if (!fresh && count > chunkCapacity[chunk]) {
+            return false;
+        }
+
+        if (fresh) {
+            tileCache.beginCache();
+        } else {
+            tileCache.beginCache(chunkCacheIds[chunk]);
+        }
+        for (int col = startCol; col < endCol; col++) {
+            for (int row = startRow; row < endRow; row++) {
+                int tileIndex = tileIndexes[col][row];
+                if (hasRegion(tileIndex) && !isAnimated(tileIndex)) {
+                    tileCache.add(tile[tileIndex].region,
+                            col * GameConfig.TILE_SIZE, row * GameConfig.TILE_SIZE,
+                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
                 }
             }
         }
+        int cacheId = tileCache.endCache();
+
+        if (fresh) {
+            chunkCacheIds[chunk] = cacheId;
+            chunkCapacity[chunk] = count;
+        }
+        chunkDirty[chunk] = false;
+        return true;
+    }
+
+    /**
+     * Change a single tile and mark its chunk for re-recording
+     */
+    public void setTile(int col, int row, int tileIndex) {
+        if (col < 0 || col >= mapWidth || row < 0 || row >= mapHeight || tileIndexes[col][row] == tileIndex) {
+            return;
+        }
+        tileIndexes[col][row] = tileIndex;
+        fieldOfView.setOpaque(col, row, isSolidTile(col, row));
+        graphDirty = true;
+        chunkDirty[(row / CHUNK_SIZE) * chunkCols + col / CHUNK_SIZE] = true;
+        anyChunkDirty = true;
+        for (TileChangeListener listener : listeners) {
+            listener.tileChanged(col, row);
+        }
+    }
+
+    /**
+     * Register a listener for tile and map changes
+     */
+    public void addTileChangeListener(TileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeTileChangeListener(TileChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private boolean isAnimated(int tileIndex) {
+        return isValidTileIndex(tileIndex) && tile[tileIndex].animation != null;
+    }
+
+    private boolean hasRegion(int tileIndex) {
+        return isValidTileIndex(tileIndex) && tile[tileIndex].region != null;
+    }
+
+    /**
+     * Get the number of draw calls issued for tiles last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Release the cached chunk geometry
+     */
+    public void dispose() {
+        if (tileCache != null) {
+            tileCache.dispose();
+            tileCache = null;
+        }
     }
 
     /**
@@ -262,9 +530,47 @@ public class LibGDXTileManager {
         return true; // Out of bounds is considered solid
     }
 
+    /**
+     * Check if the tile at a map position blocks movement and sight
+     */
+    public boolean isSolidTile(int col, int row) {
+        if (col < 0 || col >= mapWidth || row < 0 || row >= mapHeight) {
+            return true; // Out of bounds is solid
+        }
+        int tileIndex = tileIndexes[col][row];
+        return !isValidTileIndex(tileIndex) || tile[tileIndex].collision;
+    }
+
+    /**
+     * Load the opacity of the current map into the field of view and clear
+     * what has been explored
+     */
+    private void resetFieldOfView() {
+        fieldOfView.reset(mapWidth, mapHeight);
+        for (int col = 0; col < mapWidth; col++) {
+            for (int row = 0; row < mapHeight; row++) {
+                fieldOfView.setOpaque(col, row, isSolidTile(col, row));
+            }
+        }
+        graphDirty = true;
+    }
+
+    /**
+     * Get the image name of a tile index (the first frame for animated tiles)
+     *
+     * @return The tile name, or null if the index is not defined
+     */
+    public String getTileName(int tileIndex) {
+        return isValidTileIndex(tileIndex) ? tileNames[tileIndex] : null;
+    }
+
     // Getters
-    public OrthographicCamera getCamera() {
-        return camera;
+    public FieldOfView getFieldOfView() {
+        return fieldOfView;
+    }
+
+    public PortalCuller getPortalCuller() {
+        return portalCuller;
     }
 
     public int getMapWidth() {
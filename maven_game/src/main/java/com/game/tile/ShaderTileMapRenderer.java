@@ -0,0 +1,304 @@
+package com.game.tile;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.game.libgdx.VisibilityService;
+import com.game.main.GameConfig;
+import com.game.main.LibGDXResourceManager;
+import java.nio.ByteBuffer;
+
+/**
+ * Alternative tile renderer that draws the whole visible map as one quad
+ *
+ * The tile indexes are uploaded as a one-byte-per-tile lookup texture, and
+ * the tile images are copied side by side into a tileset strip. The fragment
+ * shader finds the tile under each pixel in the lookup texture and samples
+ * the matching tile image, so the cost no longer depends on how many tiles
+ * are on screen. Tile changes patch the lookup texture with glTexSubImage2D.
+ *
+ * Written for GLSL 1.10 / GLSL ES 1.00 so it also runs on Mesa llvmpipe.
+ * Animated tiles are drawn with their first frame.
+ */
+public class ShaderTileMapRenderer implements TileChangeListener {
+    private static final int EMPTY_TILE = 255;
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec4 a_position;\n"
+            + "attribute vec2 a_texCoord0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec2 v_mapCoords;\n"
+            + "void main() {\n"
+            + "    v_mapCoords = a_texCoord0;\n"
+            + "    gl_Position = u_projTrans * a_position;\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision highp float;\n"
+            + "#endif\n"
+            + "varying vec2 v_mapCoords;\n"
+            + "uniform sampler2D u_texture;\n" // Lookup texture, alpha = tile index / 255
+            + "uniform sampler2D u_tileset;\n"
+            + "uniform vec2 u_mapSize;\n" // In tiles
+            + "uniform float u_tileCount;\n"
+            + "uniform float u_tilePixels;\n"
+            + "void main() {\n"
+            + "    vec2 tile = v_mapCoords * u_mapSize;\n"
+            + "    vec2 cell = floor(tile);\n"
+            + "    float id = floor(texture2D(u_texture, (cell + 0.5) / u_mapSize).a * 255.0 + 0.5);\n"
+            + "    if (id >= u_tileCount) {\n"
+            + "        discard;\n"
+            + "    }\n"
+            // Keep samples half a texel inside the tile so neighbours never bleed in
+            + "    vec2 local = clamp(tile - cell, 0.5 / u_tilePixels, 1.0 - 0.5 / u_tilePixels);\n"
+            // Tileset rows run top to bottom, the world runs bottom to top
+            + "    vec2 uv = vec2((id + local.x) / u_tileCount, 1.0 - local.y);\n"
+            + "    gl_FragColor = texture2D(u_tileset, uv);\n"
+            + "}\n";
+
+    private final LibGDXTileManager tileManager;
+    private ShaderProgram shader;
+    private Texture lookupTexture;
+    private Pixmap lookupPixmap;
+    private Texture tilesetTexture;
+    private ByteBuffer uploadBuffer;
+    private int mapWidth;
+    private int mapHeight;
+
+    // Lookup cells that need uploading (inclusive)
+    private boolean fullUpload = true;
+    private int dirtyMinCol, dirtyMinRow, dirtyMaxCol, dirtyMaxRow;
+    private int renderCalls = 0;
+    private boolean unsupported = false; // Shader failed to compile, callers fall back
+
+    public ShaderTileMapRenderer(LibGDXTileManager tileManager) {
+        this.tileManager = tileManager;
+        clearDirty();
+        tileManager.addTileChangeListener(this);
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        dirtyMinCol = Math.min(dirtyMinCol, col);
+        dirtyMinRow = Math.min(dirtyMinRow, row);
+        dirtyMaxCol = Math.max(dirtyMaxCol, col);
+        dirtyMaxRow = Math.max(dirtyMaxRow, row);
+    }
+
+    @Override
+    public void mapChanged() {
+        fullUpload = true;
+    }
+
+    /**
+     * Draw the visible part of the map as a single quad
+     * Must be called outside of any SpriteBatch begin/end pair
+     *
+     * @param spriteBatch The batch used to submit the quad
+     * @param projection  The world projection matrix
+     * @param visibility  The visible area for this frame
+     * @return false if the shader is unavailable and nothing was drawn
+     */
+    public boolean render(SpriteBatch spriteBatch, Matrix4 projection, VisibilityService visibility) {
+        if (unsupported) {
+            return false;
+        }
+        if (shader == null && !create()) {
+            return false;
+        }
+        if (mapWidth != tileManager.getMapWidth() || mapHeight != tileManager.getMapHeight()) {
+            createLookup();
+        }
+        refreshLookup();
+
+        // Visible world area clamped to the map
+        float mapPixelWidth = mapWidth * GameConfig.TILE_SIZE;
+        float mapPixelHeight = mapHeight * GameConfig.TILE_SIZE;
+        Rectangle bounds = visibility.getWorldBounds();
+        float x = Math.max(0f, bounds.x);
+        float y = Math.max(0f, bounds.y);
+        float x2 = Math.min(mapPixelWidth, bounds.x + bounds.width);
+        float y2 = Math.min(mapPixelHeight, bounds.y + bounds.height);
+
+        renderCalls = 0;
+        if (x < x2 && y < y2) {
+            spriteBatch.setShader(shader);
+            spriteBatch.setProjectionMatrix(projection);
+            spriteBatch.begin();
+            tilesetTexture.bind(1);
+            Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0); // The batch binds its texture to the active unit
+            shader.setUniformi("u_tileset", 1);
+            shader.setUniformf("u_mapSize", mapWidth, mapHeight);
+            shader.setUniformf("u_tileCount", GameConfig.MAX_TILES);
+            shader.setUniformf("u_tilePixels", GameConfig.ORIGINAL_TILE_SIZE);
+            spriteBatch.draw(lookupTexture, x, y, x2 - x, y2 - y,
+                    x / mapPixelWidth, y / mapPixelHeight, x2 / mapPixelWidth, y2 / mapPixelHeight);
+            spriteBatch.end();
+            spriteBatch.setShader(null);
+            renderCalls = spriteBatch.renderCalls;
+        }
+
+        int visibleTiles = (visibility.getEndCol() - visibility.getStartCol())
+                * (visibility.getEndRow() - visibility.getStartRow());
+        visibleTiles = Math.max(0, visibleTiles);
+        visibility.recordTiles(visibleTiles, mapWidth * mapHeight - visibleTiles);
+        return true;
+    }
+
+    private boolean create() {
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            System.err.println("Error compiling tile map shader: " + shader.getLog());
+            shader.dispose();
+            shader = null;
+            unsupported = true;
+            return false;
+        }
+        tilesetTexture = createTileset();
+        createLookup();
+        return true;
+    }
+
+    /**
+     * (Re)create the lookup texture at the current map size
+     */
+    private void createLookup() {
+        if (lookupTexture != null) {
+            lookupTexture.dispose();
+            lookupPixmap.dispose();
+        }
+        mapWidth = tileManager.getMapWidth();
+        mapHeight = tileManager.getMapHeight();
+        lookupPixmap = new Pixmap(mapWidth, mapHeight, Pixmap.Format.Alpha);
+        lookupPixmap.setBlending(Pixmap.Blending.None);
+        lookupTexture = new Texture(lookupPixmap);
+        lookupTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        uploadBuffer = BufferUtils.newByteBuffer(mapWidth * mapHeight);
+        fullUpload = true;
+    }
+
+    /**
+     * Copy every tile image into one strip, tile index i at column i
+     */
+    private Texture createTileset() {
+        int tileSize = GameConfig.ORIGINAL_TILE_SIZE;
+        Pixmap tileset = new Pixmap(tileSize * GameConfig.MAX_TILES, tileSize, Pixmap.Format.RGBA8888);
+        tileset.setBlending(Pixmap.Blending.None);
+        LibGDXResourceManager resourceManager = LibGDXResourceManager.getInstance();
+        for (int tileIndex = 0; tileIndex < GameConfig.MAX_TILES; tileIndex++) {
+            String tileName = tileManager.getTileName(tileIndex);
+            if (tileName == null) {
+                continue;
+            }
+            Pixmap tilePixmap = resourceManager.loadTilePixmap(tileName);
+            if (tilePixmap != null) {
+                tileset.drawPixmap(tilePixmap, 0, 0, tilePixmap.getWidth(), tilePixmap.getHeight(),
+                        tileIndex * tileSize, 0, tileSize, tileSize);
+                tilePixmap.dispose();
+            }
+        }
+        Texture texture = new Texture(tileset);
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        tileset.dispose();
+        return texture;
+    }
+
+    /**
+     * Upload changed tile indexes to the lookup texture
+     */
+    private void refreshLookup() {
+        if (fullUpload) {
+            writeLookup(0, 0, mapWidth - 1, mapHeight - 1);
+            lookupTexture.draw(lookupPixmap, 0, 0);
+            fullUpload = false;
+            clearDirty();
+            return;
+        }
+        if (dirtyMaxCol < 0) {
+            return;
+        }
+
+        int minCol = Math.max(0, dirtyMinCol);
+        int minRow = Math.max(0, dirtyMinRow);
+        int width = Math.min(mapWidth - 1, dirtyMaxCol) - minCol + 1;
+        int height = Math.min(mapHeight - 1, dirtyMaxRow) - minRow + 1;
+        writeLookup(minCol, minRow, minCol + width - 1, minRow + height - 1);
+
+        // Pack the rows of the rectangle, GL ES 2 can't unpack with a row stride
+        ByteBuffer pixels = lookupPixmap.getPixels();
+        for (int row = 0; row < height; row++) {
+            uploadBuffer.put(row * width, pixels, (minRow + row) * mapWidth + minCol, width);
+        }
+        uploadBuffer.position(0);
+        uploadBuffer.limit(width * height);
+
+        lookupTexture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, minCol, minRow, width, height,
+                GL20.GL_ALPHA, GL20.GL_UNSIGNED_BYTE, uploadBuffer);
+        uploadBuffer.clear();
+        clearDirty();
+    }
+
+    /**
+     * Write tile indexes into the lookup pixmap (row r of the pixmap is tile row r)
+     */
+    private void writeLookup(int minCol, int minRow, int maxCol, int maxRow) {
+        int[][] tileIndexes = tileManager.getTileIndexes();
+        ByteBuffer pixels = lookupPixmap.getPixels();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int tileIndex = tileIndexes[col][row];
+                int value = tileManager.getTileName(tileIndex) != null ? tileIndex : EMPTY_TILE;
+                pixels.put(row * mapWidth + col, (byte) value);
+            }
+        }
+    }
+
+    private void clearDirty() {
+        dirtyMinCol = Integer.MAX_VALUE;
+        dirtyMinRow = Integer.MAX_VALUE;
+        dirtyMaxCol = -1;
+        dirtyMaxRow = -1;
+    }
+
+    public boolean isUnsupported() {
+        return unsupported;
+    }
+
+    /**
+     * Get the number of draw calls issued for tiles last frame
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Release the shader and textures
+     */
+    public void dispose() {
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+        if (lookupTexture != null) {
+            lookupTexture.dispose();
+            lookupTexture = null;
+        }
+        if (lookupPixmap != null) {
+            lookupPixmap.dispose();
+            lookupPixmap = null;
+        }
+        if (tilesetTexture != null) {
+            tilesetTexture.dispose();
+            tilesetTexture = null;
+        }
+    }
+}
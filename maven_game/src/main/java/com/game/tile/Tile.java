@@ -1,9 +1,25 @@
 package com.game.tile;
 
+import com.game.main.FrameAnimation;
 import java.awt.image.BufferedImage;
 
 public class Tile {
 
     BufferedImage tileImage;
     public boolean collision = false;
+    public FrameAnimation<BufferedImage> animation; // Null for static tiles
+
+    /**
+     * Get the image to draw this frame
+     */
+    public BufferedImage getImage() {
+        return animation != null ? animation.getFrame() : tileImage;
+    }
+
+    /**
+     * Get the image to draw at an animation clock time
+     */
+    public BufferedImage getImage(double time) {
+        return animation != null ? animation.getFrame(time) : tileImage;
+    }
 }
@@ -0,0 +1,16 @@
+package com.game.tile;
+
+/**
+ * Receives notifications when the tile map changes
+ */
+public interface TileChangeListener {
+    /**
+     * Called after a single tile was changed
+     */
+    void tileChanged(int col, int row);
+
+    /**
+     * Called after the whole map was regenerated
+     */
+    void mapChanged();
+}
@@ -0,0 +1,237 @@
+package com.game.tile;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+import com.game.main.Camera;
+import com.game.main.RenderSnapshot;
+import com.game.main.GameConfig;
+
+/**
+ * Pre-rendered chunk images for the Swing tile layer
+ *
+ * The map is split into fixed-size chunks whose static tiles are drawn once,
+ * already scaled to TILE_SIZE, into an image per chunk. Each frame only the
+ * chunk images overlapping the camera are blitted. Images are VolatileImages
+ * when a display is available and are redrawn whenever their contents are
+ * lost; headless they are compatible BufferedImages. Animated tiles stay out
+ * of the images and are drawn on top with the snapshot's clock frame.
+ *
+ * The cache belongs to the paint thread and only reads the map from render
+ * snapshots; it rebuilds every chunk when the snapshot's tile version changes.
+ */
+public class TileChunkCache {
+    public static final int CHUNK_SIZE = 16; // Tiles per chunk side
+    private static final int CHUNK_IDLE_FRAMES = 120; // Free images of chunks not drawn for this long
+
+    private final TileManager tileManager;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final int chunkCols;
+    private final int chunkRows;
+    private final boolean useVolatile = !GraphicsEnvironment.isHeadless();
+
+    private final Image[] images;
+    private final boolean[] dirty;
+    private final long[] lastDrawn;
+    private long frame = 0;
+    private int drawnTileVersion = -1;
+    private int[][] tileIndexes; // From the snapshot being drawn
+
+    // Animated tiles per chunk, packed (col << 16 | row), filled when the chunk is drawn
+    private final int[][] animatedTiles;
+    private final int[] animatedCount;
+
+    private int drawCalls = 0;
+
+    public TileChunkCache(TileManager tileManager, int mapWidth, int mapHeight) {
+        this.tileManager = tileManager;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.chunkCols = (mapWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkRows = (mapHeight + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunks = chunkCols * chunkRows;
+        this.images = new Image[chunks];
+        this.dirty = new boolean[chunks];
+        this.lastDrawn = new long[chunks];
+        this.animatedTiles = new int[chunks][4];
+        this.animatedCount = new int[chunks];
+        invalidateAll();
+    }
+
+    /**
+     * Mark every chunk for redrawing, after a new map or tile set
+     */
+    public void invalidateAll() {
+        Arrays.fill(dirty, true);
+    }
+
+    /**
+     * Mark the chunk containing a tile for redrawing
+     */
+    public void invalidate(int col, int row) {
+        if (col >= 0 && col < mapWidth && row >= 0 && row < mapHeight) {
+            dirty[(row / CHUNK_SIZE) * chunkCols + col / CHUNK_SIZE] = true;
+        }
+    }
+
+    /**
+     * Draw the chunks overlapping the visible tile range in world
+     * coordinates, then the animated tiles inside them
+     */
+    public void draw(Graphics2D g2, RenderSnapshot snapshot, Camera.TileRange range) {
+        frame++;
+        drawCalls = 0;
+        GraphicsConfiguration config = g2.getDeviceConfiguration();
+        if (snapshot.getTileVersion() != drawnTileVersion) {
+            drawnTileVersion = snapshot.getTileVersion();
+            invalidateAll();
+        }
+        tileIndexes = snapshot.getTileIndexes();
+
+        int startChunkX = Math.max(0, range.startCol / CHUNK_SIZE);
+        int endChunkX = Math.min(chunkCols, (range.endCol + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        int startChunkY = Math.max(0, range.startRow / CHUNK_SIZE);
+        int endChunkY = Math.min(chunkRows, (range.endRow + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+        for (int chunkY = startChunkY; chunkY < endChunkY; chunkY++) {
+            for (int chunkX = startChunkX; chunkX < endChunkX; chunkX++) {
+                int chunk = chunkY * chunkCols + chunkX;
+                int x = chunkX * CHUNK_SIZE * GameConfig.TILE_SIZE;
+                int y = chunkY * CHUNK_SIZE * GameConfig.TILE_SIZE;
+                if (useVolatile) {
+                    drawVolatileChunk(g2, config, chunk, x, y);
+                } else {
+                    drawBufferedChunk(g2, config, chunk, x, y);
+                }
+                lastDrawn[chunk] = frame;
+                drawAnimatedTiles(g2, chunk, snapshot.getAnimationTime());
+            }
+        }
+
+        if (frame % 60 == 0) {
+            releaseIdleChunks();
+        }
+    }
+
+    private void drawVolatileChunk(Graphics2D g2, GraphicsConfiguration config, int chunk, int x, int y) {
+        VolatileImage image = (VolatileImage) images[chunk];
+        do {
+            int status = image != null ? image.validate(config) : VolatileImage.IMAGE_INCOMPATIBLE;
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (image != null) {
+                    image.flush();
+                }
+                image = config.createCompatibleVolatileImage(getChunkPixelWidth(chunk),
+                        getChunkPixelHeight(chunk), Transparency.OPAQUE);
+                images[chunk] = image;
+                dirty[chunk] = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                dirty[chunk] = true; // Surface was lost, contents must be drawn again
+            }
+            if (dirty[chunk]) {
+                renderChunk(image.createGraphics(), chunk);
+            }
+            g2.drawImage(image, x, y, null);
+            drawCalls++;
+        } while (image.contentsLost());
+    }
+
+    private void drawBufferedChunk(Graphics2D g2, GraphicsConfiguration config, int chunk, int x, int y) {
+        if (images[chunk] == null) {
+            images[chunk] = config.createCompatibleImage(getChunkPixelWidth(chunk),
+                    getChunkPixelHeight(chunk), Transparency.OPAQUE);
+            dirty[chunk] = true;
+        }
+        if (dirty[chunk]) {
+            renderChunk(((BufferedImage) images[chunk]).createGraphics(), chunk);
+        }
+        g2.drawImage(images[chunk], x, y, null);
+        drawCalls++;
+    }
+
+    /**
+     * Draw the static tiles of a chunk into its image and list its animated tiles
+     */
+    private void renderChunk(Graphics2D graphics, int chunk) {
+        int startCol = (chunk % chunkCols) * CHUNK_SIZE;
+        int startRow = (chunk / chunkCols) * CHUNK_SIZE;
+        int endCol = Math.min(mapWidth, startCol + CHUNK_SIZE);
+        int endRow = Math.min(mapHeight, startRow + CHUNK_SIZE);
+
+        graphics.setColor(GameConfig.BACKGROUND_COLOR);
+        graphics.fillRect(0, 0, getChunkPixelWidth(chunk), getChunkPixelHeight(chunk));
+        animatedCount[chunk] = 0;
+        for (int col = startCol; col < endCol; col++) {
+            for (int row = startRow; row < endRow; row++) {
+                Tile tile = tileManager.getTile(tileIndexes[col][row]);
+                if (tile == null) {
+                    continue;
+                }
+                if (tile.animation != null) {
+                    addAnimatedTile(chunk, col << 16 | row);
+                    continue;
+                }
+                graphics.drawImage(tile.getImage(),
+                        (col - startCol) * GameConfig.TILE_SIZE, (row - startRow) * GameConfig.TILE_SIZE, null);
+            }
+        }
+        graphics.dispose();
+        dirty[chunk] = false;
+    }
+
+    private void addAnimatedTile(int chunk, int packed) {
+        if (animatedCount[chunk] == animatedTiles[chunk].length) {
+            animatedTiles[chunk] = Arrays.copyOf(animatedTiles[chunk], animatedCount[chunk] * 2);
+        }
+        animatedTiles[chunk][animatedCount[chunk]++] = packed;
+    }
+
+    private void drawAnimatedTiles(Graphics2D g2, int chunk, double animationTime) {
+        for (int i = 0; i < animatedCount[chunk]; i++) {
+            int col = animatedTiles[chunk][i] >>> 16;
+            int row = animatedTiles[chunk][i] & 0xFFFF;
+            Tile tile = tileManager.getTile(tileIndexes[col][row]);
+            if (tile != null) {
+                g2.drawImage(tile.getImage(animationTime),
+                        col * GameConfig.TILE_SIZE, row * GameConfig.TILE_SIZE, null);
+                drawCalls++;
+            }
+        }
+    }
+
+    /**
+     * Free the images of chunks that haven't been on screen for a while, so
+     * large maps only keep the images around the camera
+     */
+    private void releaseIdleChunks() {
+        for (int chunk = 0; chunk < images.length; chunk++) {
+            if (images[chunk] != null && frame - lastDrawn[chunk] > CHUNK_IDLE_FRAMES) {
+                images[chunk].flush();
+                images[chunk] = null;
+            }
+        }
+    }
+
+    private int getChunkPixelWidth(int chunk) {
+        int startCol = (chunk % chunkCols) * CHUNK_SIZE;
+        return Math.min(CHUNK_SIZE, mapWidth - startCol) * GameConfig.TILE_SIZE;
+    }
+
+    private int getChunkPixelHeight(int chunk) {
+        int startRow = (chunk / chunkCols) * CHUNK_SIZE;
+        return Math.min(CHUNK_SIZE, mapHeight - startRow) * GameConfig.TILE_SIZE;
+    }
+
+    /**
+     * Get the number of drawImage calls made for tiles last frame
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+}
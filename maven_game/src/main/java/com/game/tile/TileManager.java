@@ -1,12 +1,21 @@
 package com.game.tile;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.util.Random;
 import com.game.main.GamePanel;
 import com.game.main.GameConfig;
 import com.game.main.ResourceManager;
 import com.game.main.BSPDungeonGenerator;
 import com.game.main.Camera;
+import com.game.main.DirtyRegion;
+import com.game.main.FieldOfView;
+import com.game.main.DungeonGraph;
+import com.game.main.PortalCuller;
+import com.game.main.FrameAnimation;
+import com.game.main.RenderSnapshot;
+import com.game.main.AnimationClock;
 
 /**
  * Manages tiles and BSP map generation for larger dungeons
@@ -21,6 +30,21 @@ public class TileManager {
     private final int mapHeight;
     private BSPDungeonGenerator bspGenerator;
     private long currentSeed;
+    private final FieldOfView fieldOfView;
+    private final DungeonGraph dungeonGraph = new DungeonGraph();
+    private final PortalCuller portalCuller = new PortalCuller(dungeonGraph);
+    private boolean graphDirty = true;
+    private int tileVersion = 0; // Bumped when the map or tile definitions change
+    private final TileChunkCache chunkCache;
+
+    // Tile states drawn over the chunk images
+    public static final int MASK_CLEAR = 0;
+    public static final int MASK_DIMMED = 1;
+    public static final int MASK_HIDDEN = 2;
+    private int maskRuns = 0;
+
+    // Shade drawn over explored tiles that are out of sight
+    public static final Color FOG_COLOR = new Color(0, 0, 0, 150);
 
     public TileManager(GamePanel gamePanel) {
         this.gamePanel = gamePanel;
@@ -31,6 +55,8 @@ public class TileManager {
         this.tileIndexes = new int[mapWidth][mapHeight];
         this.tile = new Tile[GameConfig.MAX_TILES];
         this.currentSeed = System.currentTimeMillis();
+        this.fieldOfView = new FieldOfView(mapWidth, mapHeight, GameConfig.FOV_RADIUS);
+        this.chunkCache = new TileChunkCache(this, mapWidth, mapHeight);
 
         // Set camera map bounds
         camera.setMapBounds(mapWidth, mapHeight);
@@ -81,6 +107,43 @@ public class TileManager {
         return tile;
     }
 
+    /**
+     * Define an animated tile, such as a torch or water
+     * The frame shown comes from the global animation clock
+     *
+     * @param tileIndex     The tile index to define
+     * @param frameDuration Seconds each frame is shown
+     * @param hasCollision  Whether the tile is solid
+     * @param frameNames    Tile image names of the frames, in order
+     */
+    public void setAnimatedTile(int tileIndex, float frameDuration, boolean hasCollision, String... frameNames) {
+        BufferedImage[] frames = new BufferedImage[frameNames.length];
+        for (int i = 0; i < frameNames.length; i++) {
+            frames[i] = resourceManager.loadTile(frameNames[i]);
+        }
+        Tile animatedTile = new Tile();
+        animatedTile.tileImage = frames[0];
+        animatedTile.animation = new FrameAnimation<>(frameDuration, frames);
+        animatedTile.collision = hasCollision;
+        tile[tileIndex] = animatedTile;
+        refreshOpacity(tileIndex);
+        tileVersion++;
+    }
+
+    /**
+     * Update field of view opacity for every tile using a tile index
+     */
+    private void refreshOpacity(int tileIndex) {
+        for (int col = 0; col < mapWidth; col++) {
+            for (int row = 0; row < mapHeight; row++) {
+                if (tileIndexes[col][row] == tileIndex) {
+                    fieldOfView.setOpaque(col, row, isSolidTile(col, row));
+                }
+            }
+        }
+        graphDirty = true;
+    }
+
     /**
      * Generate a new BSP dungeon
      */
@@ -109,6 +172,8 @@ public class TileManager {
 
         // Convert to tile indexes with smart wall detection
         convertMapToTiles(generatedMap, seed);
+        resetFieldOfView();
+        tileVersion++;
 
         System.out.println("BSP dungeon generated and converted to tiles successfully");
     }
@@ -118,6 +183,8 @@ public class TileManager {
      */
     private void convertMapToTiles(int[][] rawMap, long seed) {
         Random random = new Random(seed);
+        // A new array, since render snapshots may still be drawing the old one
+        int[][] tileIndexes = new int[mapWidth][mapHeight];
 
         for (int x = 0; x < mapWidth; x++) {
             for (int y = 0; y < mapHeight; y++) {
@@ -137,6 +204,7 @@ public class TileManager {
                 }
             }
         }
+        this.tileIndexes = tileIndexes;
     }
 
     /**
@@ -178,7 +246,7 @@ public class TileManager {
     }
 
     /**
-     * Update camera and tile manager
+     * Update camera, field of view and tile manager
      */
     public void update() {
         // Set camera target to player
@@ -188,40 +256,148 @@ public class TileManager {
 
         // Update camera position
         camera.update();
+
+        // Recompute what the player can see once they step onto another tile
+        if (gamePanel.getPlayer() != null) {
+            int centerX = gamePanel.getPlayer().getX() + GameConfig.TILE_SIZE / 2;
+            int centerY = gamePanel.getPlayer().getY() + GameConfig.TILE_SIZE / 2;
+            int col = centerX / GameConfig.TILE_SIZE;
+            int row = centerY / GameConfig.TILE_SIZE;
+            fieldOfView.update(col, row);
+
+            if (GameConfig.PORTAL_CULLING) {
+                if (graphDirty && bspGenerator != null) {
+                    dungeonGraph.build(bspGenerator.getRooms(), fieldOfView);
+                    graphDirty = false;
+                }
+                Camera.TileRange range = camera.getVisibleTileRange();
+                portalCuller.update(col, row, range.startCol, range.startRow, range.endCol, range.endRow);
+            }
+        }
+    }
+
+    /**
+     * Copy what the renderer needs of the map into a snapshot: the tile
+     * indexes and the fog and culling state of the tiles in view
+     */
+    public void captureTiles(RenderSnapshot snapshot, int cameraX, int cameraY) {
+        snapshot.setTiles(tileIndexes, tileVersion, AnimationClock.getInstance().getTime());
+        Camera.TileRange range = camera.getVisibleTileRange(cameraX, cameraY);
+        if (!GameConfig.FOG_OF_WAR && !GameConfig.PORTAL_CULLING) {
+            snapshot.setMaskArea(range.startCol, range.startRow, 0, 0);
+            return;
+        }
+        snapshot.setMaskArea(range.startCol, range.startRow,
+                range.endCol - range.startCol, range.endRow - range.startRow);
+        for (int row = range.startRow; row < range.endRow; row++) {
+            for (int col = range.startCol; col < range.endCol; col++) {
+                snapshot.setMaskState(col, row, getMaskState(col, row));
+            }
+        }
     }
 
     /**
-     * Draw visible tiles using camera system
+     * Draw the visible tiles of a snapshot, in world coordinates (the caller
+     * translates by the camera)
+     * Static tiles come from the chunk image cache; fog of war and portal
+     * culling are filled over them afterwards
      */
-    public void draw(Graphics2D g2) {
-        // Get visible tile range from camera
-        Camera.TileRange range = camera.getVisibleTileRange();
+    public void draw(Graphics2D g2, RenderSnapshot snapshot) {
+        Camera.TileRange range = camera.getVisibleTileRange(snapshot.getCameraX(), snapshot.getCameraY());
+        chunkCache.draw(g2, snapshot, range);
+        maskRuns = 0;
+        if (GameConfig.FOG_OF_WAR || GameConfig.PORTAL_CULLING) {
+            drawTileMask(g2, snapshot, range);
+        }
+    }
 
-        // Draw only visible tiles for performance
+    /**
+     * Hide unexplored and culled tiles and dim remembered ones that are out
+     * of sight, filling each row in runs of tiles with the same state
+     */
+    private void drawTileMask(Graphics2D g2, RenderSnapshot snapshot, Camera.TileRange range) {
+        for (int row = range.startRow; row < range.endRow; row++) {
+            int runStart = range.startCol;
+            int runState = getSnapshotMaskState(snapshot, range.startCol, row);
+            for (int col = range.startCol + 1; col <= range.endCol; col++) {
+                int state = col < range.endCol ? getSnapshotMaskState(snapshot, col, row) : -1;
+                if (state != runState) {
+                    fillMaskRun(g2, runState, runStart, col, row);
+                    runStart = col;
+                    runState = state;
+                }
+            }
+        }
+    }
+
+    private static int getSnapshotMaskState(RenderSnapshot snapshot, int col, int row) {
+        int state = snapshot.getMaskState(col, row);
+        return state >= 0 ? state : MASK_HIDDEN; // Outside the captured area
+    }
+
+    private int getMaskState(int col, int row) {
+        if (GameConfig.PORTAL_CULLING && !portalCuller.isTileVisible(col, row)) {
+            return MASK_HIDDEN; // Walled off from the player's room
+        }
+        if (GameConfig.FOG_OF_WAR && !fieldOfView.isExplored(col, row)) {
+            return MASK_HIDDEN; // Never seen, leave it dark
+        }
+        if (GameConfig.FOG_OF_WAR && !fieldOfView.isVisible(col, row)) {
+            return MASK_DIMMED;
+        }
+        return MASK_CLEAR;
+    }
+
+    private void fillMaskRun(Graphics2D g2, int state, int startCol, int endCol, int row) {
+        if (state == MASK_CLEAR) {
+            return;
+        }
+        g2.setColor(state == MASK_HIDDEN ? GameConfig.BACKGROUND_COLOR : FOG_COLOR);
+        g2.fillRect(startCol * GameConfig.TILE_SIZE, row * GameConfig.TILE_SIZE,
+                (endCol - startCol) * GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
+        maskRuns++;
+    }
+
+    /**
+     * Get the tile for an index, or null if the index is unused
+     */
+    public Tile getTile(int tileIndex) {
+        return isValidTileIndex(tileIndex) ? tile[tileIndex] : null;
+    }
+
+    /**
+     * Mark the screen areas of animated tiles in view that show a different
+     * frame in the next snapshot than in the previous one; both snapshots
+     * must have the same camera position
+     */
+    public void addChangedAnimatedTiles(DirtyRegion region, RenderSnapshot previous, RenderSnapshot next) {
+        double previousTime = previous.getAnimationTime();
+        double nextTime = next.getAnimationTime();
+        if (previousTime == nextTime) {
+            return;
+        }
+        int[][] indexes = next.getTileIndexes();
+        Camera.TileRange range = camera.getVisibleTileRange(next.getCameraX(), next.getCameraY());
         for (int col = range.startCol; col < range.endCol; col++) {
             for (int row = range.startRow; row < range.endRow; row++) {
-                if (col >= 0 && col < mapWidth && row >= 0 && row < mapHeight) {
-                    int tileIndex = tileIndexes[col][row];
-
-                    if (isValidTileIndex(tileIndex)) {
-                        // Calculate world position
-                        int worldX = col * GameConfig.TILE_SIZE;
-                        int worldY = row * GameConfig.TILE_SIZE;
-
-                        // Convert to screen position
-                        int screenX = camera.worldToScreenX(worldX);
-                        int screenY = camera.worldToScreenY(worldY);
-
-                        // Draw tile
-                        g2.drawImage(tile[tileIndex].tileImage,
-                                screenX, screenY,
-                                GameConfig.TILE_SIZE, GameConfig.TILE_SIZE, null);
-                    }
+                Tile animated = getTile(indexes[col][row]);
+                if (animated != null && animated.animation != null
+                        && animated.getImage(previousTime) != animated.getImage(nextTime)) {
+                    region.add(col * GameConfig.TILE_SIZE - next.getCameraX(),
+                            row * GameConfig.TILE_SIZE - next.getCameraY(),
+                            GameConfig.TILE_SIZE, GameConfig.TILE_SIZE);
                 }
             }
         }
     }
 
+    /**
+     * Get the number of drawImage and fillRect calls made for tiles last frame
+     */
+    public int getDrawCalls() {
+        return chunkCache.getDrawCalls() + maskRuns;
+    }
+
     /**
      * Check if tile index is valid
      */
@@ -248,6 +424,31 @@ public class TileManager {
         return true; // Unknown tiles are solid
     }
 
+    /**
+     * Check if the tile at a map position blocks movement and sight
+     */
+    public boolean isSolidTile(int col, int row) {
+        if (col < 0 || col >= mapWidth || row < 0 || row >= mapHeight) {
+            return true; // Out of bounds is solid
+        }
+        int tileIndex = tileIndexes[col][row];
+        return !isValidTileIndex(tileIndex) || tile[tileIndex].collision;
+    }
+
+    /**
+     * Load the opacity of the current map into the field of view and clear
+     * what has been explored
+     */
+    private void resetFieldOfView() {
+        fieldOfView.reset(mapWidth, mapHeight);
+        for (int col = 0; col < mapWidth; col++) {
+            for (int row = 0; row < mapHeight; row++) {
+                fieldOfView.setOpaque(col, row, isSolidTile(col, row));
+            }
+        }
+        graphDirty = true;
+    }
+
     /**
      * Get camera instance
      */
@@ -280,6 +481,17 @@ public class TileManager {
         return tileIndexes;
     }
 
+    /**
+     * Get the player's field of view on the current map
+     */
+    public FieldOfView getFieldOfView() {
+        return fieldOfView;
+    }
+
+    public PortalCuller getPortalCuller() {
+        return portalCuller;
+    }
+
     /**
      * Get BSP generator for analysis
      */
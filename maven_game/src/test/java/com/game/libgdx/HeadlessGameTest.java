@@ -0,0 +1,102 @@
+package com.game.libgdx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.Input;
+import com.game.main.GameState;
+import com.game.main.MapLogger;
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for stepping the LibGDX game logic headless, without graphics
+ */
+public class HeadlessGameTest
+{
+    private static final float TICK = 1f / 60f;
+
+    @After
+    public void restoreMapLogging()
+    {
+        MapLogger.setEnabled(true);
+    }
+
+    @Test
+    public void stepsTheGameWithoutGraphics() throws Exception
+    {
+        HeadlessTestSupport.run(() -> {
+            LibGDXGame game = new LibGDXGame(true, 1234L);
+            game.create();
+            assertTrue( game.isHeadless() );
+            assertEquals( 0, game.getDrawCalls() );
+            assertEquals( GameState.MENU, game.getCurrentState() );
+
+            HeadlessTestSupport.keys().tap(Input.Keys.ENTER);
+            game.step(TICK);
+            HeadlessTestSupport.keys().clearTaps();
+            assertEquals( GameState.PLAYING, game.getCurrentState() );
+
+            for (int tick = 0; tick < 119; tick++) {
+                game.step(TICK);
+            }
+            assertEquals( 2f, game.getGameTime(), 0.001f );
+            game.dispose();
+        });
+    }
+
+    @Test
+    public void sameSeedAndInputGiveTheSameRun() throws Exception
+    {
+        HeadlessTestSupport.run(() -> {
+            LibGDXGame first = new LibGDXGame(true, 99L);
+            LibGDXGame second = new LibGDXGame(true, 99L);
+            LibGDXGame other = new LibGDXGame(true, 100L);
+            first.create();
+            second.create();
+            other.create();
+            assertEquals( 99L, first.getTileManager().getCurrentSeed() );
+            assertTrue( Arrays.deepEquals(first.getTileManager().getTileIndexes(),
+                    second.getTileManager().getTileIndexes()) );
+            assertFalse( Arrays.deepEquals(first.getTileManager().getTileIndexes(),
+                    other.getTileManager().getTileIndexes()) );
+
+            first.setCurrentState(GameState.PLAYING);
+            second.setCurrentState(GameState.PLAYING);
+            int[] walk = { Input.Keys.D, Input.Keys.S, Input.Keys.A, Input.Keys.W };
+            for (int tick = 0; tick < 240; tick++) {
+                HeadlessTestSupport.keys().releaseAll();
+                HeadlessTestSupport.keys().hold(walk[tick / 60]);
+                first.step(TICK);
+                second.step(TICK);
+                assertEquals( first.getPlayer().getX(), second.getPlayer().getX(), 0f );
+                assertEquals( first.getPlayer().getY(), second.getPlayer().getY(), 0f );
+            }
+            assertEquals( first.getPlayer().getStars(), second.getPlayer().getStars() );
+        });
+    }
+
+    @Test
+    public void headlessGamesDoNotLogMaps() throws Exception
+    {
+        File logs = new File("logs");
+        int before = countFiles(logs);
+        HeadlessTestSupport.run(() -> {
+            LibGDXGame game = new LibGDXGame(true, 7L);
+            game.create();
+            game.getTileManager().regenerateMap(8L);
+            assertFalse( MapLogger.isEnabled() );
+        });
+        assertEquals( before, countFiles(logs) );
+    }
+
+    private static int countFiles(File directory)
+    {
+        String[] names = directory.list();
+        return names == null ? 0 : names.length;
+    }
+}
@@ -0,0 +1,162 @@
+package com.game.libgdx;
+
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.graphics.GL20;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs test code on a headless LibGDX application thread, with the no-op GL,
+ * a fixed-size mock display and scriptable keys installed
+ */
+final class HeadlessTestSupport
+{
+    static final int WIDTH = 1280;
+    static final int HEIGHT = 720;
+
+    interface Body
+    {
+        void run() throws Exception;
+    }
+
+    private HeadlessTestSupport()
+    {
+    }
+
+    static void run(Body body) throws Exception
+    {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create()
+            {
+                try {
+                    GL20 gl = new NoOpGL();
+                    Gdx.gl = gl;
+                    Gdx.gl20 = gl;
+                    Gdx.graphics = new FixedSizeGraphics();
+                    Gdx.input = new Keys();
+                    body.run();
+                } catch (Throwable t) {
+                    failure.set(t);
+                } finally {
+                    done.countDown();
+                    Gdx.app.exit();
+                }
+            }
+        }, new HeadlessApplicationConfiguration());
+
+        assertTrue( "headless application timed out", done.await(2, TimeUnit.MINUTES) );
+        Throwable t = failure.get();
+        if (t instanceof Exception) {
+            throw (Exception) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+    }
+
+    static Keys keys()
+    {
+        return (Keys) Gdx.input;
+    }
+
+    /**
+     * Input whose held keys are set by the test
+     */
+    static final class Keys extends MockInput
+    {
+        private final Set<Integer> held = new HashSet<>();
+        private final Set<Integer> justPressed = new HashSet<>();
+
+        void hold(int key)
+        {
+            held.add(key);
+        }
+
+        void releaseAll()
+        {
+            held.clear();
+        }
+
+        /**
+         * Report a key as just pressed until the next clear
+         */
+        void tap(int key)
+        {
+            justPressed.add(key);
+        }
+
+        void clearTaps()
+        {
+            justPressed.clear();
+        }
+
+        @Override
+        public boolean isKeyPressed(int key)
+        {
+            return held.contains(key) || justPressed.contains(key);
+        }
+
+        @Override
+        public boolean isKeyJustPressed(int key)
+        {
+            return justPressed.contains(key);
+        }
+    }
+
+    /**
+     * Mock display with a real size, whose GL is the one in Gdx.gl20 so
+     * GLProfiler can wrap it
+     */
+    private static final class FixedSizeGraphics extends MockGraphics
+    {
+        @Override
+        public int getWidth()
+        {
+            return WIDTH;
+        }
+
+        @Override
+        public int getHeight()
+        {
+            return HEIGHT;
+        }
+
+        @Override
+        public int getBackBufferWidth()
+        {
+            return WIDTH;
+        }
+
+        @Override
+        public int getBackBufferHeight()
+        {
+            return HEIGHT;
+        }
+
+        @Override
+        public GL20 getGL20()
+        {
+            return Gdx.gl20;
+        }
+
+        @Override
+        public void setGL20(GL20 gl20)
+        {
+            Gdx.gl = gl20;
+            Gdx.gl20 = gl20;
+        }
+    }
+}
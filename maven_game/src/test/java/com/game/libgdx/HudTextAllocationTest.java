@@ -0,0 +1,64 @@
+package com.game.libgdx;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.game.main.GameState;
+import com.game.main.MapLogger;
+import java.lang.management.ManagementFactory;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests that the menu, overlay and HUD text path renders without allocating
+ * once warmed up, through TextLabel, GlyphLayout and the menu and debug text
+ */
+public class HudTextAllocationTest
+{
+    private static final int WARM_UP_FRAMES = 3000;
+    private static final int MEASURED_FRAMES = 3000;
+    // Room for the odd JIT or profiler allocation; text rebuilt per frame
+    // would cost hundreds of kilobytes over the measured frames
+    private static final long TOLERANCE_BYTES = 16 * 1024;
+
+    @After
+    public void restoreMapLogging()
+    {
+        MapLogger.setEnabled(true);
+    }
+
+    @Test
+    public void menuAndHudTextDoNotAllocate() throws Exception
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue( bean instanceof com.sun.management.ThreadMXBean );
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue( threadBean.isThreadAllocatedMemorySupported() );
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        HeadlessTestSupport.run(() -> {
+            MapLogger.setEnabled(false);
+            LibGDXGame game = new LibGDXGame(false, 4321L);
+            game.create();
+            game.resize(HeadlessTestSupport.WIDTH, HeadlessTestSupport.HEIGHT);
+
+            for (GameState state : new GameState[] { GameState.MENU, GameState.GAME_OVER }) {
+                game.setCurrentState(state);
+                for (int frame = 0; frame < WARM_UP_FRAMES; frame++) {
+                    game.render();
+                }
+
+                long before = threadBean.getCurrentThreadAllocatedBytes();
+                for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                    game.render();
+                }
+                long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+                assertTrue( "bytes allocated by " + MEASURED_FRAMES + " " + state + " frames: " + allocated,
+                        allocated < TOLERANCE_BYTES );
+            }
+            game.dispose();
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.game.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for FrameAnimation frame selection and long-running clock times
+ */
+public class FrameAnimationTest
+{
+    @Test
+    public void loopsThroughFrames()
+    {
+        FrameAnimation<String> animation = new FrameAnimation<>(0.25f, "a", "b", "c");
+        assertEquals( "a", animation.getFrame(0.0) );
+        assertEquals( "b", animation.getFrame(0.3) );
+        assertEquals( "c", animation.getFrame(0.6) );
+        assertEquals( "a", animation.getFrame(0.8) );
+        assertEquals( 3, animation.getFrameCount() );
+    }
+
+    @Test
+    public void keepsAnimatingAfterLongSessions()
+    {
+        // A month in, one 60 Hz frame still moves the animation on
+        double month = 30 * 24 * 3600.0;
+        assertNotEquals( AnimationClock.frameIndex(month, 4, 1f / 60f),
+                AnimationClock.frameIndex(month + 1.0 / 60.0 + 1e-6, 4, 1f / 60f) );
+
+        // Past Integer.MAX_VALUE frames the index keeps cycling instead of sticking
+        double farFuture = (Integer.MAX_VALUE + 10.0) * 0.1;
+        assertNotEquals( AnimationClock.frameIndex(farFuture, 4, 0.1f),
+                AnimationClock.frameIndex(farFuture + 0.1, 4, 0.1f) );
+    }
+
+    @Test
+    public void copiesTheFrames()
+    {
+        String[] frames = { "a", "b" };
+        FrameAnimation<String> animation = new FrameAnimation<>(1f, frames);
+        frames[0] = "changed";
+        assertEquals( "a", animation.getFrame(0) );
+    }
+}
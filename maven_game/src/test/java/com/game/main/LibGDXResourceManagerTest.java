@@ -0,0 +1,58 @@
+package com.game.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for finding the images LibGDXResourceManager packs into its atlas
+ */
+public class LibGDXResourceManagerTest
+{
+    @BeforeClass
+    public static void installFiles()
+    {
+        if (Gdx.files == null) {
+            Gdx.files = new HeadlessFiles();
+        }
+    }
+
+    @Test
+    public void listsEveryImageInTheAtlasDirectories()
+    {
+        List<String> tiles = LibGDXResourceManager.listImages(LibGDXResourceManager.TILES_PATH);
+        assertEquals( 11, tiles.size() );
+        assertTrue( tiles.contains("tiles/floor1.png") );
+        assertTrue( tiles.contains("tiles/wallCornerDownRight.png") );
+
+        List<String> sprites = LibGDXResourceManager.listImages(LibGDXResourceManager.ASSETS_PATH);
+        assertEquals( 5 * GameConfig.MAX_SPRITE_FRAMES, sprites.size() );
+        assertTrue( sprites.contains("assets/sprite_player_default4.png") );
+
+        assertEquals( Collections.singletonList("objects/star1.png"),
+                LibGDXResourceManager.listImages(LibGDXResourceManager.OBJECTS_PATH) );
+    }
+
+    @Test
+    public void listsInAStableOrder()
+    {
+        List<String> tiles = LibGDXResourceManager.listImages(LibGDXResourceManager.TILES_PATH);
+        List<String> sorted = new ArrayList<>(tiles);
+        Collections.sort(sorted);
+        assertEquals( sorted, tiles );
+    }
+
+    @Test
+    public void missingDirectoryGivesNoImages()
+    {
+        assertTrue( LibGDXResourceManager.listImages("no_such_directory/").isEmpty() );
+    }
+}
@@ -0,0 +1,315 @@
+package com.game.main;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for MapArchive encoding, index probing and growth, compaction and recovery
+ */
+public class MapArchiveTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void encodingRoundTripsRunsAndNegativeValues() throws IOException
+    {
+        Random random = new Random(42);
+        int[][] map = new int[37][23];
+        for (int x = 0; x < map.length; x++) {
+            for (int y = 0; y < map[x].length; y++) {
+                // Long runs broken up by the odd extreme or negative value
+                int roll = random.nextInt(20);
+                map[x][y] = roll == 0 ? Integer.MIN_VALUE : roll == 1 ? Integer.MAX_VALUE
+                        : roll == 2 ? -random.nextInt(1000) : x / 5;
+            }
+        }
+        assertMapEquals( map, MapArchive.decodeMap(ByteBuffer.wrap(MapArchive.encodeMap(map))) );
+
+        int[][] empty = new int[0][0];
+        assertEquals( 0, MapArchive.decodeMap(ByteBuffer.wrap(MapArchive.encodeMap(empty))).length );
+    }
+
+    @Test
+    public void zigZagKeepsSmallNegativeValuesShort() throws IOException
+    {
+        int[][] map = new int[3][3];
+        for (int[] column : map) {
+            java.util.Arrays.fill(column, -1);
+        }
+        // Width, height, then one (value, run length) pair, one byte each
+        byte[] encoded = MapArchive.encodeMap(map);
+        assertEquals( 4, encoded.length );
+        assertMapEquals( map, MapArchive.decodeMap(ByteBuffer.wrap(encoded)) );
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedEncodingIsRejected() throws IOException
+    {
+        byte[] encoded = MapArchive.encodeMap(testMap(7));
+        MapArchive.decodeMap(ByteBuffer.wrap(encoded, 0, encoded.length - 1));
+    }
+
+    @Test
+    public void indexGrowsAndSurvivesReopen() throws IOException
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        int count = 3000; // Grows the index from 1024 slots twice
+        try (MapArchive archive = new MapArchive(dir)) {
+            for (int seed = 0; seed < count; seed++) {
+                archive.append(seed * 7919L, "seed " + seed, testMap(seed));
+            }
+            assertEquals( count, archive.size() );
+            assertFalse( archive.contains(-1L) );
+            assertNull( archive.get(-1L) );
+
+            // Replacing a record keeps the count and returns the latest map
+            archive.append(7919L, "replaced", testMap(-5));
+            assertEquals( count, archive.size() );
+            assertMapEquals( testMap(-5), archive.get(7919L) );
+        }
+
+        try (MapArchive archive = new MapArchive(dir)) {
+            assertEquals( count, archive.size() );
+            for (int seed = 0; seed < count; seed++) {
+                assertTrue( archive.contains(seed * 7919L) );
+            }
+            assertMapEquals( testMap(2999), archive.get(2999 * 7919L) );
+            assertEquals( "replaced", archive.getDescription(7919L) );
+        }
+    }
+
+    @Test
+    public void compactionKeepsOnlyLatestRecords() throws IOException
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir, 4096)) {
+            for (int round = 0; round < 3; round++) {
+                for (int seed = 0; seed < 50; seed++) {
+                    archive.append(seed, "round " + round, testMap(seed + round));
+                }
+            }
+            int segmentsBefore = archive.getSegmentCount();
+
+            archive.compact();
+            assertEquals( 50, archive.size() );
+            assertTrue( archive.getSegmentCount() < segmentsBefore );
+            assertMapEquals( testMap(12), archive.get(10) );
+
+            // Still appendable, and compactable again into the next generation
+            archive.append(99, "after", testMap(99));
+            archive.compact();
+            assertEquals( 51, archive.size() );
+            assertEquals( dir.resolve("gen_00002"), archive.getDataDirectory() );
+        }
+
+        assertTrue( Files.exists(dir.resolve("CURRENT")) );
+        assertFalse( Files.exists(dir.resolve("segment_00000.dat")) );
+        try (MapArchive archive = new MapArchive(dir, 4096)) {
+            assertEquals( 51, archive.size() );
+            assertEquals( "round 2", archive.getDescription(49) );
+            assertMapEquals( testMap(99), archive.get(99) );
+        }
+    }
+
+    @Test
+    public void failedCompactionLeavesLiveGenerationIntact() throws IOException
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir)) {
+            archive.append(1, "one", testMap(1));
+        }
+        // A compaction that crashed before switching the manifest
+        Files.createDirectories(dir.resolve("gen_00001"));
+        Files.write(dir.resolve("gen_00001").resolve("segment_00000.dat"), new byte[] { 1, 2, 3 });
+        Files.write(dir.resolve("CURRENT.tmp"), new byte[] { 'x' });
+
+        try (MapArchive archive = new MapArchive(dir)) {
+            assertMapEquals( testMap(1), archive.get(1) );
+            archive.compact();
+            assertEquals( dir.resolve("gen_00002"), archive.getDataDirectory() );
+            assertMapEquals( testMap(1), archive.get(1) );
+        }
+        assertFalse( Files.exists(dir.resolve("gen_00001")) );
+    }
+
+    @Test
+    public void recordsAppendedAfterLastCleanCloseAreFound() throws IOException
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir)) {
+            for (int seed = 0; seed < 5; seed++) {
+                archive.append(seed, null, testMap(seed));
+            }
+        }
+
+        // Left open, as if the process died: the index stays flagged dirty
+        MapArchive crashed = new MapArchive(dir);
+        for (int seed = 5; seed < 10; seed++) {
+            crashed.append(seed, null, testMap(seed));
+        }
+
+        try (MapArchive reopened = new MapArchive(dir)) {
+            assertEquals( 10, reopened.size() );
+            assertMapEquals( testMap(8), reopened.get(8) );
+        }
+        crashed.close();
+    }
+
+    @Test
+    public void rebuildSkipsHolesAndTornRecords() throws IOException
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir)) {
+            archive.append(1, "before", testMap(1));
+        }
+
+        // An unwritten reservation, then a header whose payload never arrived
+        try (FileChannel segment = FileChannel.open(dir.resolve("segment_00000.dat"), StandardOpenOption.APPEND)) {
+            segment.write(ByteBuffer.allocate(100));
+            ByteBuffer torn = ByteBuffer.allocate(60);
+            torn.putInt(0x4D415052).putLong(1).putInt(0).putInt(40).flip();
+            torn.limit(60);
+            segment.write(torn);
+
+            // A stray header whose payload claims a 2^20 x 2^20 map
+            ByteBuffer huge = ByteBuffer.allocate(20 + 8);
+            huge.putInt(0x4D415052).putLong(3).putInt(0).putInt(8);
+            huge.put(new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 }); // Zig-zag varint of 2^20
+            huge.put(new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 }).flip();
+            segment.write(huge);
+        }
+
+        try (MapArchive archive = new MapArchive(dir)) {
+            archive.append(2, "after", testMap(2));
+            archive.rebuildIndex();
+            assertEquals( 2, archive.size() );
+            assertFalse( archive.contains(3) );
+            assertEquals( "before", archive.getDescription(1) );
+            assertMapEquals( testMap(1), archive.get(1) );
+            assertMapEquals( testMap(2), archive.get(2) );
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void oversizedMapIsRejectedBeforeAllocating() throws IOException
+    {
+        // 2^20 x 2^20, then a single run claiming to cover it
+        byte[] encoded = { (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01,
+                0x00, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+        MapArchive.decodeMap(ByteBuffer.wrap(encoded));
+    }
+
+    @Test
+    public void concurrentAppendsKeepTheRecordLatestInTheFile() throws Exception
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir)) {
+            Thread[] writers = new Thread[4];
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            for (int w = 0; w < writers.length; w++) {
+                int writer = w;
+                writers[w] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 200; i++) {
+                            archive.append(i % 5, "writer " + writer, testMap(writer * 1000 + i));
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+                writers[w].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            if (failure.get() != null) {
+                throw new AssertionError("Append failed", failure.get());
+            }
+
+            // A rebuild scans in file order, so it finds the latest records
+            int[][][] published = new int[5][][];
+            for (int seed = 0; seed < 5; seed++) {
+                published[seed] = archive.get(seed);
+            }
+            archive.rebuildIndex();
+            for (int seed = 0; seed < 5; seed++) {
+                assertMapEquals( archive.get(seed), published[seed] );
+            }
+        }
+    }
+
+    @Test
+    public void readsStayConsistentDuringCompaction() throws Exception
+    {
+        Path dir = folder.newFolder("archive").toPath();
+        try (MapArchive archive = new MapArchive(dir, 8192)) {
+            for (int seed = 0; seed < 100; seed++) {
+                archive.append(seed, "old", testMap(seed + 1));
+                archive.append(seed, "new", testMap(seed));
+            }
+
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread[] readers = new Thread[3];
+            for (int r = 0; r < readers.length; r++) {
+                int offset = r;
+                readers[r] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 2000 && failure.get() == null; i++) {
+                            int seed = (i * 31 + offset) % 100;
+                            assertMapEquals( testMap(seed), archive.get(seed) );
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+                readers[r].start();
+            }
+            for (int i = 0; i < 10; i++) {
+                archive.compact();
+            }
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            if (failure.get() != null) {
+                throw new AssertionError("Read failed during compaction", failure.get());
+            }
+        }
+    }
+
+    private static int[][] testMap(int seed)
+    {
+        Random random = new Random(seed);
+        int[][] map = new int[12][9];
+        for (int x = 0; x < map.length; x++) {
+            for (int y = 0; y < map[x].length; y++) {
+                map[x][y] = random.nextInt(4) == 0 ? random.nextInt(6) : 0;
+            }
+        }
+        return map;
+    }
+
+    private static void assertMapEquals(int[][] expected, int[][] actual)
+    {
+        assertEquals( expected.length, actual.length );
+        for (int x = 0; x < expected.length; x++) {
+            assertArrayEquals( expected[x], actual[x] );
+        }
+    }
+}
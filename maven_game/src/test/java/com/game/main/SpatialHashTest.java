@@ -0,0 +1,140 @@
+package com.game.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests for SpatialHash queries against a brute-force scan, cell bookkeeping
+ * and allocation behaviour
+ */
+public class SpatialHashTest
+{
+    private static final int CELL_SIZE = 64;
+    private static final int WORLD_SIZE = 4000;
+
+    @Test
+    public void queriesMatchABruteForceScan()
+    {
+        Random random = new Random(7);
+        SpatialHash<float[]> hash = new SpatialHash<>(CELL_SIZE);
+        List<float[]> items = new ArrayList<>();
+        List<float[]> found = new ArrayList<>();
+
+        for (int step = 0; step < 20000; step++) {
+            int action = random.nextInt(10);
+            if (action < 3 || items.isEmpty()) {
+                float[] item = randomBounds(random);
+                items.add(item);
+                hash.insert(item, item[0], item[1], item[2], item[3]);
+            } else if (action < 8) {
+                float[] item = items.get(random.nextInt(items.size()));
+                float[] moved = randomBounds(random);
+                System.arraycopy(moved, 0, item, 0, 4);
+                assertTrue( hash.move(item, item[0], item[1], item[2], item[3]) );
+            } else {
+                float[] item = items.remove(random.nextInt(items.size()));
+                assertTrue( hash.remove(item) );
+                assertFalse( hash.contains(item) );
+            }
+
+            if (step % 50 == 0) {
+                float[] view = randomBounds(random);
+                hash.query(view[0], view[1], view[2] * 4, view[3] * 4, found);
+                Set<float[]> unique = new HashSet<>(found);
+                assertEquals( "items reported more than once", found.size(), unique.size() );
+                for (float[] item : items) {
+                    if (Collision.overlaps(item[0], item[1], item[2], item[3], view[0], view[1], view[2] * 4, view[3] * 4)) {
+                        assertTrue( "missed item", unique.contains(item) );
+                    }
+                }
+            }
+        }
+        assertEquals( items.size(), hash.size() );
+
+        for (float[] item : items) {
+            hash.remove(item);
+        }
+        assertEquals( 0, hash.getCellCount() );
+    }
+
+    @Test
+    public void negativeAndFarCoordinatesGetTheirOwnCells()
+    {
+        SpatialHash<String> hash = new SpatialHash<>(CELL_SIZE);
+        hash.insert("origin", 1, 1, 2, 2);
+        hash.insert("negative", -10, -10, 2, 2);
+        hash.insert("far", 1e7f, -1e7f, 2, 2);
+        assertEquals( 3, hash.getCellCount() );
+
+        List<String> found = hash.query(0, 0, 10, 10, new ArrayList<>());
+        assertEquals( 1, found.size() );
+        assertEquals( "origin", found.get(0) );
+        assertEquals( "negative", hash.query(-20, -20, 5, 5, found).get(0) );
+        assertEquals( "far", hash.query(1e7f, -1e7f, 1, 1, found).get(0) );
+
+        hash.clear();
+        assertEquals( 0, hash.getCellCount() );
+        assertTrue( hash.query(0, 0, 10, 10, found).isEmpty() );
+    }
+
+    @Test
+    public void steadyStateMovesAndQueriesDoNotAllocate()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue( bean instanceof com.sun.management.ThreadMXBean );
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue( threadBean.isThreadAllocatedMemorySupported() );
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        SpatialHash<float[]> hash = new SpatialHash<>(CELL_SIZE);
+        List<float[]> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            float[] item = { (i * 37) % WORLD_SIZE, (i * 91) % WORLD_SIZE, 48, 48 };
+            items.add(item);
+            hash.insert(item, item[0], item[1], item[2], item[3]);
+        }
+        List<float[]> found = new ArrayList<>(items.size());
+
+        // Warm up so tables, cell lists and the spare pool reach their final size
+        for (int frame = 0; frame < 2000; frame++) {
+            moveAndQuery(hash, items, found, frame);
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 2000; frame++) {
+            moveAndQuery(hash, items, found, frame);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // Boxed cell keys would cost megabytes here
+        assertTrue( "bytes allocated by 2000 frames: " + allocated, allocated < 16 * 1024 );
+    }
+
+    private static void moveAndQuery(SpatialHash<float[]> hash, List<float[]> items, List<float[]> found, int frame)
+    {
+        for (int i = 0, n = items.size(); i < n; i++) {
+            float[] item = items.get(i);
+            // Walk back and forth so items keep crossing cell borders
+            float offset = (frame % 200 < 100 ? frame % 100 : 100 - frame % 100) * 2;
+            hash.move(item, item[0] + offset, item[1] + offset, item[2], item[3]);
+        }
+        hash.query(frame % WORLD_SIZE, 500, 800, 600, found);
+    }
+
+    private static float[] randomBounds(Random random)
+    {
+        return new float[] { random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2, random.nextInt(WORLD_SIZE) - WORLD_SIZE / 2,
+                1 + random.nextInt(200), 1 + random.nextInt(200) };
+    }
+}
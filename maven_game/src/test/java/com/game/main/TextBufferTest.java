@@ -0,0 +1,95 @@
+package com.game.main;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+/**
+ * Tests for TextBuffer formatting, change detection and allocation behaviour
+ */
+public class TextBufferTest
+{
+    private static final long TOLERANCE_BYTES = 4 * 1024;
+
+    @Test
+    public void formatsIntegersAndFloats()
+    {
+        TextBuffer buffer = new TextBuffer(4);
+        buffer.begin().append("FPS: ").append(60).append(' ').append(-42).append(' ').append(0);
+        buffer.end();
+        assertEquals( "FPS: 60 -42 0", buffer.toString() );
+
+        buffer.begin().append(Long.MIN_VALUE).append(' ').append(Integer.MAX_VALUE);
+        buffer.end();
+        assertEquals( Long.MIN_VALUE + " " + Integer.MAX_VALUE, buffer.toString() );
+
+        buffer.begin().append(12.345f, 1).append(' ').append(-0.04f, 1).append(' ')
+                .append(-3.5f, 2).append(' ').append(7.0f, 0).append(' ').append(0.05f, 3);
+        buffer.end();
+        assertEquals( "12.3 0.0 -3.50 7 0.050", buffer.toString() );
+    }
+
+    @Test
+    public void reportsChangesOnlyWhenContentDiffers()
+    {
+        TextBuffer buffer = new TextBuffer();
+        buffer.begin().append("Time: ").append(1.5f, 1);
+        assertTrue( buffer.end() );
+
+        buffer.begin().append("Time: ").append(1.5f, 1);
+        assertFalse( buffer.end() );
+
+        buffer.begin().append("Time: ").append(1.6f, 1);
+        assertTrue( buffer.end() );
+
+        // Shorter and longer content with the same prefix both count as changes
+        buffer.begin().append("Time: ");
+        assertTrue( buffer.end() );
+        buffer.begin().append("Time: ").append(10.0f, 1);
+        assertTrue( buffer.end() );
+    }
+
+    @Test
+    public void steadyStateUpdatesDoNotAllocate()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue( bean instanceof com.sun.management.ThreadMXBean );
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue( threadBean.isThreadAllocatedMemorySupported() );
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        TextBuffer fps = new TextBuffer();
+        TextBuffer time = new TextBuffer();
+        TextBuffer state = new TextBuffer();
+
+        // Warm up so the buffers reach their final size and the code is compiled
+        for (int frame = 0; frame < 20000; frame++) {
+            updateHud(fps, time, state, frame);
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 10000; frame++) {
+            updateHud(fps, time, state, frame);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // Not an exact zero: the JIT or the bean itself may allocate a little,
+        // where formatting with Strings would cost hundreds of kilobytes
+        assertTrue( "bytes allocated by 10000 HUD updates: " + allocated, allocated < TOLERANCE_BYTES );
+    }
+
+    private static void updateHud(TextBuffer fps, TextBuffer time, TextBuffer state, int frame)
+    {
+        fps.begin().append("FPS: ").append(frame % 144);
+        fps.end();
+        time.begin().append("Time: ").append(frame / 60f, 1);
+        time.end();
+        state.begin().append("State: ").append(GameState.PLAYING.name());
+        state.end();
+    }
+}